@@ -0,0 +1,74 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.dto.analytics.*;
+import com.ankit14.fooddeliverybackend.service.AnalyticsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin analytics reads: in-memory aggregate snapshots and the SQL-backed ones,
+ * over {@code orders} seeded orders (overriding {@code bench.orders}).
+ * <p>
+ * The snapshot reads should stay flat as orders grow while the aggregate
+ * projections behind {@code revenueStats90Days} and {@code rebuildAggregates}
+ * scale with them. Every benchmark and size seeds its own fork, so the 1M
+ * rows take a few minutes each; narrow a run with
+ * {@code -Dbench.jmhArgs="AnalyticsService -p orders=100000"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// A million orders with their items and payments do not fit the default 1 GB H2 heap
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AnalyticsServiceBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int orders;
+
+    private AnalyticsService analyticsService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        analyticsService = BenchContext.get(BenchScale.fromSystemProperties().withOrders(orders))
+                .getBean(AnalyticsService.class);
+    }
+
+    @Benchmark
+    public DashboardStatsResponse dashboardStats() {
+        return analyticsService.getDashboardStats();
+    }
+
+    @Benchmark
+    public OrderStatsResponse orderStats() {
+        return analyticsService.getOrderStats();
+    }
+
+    @Benchmark
+    public RevenueStatsResponse revenueStats7Days() {
+        return analyticsService.getRevenueStats(7);
+    }
+
+    // Beyond the retained day buckets, so this one goes to SQL
+    @Benchmark
+    public RevenueStatsResponse revenueStats90Days() {
+        return analyticsService.getRevenueStats(90);
+    }
+
+    @Benchmark
+    public PopularItemsResponse popularItems() {
+        return analyticsService.getPopularItems(10);
+    }
+
+    @Benchmark
+    public RestaurantStatsResponse restaurantStats() {
+        return analyticsService.getRestaurantStats();
+    }
+
+    @Benchmark
+    public void rebuildAggregates() {
+        analyticsService.rebuildAggregates();
+    }
+}
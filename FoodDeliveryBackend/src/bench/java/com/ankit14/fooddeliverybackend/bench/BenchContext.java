@@ -0,0 +1,67 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.FoodDeliveryBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One application context per benchmark JVM, backed by an in-memory H2
+ * database seeded once at the configured {@link BenchScale}, or at the scale
+ * and with the extra properties a parameterized benchmark asks for (JMH forks
+ * a JVM per parameter set).
+ */
+final class BenchContext {
+
+    private static ConfigurableApplicationContext context;
+    private static BenchScale seededScale;
+    private static List<String> seededProperties;
+
+    private BenchContext() {
+    }
+
+    static synchronized ConfigurableApplicationContext get() {
+        return context != null ? context : get(BenchScale.fromSystemProperties());
+    }
+
+    static ConfigurableApplicationContext get(BenchScale scale) {
+        return get(scale, List.of());
+    }
+
+    static synchronized ConfigurableApplicationContext get(BenchScale scale, List<String> properties) {
+        if (context != null && !(scale.equals(seededScale) && properties.equals(seededProperties))) {
+            throw new IllegalStateException("Benchmark context already started at " + seededScale
+                    + " with " + seededProperties);
+        }
+        if (context == null) {
+            List<String> arguments = new ArrayList<>(List.of(
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:h2:mem:zwiggy-bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                    "spring.jpa.show-sql=false",
+                    "spring.jpa.properties.hibernate.format_sql=false",
+                    "spring.h2.console.enabled=false",
+                    "logging.level.root=WARN",
+                    "logging.level.com.ankit14.fooddeliverybackend=WARN",
+                    "logging.level.org.springframework.security=WARN",
+                    "jwt.secret=benchmark-signing-secret-with-at-least-256-bits",
+                    "razorpay.key-id=rzp_test_bench",
+                    "razorpay.key-secret=bench-key-secret",
+                    "razorpay.webhook-secret=bench-webhook-secret",
+                    "analytics.rebuild-cron=-"));
+            arguments.addAll(properties);
+            // As command line arguments, which unlike default properties override application.yaml
+            context = new SpringApplicationBuilder(FoodDeliveryBackendApplication.class)
+                    .run(arguments.stream().map(property -> "--" + property).toArray(String[]::new));
+            new BenchDataSeeder(context, scale).seed();
+            seededScale = scale;
+            seededProperties = properties;
+        }
+        return context;
+    }
+
+    static <T> T bean(Class<T> type) {
+        return get().getBean(type);
+    }
+}
@@ -0,0 +1,201 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.model.*;
+import com.ankit14.fooddeliverybackend.repository.*;
+import com.ankit14.fooddeliverybackend.service.AnalyticsService;
+import com.ankit14.fooddeliverybackend.service.search.InMemorySearchBackend;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds restaurants, menus, customers, orders and payments at a given scale,
+ * then rebuilds the in-memory analytics aggregates and search index.
+ */
+final class BenchDataSeeder {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.05");
+    private static final String[] CUISINES = { "Italian", "American", "Indian", "Chinese", "Mexican", "Thai" };
+    private static final String[] CITIES = { "Mumbai", "Delhi", "Bengaluru", "Pune", "Chennai" };
+    private static final String[] DISHES = { "Pizza", "Burger", "Biryani", "Noodles", "Taco", "Curry", "Wrap",
+            "Salad", "Pasta", "Dosa" };
+    private static final String[] STYLES = { "Classic", "Spicy", "Smoky", "Paneer", "Chicken", "Veggie", "Cheesy" };
+
+    private final ApplicationContext context;
+    private final BenchScale scale;
+    private final Random random;
+    private final TransactionTemplate transactionTemplate;
+
+    BenchDataSeeder(ApplicationContext context, BenchScale scale) {
+        this.context = context;
+        this.scale = scale;
+        this.random = new Random(scale.seed());
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    void seed() {
+        long start = System.currentTimeMillis();
+
+        List<Category> categories = context.getBean(CategoryRepository.class).findAll();
+        // Hash once: BCrypt per user would dominate seeding time
+        String password = context.getBean(PasswordEncoder.class).encode("bench123");
+
+        User owner = context.getBean(UserRepository.class).save(User.builder()
+                .name("Bench Owner")
+                .email("owner@bench.local")
+                .password(password)
+                .role(Role.RESTAURANT)
+                .build());
+
+        List<Restaurant> restaurants = new ArrayList<>();
+        List<List<MenuItem>> menus = new ArrayList<>();
+        inChunks(scale.restaurants(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                Restaurant restaurant = context.getBean(RestaurantRepository.class).save(restaurant(i, owner));
+                List<MenuItem> menu = new ArrayList<>();
+                for (int j = 0; j < scale.menuItemsPerRestaurant(); j++) {
+                    menu.add(menuItem(j, restaurant, categories));
+                }
+                restaurants.add(restaurant);
+                menus.add(context.getBean(MenuItemRepository.class).saveAll(menu));
+            }
+        });
+
+        List<Address> addresses = new ArrayList<>();
+        inChunks(scale.customers(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                User customer = context.getBean(UserRepository.class).save(User.builder()
+                        .name("Bench Customer " + i)
+                        .email("customer" + i + "@bench.local")
+                        .password(password)
+                        .role(Role.CUSTOMER)
+                        .build());
+                addresses.add(context.getBean(AddressRepository.class).save(Address.builder()
+                        .street(i + " Bench Street")
+                        .city(CITIES[i % CITIES.length])
+                        .state("MH")
+                        .pincode("400001")
+                        .user(customer)
+                        .isDefault(true)
+                        .build()));
+            }
+        });
+
+        inChunks(scale.orders(), (from, to) -> {
+            List<Order> orders = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                int r = random.nextInt(restaurants.size());
+                Address address = addresses.get(random.nextInt(addresses.size()));
+                Order order = order(i, restaurants.get(r), menus.get(r), address);
+                orders.add(order);
+                if (order.getStatus() != OrderStatus.PLACED) {
+                    attachPayment(order);
+                }
+            }
+            // Items and payments cascade from the order
+            context.getBean(OrderRepository.class).saveAll(orders);
+        });
+
+        // Spread orders over the configured window so day buckets and N-day revenue have data
+        context.getBean(JdbcTemplate.class).update(
+                "UPDATE orders SET created_at = DATEADD('MINUTE', -MOD(id * 7919, ?), CURRENT_TIMESTAMP)",
+                scale.days() * 24 * 60);
+
+        context.getBean(AnalyticsService.class).rebuildAggregates();
+        context.getBeanProvider(InMemorySearchBackend.class).ifAvailable(InMemorySearchBackend::rebuild);
+
+        System.out.printf("Seeded %s in %d ms%n", scale, System.currentTimeMillis() - start);
+    }
+
+    private Restaurant restaurant(int i, User owner) {
+        return Restaurant.builder()
+                .name(STYLES[i % STYLES.length] + " " + DISHES[i % DISHES.length] + " House " + i)
+                .description("Benchmark restaurant " + i)
+                .cuisine(CUISINES[i % CUISINES.length])
+                .rating(BigDecimal.valueOf(3 + random.nextDouble() * 2).setScale(1, RoundingMode.HALF_UP).doubleValue())
+                .address(i + " Market Road")
+                .city(CITIES[i % CITIES.length])
+                .deliveryTime("30-40 mins")
+                .minOrder(0.0)
+                .deliveryFee(30.0)
+                .owner(owner)
+                .build();
+    }
+
+    private MenuItem menuItem(int j, Restaurant restaurant, List<Category> categories) {
+        return MenuItem.builder()
+                .name(STYLES[random.nextInt(STYLES.length)] + " " + DISHES[random.nextInt(DISHES.length)] + " " + j)
+                .description("Freshly made " + DISHES[j % DISHES.length].toLowerCase())
+                .price(BigDecimal.valueOf(99 + random.nextInt(500)))
+                .category(categories.isEmpty() ? null : categories.get(j % categories.size()))
+                .restaurant(restaurant)
+                .isVeg(random.nextBoolean())
+                .isBestseller(j % 5 == 0)
+                .build();
+    }
+
+    private Order order(int i, Restaurant restaurant, List<MenuItem> menu, Address address) {
+        OrderStatus[] statuses = OrderStatus.values();
+        Order order = Order.builder()
+                .orderNumber("BENCH-" + i)
+                .customer(address.getUser())
+                .restaurant(restaurant)
+                .deliveryAddress(address)
+                .status(statuses[random.nextInt(statuses.length)])
+                .deliveryFee(BigDecimal.valueOf(restaurant.getDeliveryFee()))
+                .build();
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int itemCount = 1 + random.nextInt(scale.maxItemsPerOrder());
+        for (int k = 0; k < itemCount; k++) {
+            MenuItem menuItem = menu.get(random.nextInt(menu.size()));
+            int quantity = 1 + random.nextInt(3);
+            BigDecimal total = menuItem.getPrice().multiply(BigDecimal.valueOf(quantity));
+            order.addItem(OrderItem.builder()
+                    .menuItem(menuItem)
+                    .quantity(quantity)
+                    .unitPrice(menuItem.getPrice())
+                    .totalPrice(total)
+                    .build());
+            subtotal = subtotal.add(total);
+        }
+
+        order.setSubtotal(subtotal);
+        order.setTax(subtotal.multiply(TAX_RATE));
+        order.setTotalAmount(subtotal.add(order.getTax()).add(order.getDeliveryFee()));
+        return order;
+    }
+
+    private void attachPayment(Order order) {
+        PaymentStatus status = order.getStatus() == OrderStatus.CANCELLED ? PaymentStatus.FAILED : PaymentStatus.SUCCESS;
+        Payment payment = Payment.builder()
+                .order(order)
+                .razorpayOrderId("order_bench_" + order.getOrderNumber())
+                .amount(order.getTotalAmount())
+                .status(status)
+                .build();
+        order.setPayment(payment);
+    }
+
+    private void inChunks(int count, ChunkWriter writer) {
+        for (int from = 0; from < count; from += CHUNK_SIZE) {
+            int to = Math.min(count, from + CHUNK_SIZE);
+            int chunkStart = from;
+            transactionTemplate.executeWithoutResult(status -> writer.write(chunkStart, to));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(int from, int to);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+/**
+ * Size of the seeded benchmark data set, read from {@code -Dbench.*} system
+ * properties (forked benchmark JVMs inherit the host's JVM arguments).
+ */
+record BenchScale(
+        int restaurants,
+        int menuItemsPerRestaurant,
+        int customers,
+        int orders,
+        int maxItemsPerOrder,
+        int days,
+        long seed) {
+
+    static BenchScale fromSystemProperties() {
+        return new BenchScale(
+                Integer.getInteger("bench.restaurants", 50),
+                Integer.getInteger("bench.menuItemsPerRestaurant", 20),
+                Integer.getInteger("bench.customers", 200),
+                Integer.getInteger("bench.orders", 10_000),
+                Integer.getInteger("bench.maxItemsPerOrder", 4),
+                Integer.getInteger("bench.days", 90),
+                Long.getLong("bench.seed", 42L));
+    }
+
+    BenchScale withOrders(int orders) {
+        return new BenchScale(restaurants, menuItemsPerRestaurant, customers, orders, maxItemsPerOrder, days, seed);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.service.dispatch.DispatchMatcher;
+import com.ankit14.fooddeliverybackend.service.dispatch.PartnerLocationIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivery dispatch against {@code partners} delivery partners spread over a
+ * 28 x 32 km city, one in five on a break.
+ * <p>
+ * {@code nearest} and {@code nearestThree} are single nearest-neighbour
+ * queries; {@code matchRound} matches one dispatch round of
+ * {@value #ORDERS_PER_ROUND} orders, which is 2,000 orders a minute at the
+ * default 3 second interval. The {@code pingsAndQueries} group runs queries
+ * while location pings move partners between cells. Needs no application
+ * context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatchBenchmark {
+
+    static final int ORDERS_PER_ROUND = 100;
+
+    private static final double SOUTH = 12.85;
+    private static final double WEST = 77.45;
+    private static final double SPAN_LATITUDE = 0.25;
+    private static final double SPAN_LONGITUDE = 0.30;
+    private static final double MAX_RADIUS_KM = 8.0;
+
+    @Param({ "10000" })
+    public int partners;
+
+    private PartnerLocationIndex index;
+    private List<DispatchMatcher.Pickup> round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new PartnerLocationIndex(1.0, Duration.ofHours(1));
+        for (int i = 0; i < partners; i++) {
+            index.update(i, latitude(random), longitude(random), random.nextInt(5) != 0);
+        }
+        round = new ArrayList<>(ORDERS_PER_ROUND);
+        for (int i = 0; i < ORDERS_PER_ROUND; i++) {
+            round.add(new DispatchMatcher.Pickup(i, latitude(random), longitude(random)));
+        }
+    }
+
+    @Benchmark
+    public List<PartnerLocationIndex.NearbyPartner> nearest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.nearestAvailable(latitude(random), longitude(random), 1, MAX_RADIUS_KM);
+    }
+
+    @Benchmark
+    public List<PartnerLocationIndex.NearbyPartner> nearestThree() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.nearestAvailable(latitude(random), longitude(random), 3, MAX_RADIUS_KM);
+    }
+
+    @Benchmark
+    public List<DispatchMatcher.Match> matchRound() {
+        return DispatchMatcher.match(round, index, 3, MAX_RADIUS_KM);
+    }
+
+    @Benchmark
+    @Group("pingsAndQueries")
+    @GroupThreads(3)
+    public List<PartnerLocationIndex.NearbyPartner> query() {
+        return nearestThree();
+    }
+
+    @Benchmark
+    @Group("pingsAndQueries")
+    @GroupThreads(1)
+    public void ping() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        index.update(random.nextInt(partners), latitude(random), longitude(random), true);
+    }
+
+    private static double latitude(Random random) {
+        return SOUTH + random.nextDouble() * SPAN_LATITUDE;
+    }
+
+    private static double longitude(Random random) {
+        return WEST + random.nextDouble() * SPAN_LONGITUDE;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.config.JwtUtil;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification, with and without the verified-token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtUtilBenchmark {
+
+    // More distinct tokens than the verified-token cache holds, so rotating through them misses
+    private static final int UNCACHED_POOL_SIZE = 20_000;
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+    private String[] uncachedTokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = BenchContext.bean(JwtUtil.class);
+        user = BenchContext.bean(UserRepository.class).findByEmail("customer0@bench.local").orElseThrow();
+        token = jwtUtil.generateToken(user);
+
+        uncachedTokens = new String[UNCACHED_POOL_SIZE];
+        for (int i = 0; i < UNCACHED_POOL_SIZE; i++) {
+            // Distinct subjects give distinct tokens even when issued in the same second
+            uncachedTokens[i] = jwtUtil.generateToken(org.springframework.security.core.userdetails.User
+                    .withUsername("bench" + i + "@bench.local").password("").authorities("ROLE_CUSTOMER").build());
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseCached() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseUncached() {
+        next = (next + 1) % UNCACHED_POOL_SIZE;
+        return jwtUtil.extractAllClaims(uncachedTokens[next]);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, user);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.dto.restaurant.NearbyRestaurantResponse;
+import com.ankit14.fooddeliverybackend.dto.restaurant.RestaurantResponse;
+import com.ankit14.fooddeliverybackend.service.discovery.RestaurantLocationIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * "Restaurants near me" against {@code restaurants} listings spread over a
+ * 28 x 32 km city, one in ten closed.
+ * <p>
+ * {@code nearbyOpen} is the home screen query: the 20 nearest open
+ * restaurants within 5 km. {@code nearbyCuisine} adds a cuisine and rating
+ * filter, so the search has to widen further. Needs no application context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NearbyRestaurantBenchmark {
+
+    private static final double SOUTH = 12.85;
+    private static final double WEST = 77.45;
+    private static final double SPAN_LATITUDE = 0.25;
+    private static final double SPAN_LONGITUDE = 0.30;
+    private static final double RADIUS_KM = 5.0;
+    private static final int LIMIT = 20;
+    private static final String[] CUISINES = { "Indian", "Chinese", "Italian", "American", "South Indian",
+            "Mughlai", "Thai", "Mexican", "Desserts", "Cafe" };
+
+    private static final Predicate<RestaurantResponse> OPEN = restaurant -> restaurant.getIsOpen();
+    private static final Predicate<RestaurantResponse> OPEN_THAI_FOUR_PLUS = OPEN
+            .and(restaurant -> restaurant.getRating() >= 4.0)
+            .and(restaurant -> restaurant.getCuisine().equalsIgnoreCase("Thai"));
+
+    @Param({ "20000" })
+    public int restaurants;
+
+    private RestaurantLocationIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new RestaurantLocationIndex(2.0);
+        for (long i = 0; i < restaurants; i++) {
+            index.put(RestaurantResponse.builder()
+                    .id(i)
+                    .name("Restaurant " + i)
+                    .cuisine(CUISINES[random.nextInt(CUISINES.length)])
+                    .rating(Math.round((3.0 + random.nextDouble() * 2) * 10) / 10.0)
+                    .isOpen(random.nextInt(10) != 0)
+                    .latitude(latitude(random))
+                    .longitude(longitude(random))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<NearbyRestaurantResponse> nearbyOpen() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.nearest(latitude(random), longitude(random), LIMIT, RADIUS_KM, OPEN);
+    }
+
+    @Benchmark
+    public List<NearbyRestaurantResponse> nearbyCuisine() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.nearest(latitude(random), longitude(random), LIMIT, RADIUS_KM, OPEN_THAI_FOUR_PLUS);
+    }
+
+    private static double latitude(Random random) {
+        return SOUTH + random.nextDouble() * SPAN_LATITUDE;
+    }
+
+    private static double longitude(Random random) {
+        return WEST + random.nextDouble() * SPAN_LONGITUDE;
+    }
+}
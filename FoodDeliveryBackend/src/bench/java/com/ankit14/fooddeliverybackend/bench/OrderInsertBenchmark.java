@@ -0,0 +1,165 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.dto.order.OrderItemRequest;
+import com.ankit14.fooddeliverybackend.dto.order.OrderRequest;
+import com.ankit14.fooddeliverybackend.dto.order.OrderResponse;
+import com.ankit14.fooddeliverybackend.model.Address;
+import com.ankit14.fooddeliverybackend.model.MenuItem;
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.OrderItem;
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.Restaurant;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.AddressRepository;
+import com.ankit14.fooddeliverybackend.repository.MenuItemRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import com.ankit14.fooddeliverybackend.service.OrderNumberGenerator;
+import com.ankit14.fooddeliverybackend.service.OrderService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order inserts with pooled-lo sequence ids against IDENTITY ids, with JDBC
+ * batching on and off, for orders of {@code cartItems} lines.
+ * <p>
+ * {@code insertOrder} persists an already priced order and its items and
+ * nothing else; {@code createOrder} is the whole placement, where the cart
+ * lookups take most of the time.
+ * <p>
+ * {@code ids=identity} maps orders and order items back to IDENTITY columns
+ * (META-INF/identity-ids-orm.xml), so every row is inserted on its own to read
+ * back its id and Hibernate skips batching whatever {@code batchSize} says.
+ * {@code batchSize=1} turns batching off for the sequence ids, isolating what
+ * the sequence alone saves. H2 runs in process, so these differences are a
+ * floor: against PostgreSQL each saved statement is also a network round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+// Hibernate's insert path takes about half a minute to settle
+@Warmup(iterations = 6, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderInsertBenchmark {
+
+    @Param({ "pooled-lo", "identity" })
+    public String ids;
+
+    @Param({ "50", "1" })
+    public int batchSize;
+
+    @Param({ "3", "20" })
+    public int cartItems;
+
+    private OrderService orderService;
+    private TransactionTemplate transactionTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private OrderNumberGenerator orderNumberGenerator;
+    private OrderRequest cart;
+    private User customer;
+    private Restaurant restaurant;
+    private Address address;
+    private List<MenuItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> properties = new ArrayList<>();
+        // No pollers sharing the database with the measured inserts
+        properties.add("scheduling.enabled=false");
+        properties.add("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        if (ids.equals("identity")) {
+            properties.add("spring.jpa.mapping-resources=META-INF/identity-ids-orm.xml");
+            properties.add("spring.sql.init.schema-locations=classpath:META-INF/identity-ids-sequences.sql");
+        }
+        ApplicationContext context = BenchContext.get(BenchScale.fromSystemProperties(), properties);
+
+        orderService = context.getBean(OrderService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        orderNumberGenerator = context.getBean(OrderNumberGenerator.class);
+
+        User owner = context.getBean(UserRepository.class).findByEmail("owner@bench.local").orElseThrow();
+        restaurant = context.getBean(RestaurantRepository.class).findByOwnerId(owner.getId()).get(0);
+        List<MenuItem> menu = context.getBean(MenuItemRepository.class)
+                .findByRestaurantIdAndIsAvailableTrue(restaurant.getId());
+        if (menu.size() < cartItems) {
+            throw new IllegalStateException("Menus have " + menu.size() + " items; raise bench.menuItemsPerRestaurant");
+        }
+        customer = context.getBean(UserRepository.class).findByEmail("customer0@bench.local").orElseThrow();
+        address = context.getBean(AddressRepository.class).findByUserId(customer.getId()).get(0);
+        items = menu.subList(0, cartItems);
+
+        cart = OrderRequest.builder()
+                .restaurantId(restaurant.getId())
+                .deliveryAddressId(address.getId())
+                .items(items.stream()
+                        .map(item -> OrderItemRequest.builder().menuItemId(item.getId()).quantity(1).build())
+                        .toList())
+                .build();
+
+        // createOrder reads the customer from the security context of the calling thread
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(customer, null, customer.getAuthorities()));
+    }
+
+    /**
+     * One order and its items persisted and flushed against references to the
+     * seeded rows, so the inserts are the only statements. Rolled back.
+     */
+    @Benchmark
+    public Order insertOrder() {
+        return transactionTemplate.execute(status -> {
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            Order order = Order.builder()
+                    .orderNumber(orderNumberGenerator.next())
+                    .customer(entityManager.getReference(User.class, customer.getId()))
+                    .restaurant(entityManager.getReference(Restaurant.class, restaurant.getId()))
+                    .deliveryAddress(entityManager.getReference(Address.class, address.getId()))
+                    .status(OrderStatus.PLACED)
+                    .build();
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (MenuItem item : items) {
+                order.addItem(OrderItem.builder()
+                        .menuItem(entityManager.getReference(MenuItem.class, item.getId()))
+                        .quantity(1)
+                        .unitPrice(item.getPrice())
+                        .totalPrice(item.getPrice())
+                        .build());
+                subtotal = subtotal.add(item.getPrice());
+            }
+            order.setSubtotal(subtotal);
+            order.setTotalAmount(subtotal);
+            entityManager.persist(order);
+            entityManager.flush();
+            status.setRollbackOnly();
+            return order;
+        });
+    }
+
+    /**
+     * Order placement including its inserts, rolled back as in
+     * {@link OrderServiceBenchmark#createOrder()}.
+     */
+    @Benchmark
+    public OrderResponse createOrder() {
+        return transactionTemplate.execute(status -> {
+            OrderResponse response = orderService.createOrder(cart);
+            EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory).flush();
+            status.setRollbackOnly();
+            return response;
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.dto.order.OrderItemRequest;
+import com.ankit14.fooddeliverybackend.dto.order.OrderRequest;
+import com.ankit14.fooddeliverybackend.dto.order.OrderResponse;
+import com.ankit14.fooddeliverybackend.model.Address;
+import com.ankit14.fooddeliverybackend.model.MenuItem;
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.Restaurant;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.AddressRepository;
+import com.ankit14.fooddeliverybackend.repository.MenuItemRepository;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import com.ankit14.fooddeliverybackend.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order placement (cart resolution and pricing) and order response mapping.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderServiceBenchmark {
+
+    private OrderService orderService;
+    private TransactionTemplate transactionTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private OrderRequest cart;
+    private Order loadedOrder;
+    private Long orderId;
+    private MethodHandle mapToResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderService = BenchContext.bean(OrderService.class);
+        transactionTemplate = new TransactionTemplate(BenchContext.bean(PlatformTransactionManager.class));
+        entityManagerFactory = BenchContext.bean(EntityManagerFactory.class);
+
+        User owner = BenchContext.bean(UserRepository.class).findByEmail("owner@bench.local").orElseThrow();
+        Restaurant restaurant = BenchContext.bean(RestaurantRepository.class).findByOwnerId(owner.getId()).get(0);
+        List<MenuItem> menu = BenchContext.bean(MenuItemRepository.class)
+                .findByRestaurantIdAndIsAvailableTrue(restaurant.getId());
+        User customer = BenchContext.bean(UserRepository.class).findByEmail("customer0@bench.local").orElseThrow();
+        Address address = BenchContext.bean(AddressRepository.class).findByUserId(customer.getId()).get(0);
+
+        cart = OrderRequest.builder()
+                .restaurantId(restaurant.getId())
+                .deliveryAddressId(address.getId())
+                .items(menu.stream()
+                        .limit(3)
+                        .map(item -> OrderItemRequest.builder().menuItemId(item.getId()).quantity(2).build())
+                        .toList())
+                .build();
+
+        // createOrder reads the customer from the security context of the calling thread
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(customer, null, customer.getAuthorities()));
+
+        OrderRepository orderRepository = BenchContext.bean(OrderRepository.class);
+        orderId = orderRepository.findLatestIdsByRestaurantId(restaurant.getId(), Limit.of(1)).get(0);
+        loadedOrder = orderRepository.findWithDetailsById(orderId).orElseThrow();
+        mapToResponse = PrivateMethods.bind(orderService, "mapToResponse", OrderResponse.class, Order.class);
+    }
+
+    /**
+     * Full order placement including the insert, rolled back so the data set
+     * (and the millisecond-based order number) stays stable across invocations.
+     */
+    @Benchmark
+    public OrderResponse createOrder() {
+        return transactionTemplate.execute(status -> {
+            OrderResponse response = orderService.createOrder(cart);
+            EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory).flush();
+            status.setRollbackOnly();
+            return response;
+        });
+    }
+
+    @Benchmark
+    public OrderResponse mapToResponse() throws Throwable {
+        return (OrderResponse) mapToResponse.invoke(loadedOrder);
+    }
+
+    @Benchmark
+    public OrderResponse getOrderById() {
+        return orderService.getOrderById(orderId);
+    }
+}
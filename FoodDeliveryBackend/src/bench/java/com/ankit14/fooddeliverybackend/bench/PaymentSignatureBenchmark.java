@@ -0,0 +1,92 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.config.RazorpayConfig;
+import com.ankit14.fooddeliverybackend.service.payment.RazorpaySignatureVerifier;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Formatter;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Razorpay HMAC-SHA256 payment and webhook signature verification, against
+ * the previous per-call {@code Mac.getInstance}, {@code Formatter} hex and
+ * {@code String.equals} implementation as a baseline. Run with
+ * {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentSignatureBenchmark {
+
+    private static final String ORDER_ID = "order_bench123";
+    private static final String PAYMENT_ID = "pay_bench123";
+
+    private RazorpaySignatureVerifier verifier;
+    private String keySecret;
+    private String webhookSecret;
+    private String paymentSignature;
+    private String webhookPayload;
+    private byte[] webhookBody;
+    private String webhookSignature;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        verifier = BenchContext.bean(RazorpaySignatureVerifier.class);
+        RazorpayConfig razorpayConfig = BenchContext.bean(RazorpayConfig.class);
+        keySecret = razorpayConfig.getKeySecret();
+        webhookSecret = razorpayConfig.getWebhookSecret();
+
+        webhookPayload = "{\"event\":\"payment.captured\",\"payload\":{\"payment\":{\"entity\":"
+                + "{\"id\":\"pay_bench123\",\"order_id\":\"order_bench123\",\"status\":\"captured\","
+                + "\"amount\":49900,\"currency\":\"INR\",\"method\":\"upi\"}}}}";
+        webhookBody = webhookPayload.getBytes(StandardCharsets.UTF_8);
+        // Valid signatures, so both implementations do the full comparison
+        paymentSignature = hmacHex(keySecret, (ORDER_ID + "|" + PAYMENT_ID).getBytes(StandardCharsets.UTF_8));
+        webhookSignature = hmacHex(webhookSecret, webhookBody);
+    }
+
+    @Benchmark
+    public boolean verifyPaymentSignature() {
+        return verifier.verifyPayment(ORDER_ID, PAYMENT_ID, paymentSignature);
+    }
+
+    @Benchmark
+    public boolean verifyWebhookSignature() {
+        return verifier.verifyWebhook(webhookBody, webhookSignature);
+    }
+
+    @Benchmark
+    public boolean legacyVerifyPaymentSignature() throws Exception {
+        return legacyHmacHex(keySecret, ORDER_ID + "|" + PAYMENT_ID).equals(paymentSignature);
+    }
+
+    @Benchmark
+    public boolean legacyVerifyWebhookSignature() throws Exception {
+        return legacyHmacHex(webhookSecret, webhookPayload).equals(webhookSignature);
+    }
+
+    private static String hmacHex(String secret, byte[] data) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(data));
+    }
+
+    private static String legacyHmacHex(String secret, String data) throws Exception {
+        Mac sha256Hmac = Mac.getInstance("HmacSHA256");
+        sha256Hmac.init(new SecretKeySpec(secret.getBytes(), "HmacSHA256"));
+        byte[] hash = sha256Hmac.doFinal(data.getBytes());
+        try (Formatter formatter = new Formatter()) {
+            for (byte b : hash) {
+                formatter.format("%02x", b);
+            }
+            return formatter.toString();
+        }
+    }
+}
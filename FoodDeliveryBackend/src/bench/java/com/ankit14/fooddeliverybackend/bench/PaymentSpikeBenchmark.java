@@ -0,0 +1,156 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.config.JwtUtil;
+import com.ankit14.fooddeliverybackend.model.Address;
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.Restaurant;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.AddressRepository;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Request throughput with {@value #CONNECTIONS} concurrent connections, on
+ * Tomcat platform threads versus virtual threads.
+ * <p>
+ * Each operation sends one request per connection at once and waits for all
+ * of them. {@code payment} queues payments whose gateway orders the outbox
+ * worker then creates against the stub gateway, answering after
+ * {@code gatewayLatencyMs}, so the spike also loads the database and the
+ * worker pool; {@code restaurant} is a cached read for comparison. Each mode
+ * runs in its own fork because the threading model is fixed at startup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentSpikeBenchmark {
+
+    static final int CONNECTIONS = 2000;
+
+    @Param({ "false", "true" })
+    public boolean virtualThreads;
+
+    @Param({ "payment", "restaurant" })
+    public String endpoint;
+
+    @Param({ "150" })
+    public long gatewayLatencyMs;
+
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private JdbcTemplate jdbcTemplate;
+    private List<HttpRequest> requests;
+    private final AtomicLong failures = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // System properties override the bench context's defaults
+        System.setProperty("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        System.setProperty("rate-limit.enabled", "false");
+        System.setProperty("payment.gateway", "stub");
+        System.setProperty("payment.stub.latency", gatewayLatencyMs + "ms");
+
+        int port = ((WebServerApplicationContext) BenchContext.get()).getWebServer().getPort();
+        jdbcTemplate = BenchContext.bean(JdbcTemplate.class);
+
+        User customer = BenchContext.bean(UserRepository.class).findByEmail("customer0@bench.local").orElseThrow();
+        String token = BenchContext.bean(JwtUtil.class).generateToken(customer);
+        List<Long> orderIds = "payment".equals(endpoint) ? unpaidOrders(customer) : List.of();
+        Long restaurantId = BenchContext.bean(RestaurantRepository.class).findAll().get(0).getId();
+
+        requests = IntStream.range(0, CONNECTIONS)
+                .mapToObj(i -> "payment".equals(endpoint)
+                        ? HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port
+                                        + "/api/payments/create/" + orderIds.get(i)))
+                                .header("Authorization", "Bearer " + token)
+                                .POST(HttpRequest.BodyPublishers.noBody())
+                                .build()
+                        : HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port
+                                        + "/api/restaurants/" + restaurantId))
+                                .GET()
+                                .build())
+                .toList();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @TearDown(Level.Invocation)
+    public void deletePayments() {
+        // Each burst creates payments for the same orders again, so drop this burst's payments and outbox entries
+        String spikePayments = "SELECT p.id FROM payments p JOIN orders o ON o.id = p.order_id"
+                + " WHERE o.order_number LIKE 'SPIKE-%'";
+        jdbcTemplate.update("DELETE FROM payment_outbox WHERE payment_id IN (" + spikePayments + ")");
+        jdbcTemplate.update("DELETE FROM payments WHERE id IN (" + spikePayments + ")");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%d failed requests%n", failures.get());
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONNECTIONS)
+    public void burst() {
+        List<CompletableFuture<Void>> responses = new ArrayList<>(CONNECTIONS);
+        for (HttpRequest request : requests) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (error != null || response.statusCode() >= 300) {
+                            failures.incrementAndGet();
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * One PLACED order without a payment per connection, so concurrent payment
+     * creations never touch the same order.
+     */
+    private List<Long> unpaidOrders(User customer) {
+        Restaurant restaurant = BenchContext.bean(RestaurantRepository.class).findAll().get(0);
+        Address address = BenchContext.bean(AddressRepository.class).findByUserId(customer.getId()).get(0);
+        List<Order> orders = IntStream.range(0, CONNECTIONS)
+                .mapToObj(i -> Order.builder()
+                        .orderNumber("SPIKE-" + i)
+                        .customer(customer)
+                        .restaurant(restaurant)
+                        .deliveryAddress(address)
+                        .status(OrderStatus.PLACED)
+                        .subtotal(new BigDecimal("450.00"))
+                        .totalAmount(new BigDecimal("502.50"))
+                        .build())
+                .toList();
+        return BenchContext.bean(OrderRepository.class).saveAll(orders).stream().map(Order::getId).toList();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import org.springframework.aop.framework.AopProxyUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Method handles for private hot-path methods, so they can be measured in
+ * isolation without widening their visibility in the application.
+ */
+final class PrivateMethods {
+
+    private PrivateMethods() {
+    }
+
+    /**
+     * Handle to a private instance method of a bean, bound to the bean's target
+     * object (not its proxy, whose fields are not injected).
+     */
+    static MethodHandle bind(Object bean, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        Object target = AopProxyUtils.getSingletonTarget(bean);
+        if (target == null) {
+            target = bean;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(target.getClass(), MethodHandles.lookup());
+            return lookup.findVirtual(target.getClass(), name, MethodType.methodType(returnType, parameterTypes))
+                    .bindTo(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + target.getClass().getSimpleName() + "." + name, e);
+        }
+    }
+}
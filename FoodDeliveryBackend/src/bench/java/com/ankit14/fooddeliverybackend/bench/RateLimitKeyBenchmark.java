@@ -0,0 +1,54 @@
+package com.ankit14.fooddeliverybackend.bench;
+
+import com.ankit14.fooddeliverybackend.config.JwtUtil;
+import com.ankit14.fooddeliverybackend.filter.RateLimitFilter;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate-limit bucket key resolution for authenticated and anonymous requests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RateLimitKeyBenchmark {
+
+    private MethodHandle resolveKey;
+    private MockHttpServletRequest bearerRequest;
+    private MockHttpServletRequest forwardedRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        resolveKey = PrivateMethods.bind(BenchContext.bean(RateLimitFilter.class), "resolveKey",
+                String.class, HttpServletRequest.class);
+
+        User user = BenchContext.bean(UserRepository.class).findByEmail("customer0@bench.local").orElseThrow();
+        bearerRequest = new MockHttpServletRequest("GET", "/api/orders");
+        bearerRequest.addHeader("Authorization", "Bearer " + BenchContext.bean(JwtUtil.class).generateToken(user));
+
+        forwardedRequest = new MockHttpServletRequest("GET", "/api/restaurants");
+        forwardedRequest.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+    }
+
+    @Benchmark
+    public String bearerToken() throws Throwable {
+        // Each real request starts without parsed claims
+        bearerRequest.removeAttribute(JwtUtil.CLAIMS_ATTRIBUTE);
+        return (String) resolveKey.invoke((HttpServletRequest) bearerRequest);
+    }
+
+    @Benchmark
+    public String forwardedFor() throws Throwable {
+        forwardedRequest.removeAttribute(JwtUtil.CLAIMS_ATTRIBUTE);
+        return (String) resolveKey.invoke((HttpServletRequest) forwardedRequest);
+    }
+}
@@ -0,0 +1,3 @@
+-- Sequences SequenceAlignmentRunner expects but identity-ids-orm.xml no longer maps
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
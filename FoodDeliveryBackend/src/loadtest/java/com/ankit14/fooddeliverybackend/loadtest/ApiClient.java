@@ -0,0 +1,143 @@
+package com.ankit14.fooddeliverybackend.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends collection requests and records each one in {@link Metrics} under its
+ * Postman request name.
+ * <p>
+ * A scenario run uses its own copy from {@link #forRun()}, which remembers the
+ * status of the run's first failed request.
+ */
+final class ApiClient {
+
+    static final int OK = 200;
+
+    private final HttpClient httpClient;
+    private final PostmanCollection collection;
+    private final ObjectMapper objectMapper;
+    private final Metrics metrics;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    // Touched only by the thread running the scenario
+    private int firstFailure = OK;
+
+    ApiClient(HttpClient httpClient, PostmanCollection collection, ObjectMapper objectMapper, Metrics metrics,
+            String baseUrl, Duration timeout) {
+        this.httpClient = httpClient;
+        this.collection = collection;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+    }
+
+    Exchange request(String name) {
+        return new Exchange(collection.request(name));
+    }
+
+    /**
+     * A client for one scenario run, sharing the connection pool and metrics.
+     */
+    ApiClient forRun() {
+        return new ApiClient(httpClient, collection, objectMapper, metrics, baseUrl, timeout);
+    }
+
+    /**
+     * Status of the first failed request or step so far, 0 if it got no
+     * response, or {@link #OK} if nothing failed.
+     */
+    int firstFailure() {
+        return firstFailure;
+    }
+
+    /**
+     * Mark the run failed with this status unless it already failed, for
+     * steps that fail without a failed request.
+     */
+    void fail(int status) {
+        if (firstFailure == OK) {
+            firstFailure = status;
+        }
+    }
+
+    /**
+     * One call of a collection request with scenario-specific ids, query and body.
+     */
+    final class Exchange {
+
+        private final RequestTemplate template;
+        private final List<Long> ids = new ArrayList<>();
+        private final Map<String, String> query = new HashMap<>();
+        private String body;
+        private String accessToken = "";
+
+        private Exchange(RequestTemplate template) {
+            this.template = template;
+        }
+
+        Exchange ids(long... values) {
+            for (long value : values) {
+                ids.add(value);
+            }
+            return this;
+        }
+
+        Exchange query(String name, Object value) {
+            query.put(name, String.valueOf(value));
+            return this;
+        }
+
+        Exchange body(Object value) {
+            try {
+                body = objectMapper.writeValueAsString(value);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e);
+            }
+            return this;
+        }
+
+        Exchange as(VirtualUser user) {
+            accessToken = user.accessToken();
+            return this;
+        }
+
+        /**
+         * The {@code data} of the API response, or null if the call failed.
+         */
+        JsonNode send() {
+            HttpRequest request = template.toHttpRequest(
+                    Map.of("baseUrl", baseUrl, "accessToken", accessToken), ids, query, body, timeout);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                metrics.record(template.name(), System.nanoTime() - start, response.statusCode());
+                if (response.statusCode() >= 400) {
+                    fail(response.statusCode());
+                    return null;
+                }
+                return objectMapper.readTree(response.body()).path("data");
+            } catch (IOException e) {
+                metrics.record(template.name(), System.nanoTime() - start, 0);
+                fail(0);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+}
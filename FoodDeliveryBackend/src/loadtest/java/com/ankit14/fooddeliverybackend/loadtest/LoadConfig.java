@@ -0,0 +1,63 @@
+package com.ankit14.fooddeliverybackend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code load.*} system properties.
+ *
+ * @param baseUrl    API root, as the collection's {@code baseUrl} variable
+ * @param collection Postman collection the request templates come from
+ * @param rate       scenario arrivals per second (open loop)
+ * @param duration   measured run length
+ * @param warmup     unmeasured run-in before {@code duration}
+ * @param users      customers logged in up front and shared by scenarios
+ * @param mix        relative scenario weights
+ */
+record LoadConfig(
+        String baseUrl,
+        Path collection,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        int users,
+        String userEmail,
+        String userPassword,
+        Map<Scenario, Integer> mix,
+        String razorpaySecret,
+        Duration timeout,
+        Path reportDir,
+        long seed) {
+
+    static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+                System.getProperty("load.baseUrl", "http://localhost:8080/api"),
+                Path.of(System.getProperty("load.collection", "../Zwiggy_API.postman_collection.json")),
+                Double.parseDouble(System.getProperty("load.rate", "50")),
+                Duration.parse(System.getProperty("load.duration", "PT60S")),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Integer.getInteger("load.users", 200),
+                // %d is replaced by 0..users-1; the bulk-data profile creates these accounts
+                System.getProperty("load.userEmail", "customer%d@bulk.local"),
+                System.getProperty("load.userPassword", "bulk123"),
+                parseMix(System.getProperty("load.mix", "browse=40,search=20,cart=15,order=10,pay=5,track=10")),
+                System.getProperty("load.razorpaySecret", ""),
+                Duration.parse(System.getProperty("load.timeout", "PT10S")),
+                Path.of(System.getProperty("load.reportDir", "target/loadtest")),
+                Long.getLong("load.seed", 42L));
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            weights.put(Scenario.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,172 @@
+package com.ankit14.fooddeliverybackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator replaying the Postman collection's flows against a
+ * running backend.
+ * <p>
+ * Scenarios arrive as a Poisson process at {@code load.rate} per second,
+ * whether or not earlier ones have finished, and each runs on its own virtual
+ * thread. Scenario latency is measured from the scheduled arrival, so a
+ * saturated server shows up as latency instead of a quietly lower request
+ * rate. See {@link LoadConfig} for the settings.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        Metrics metrics = new Metrics();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(config.timeout())
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            ApiClient api = new ApiClient(httpClient, PostmanCollection.load(config.collection(), objectMapper),
+                    objectMapper, metrics, config.baseUrl(), config.timeout());
+
+            List<VirtualUser> users = logIn(api, config, executor);
+            List<Long> restaurantIds = restaurantIds(api);
+            if (users.isEmpty() || restaurantIds.isEmpty()) {
+                throw new IllegalStateException("Setup found " + users.size() + " users and "
+                        + restaurantIds.size() + " restaurants; start the backend with the bulk-data profile"
+                        + " and rate-limit.enabled=false");
+            }
+            System.out.printf("Logged in %d users, found %d restaurants; running %s at %.1f scenarios/s"
+                    + " (%s warmup)%n", users.size(), restaurantIds.size(), config.duration(), config.rate(),
+                    config.warmup());
+            metrics.reset();
+
+            Scenario.Context context = new Scenario.Context(api, restaurantIds, config.razorpaySecret());
+            long started = run(config, context, users, metrics, executor);
+
+            System.out.printf("%nStarted %d scenarios (%.1f/s)%n",
+                    started, started / (config.duration().toMillis() / 1000.0));
+            metrics.report(config.duration(), config.reportDir(), System.out);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Fire scenarios until warmup plus duration has passed, resetting the
+     * metrics when the warmup ends, then wait for in-flight scenarios.
+     *
+     * @return scenarios started after the warmup
+     */
+    private static long run(LoadConfig config, Scenario.Context context, List<VirtualUser> users, Metrics metrics,
+            ExecutorService executor) throws InterruptedException {
+        Random random = new Random(config.seed());
+        Scenario[] weighted = weightedScenarios(config.mix());
+        AtomicLong seeds = new AtomicLong(config.seed());
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        boolean measuring = false;
+        long started = 0;
+
+        long arrival = start;
+        while (arrival < end) {
+            long wait = arrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!measuring && arrival >= measureFrom) {
+                metrics.reset();
+                measuring = true;
+            }
+            if (measuring) {
+                started++;
+            }
+
+            Scenario scenario = weighted[random.nextInt(weighted.length)];
+            VirtualUser user = users.get(random.nextInt(users.size()));
+            long scheduled = arrival;
+            executor.execute(() -> {
+                int status = scenario.run(context, user, new Random(seeds.incrementAndGet()));
+                metrics.record(Metrics.SCENARIO_PREFIX + scenario.name().toLowerCase(),
+                        System.nanoTime() - scheduled, status);
+            });
+            arrival += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+        }
+
+        // Let in-flight scenarios finish; anything still running after the timeout is abandoned
+        LockSupport.parkNanos(config.timeout().toNanos());
+        return started;
+    }
+
+    private static Scenario[] weightedScenarios(Map<Scenario, Integer> mix) {
+        List<Scenario> weighted = new ArrayList<>();
+        mix.forEach((scenario, weight) -> weighted.addAll(Collections.nCopies(weight, scenario)));
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no positive weights");
+        }
+        return weighted.toArray(Scenario[]::new);
+    }
+
+    private static List<VirtualUser> logIn(ApiClient api, LoadConfig config, ExecutorService executor)
+            throws Exception {
+        List<Future<VirtualUser>> logins = new ArrayList<>();
+        for (int i = 0; i < config.users(); i++) {
+            String email = config.userEmail().formatted(i);
+            logins.add(executor.submit(() -> {
+                JsonNode auth = api.request("Login (Customer)")
+                        .body(Map.of("email", email, "password", config.userPassword()))
+                        .send();
+                if (auth == null) {
+                    return null;
+                }
+                VirtualUser user = new VirtualUser(email, auth.path("accessToken").asText(), 0);
+                JsonNode addresses = api.request("Get My Addresses").as(user).send();
+                JsonNode address = addresses == null || addresses.isEmpty()
+                        ? api.request("Create Address").as(user).send()
+                        : addresses.path(0);
+                return address == null ? null : new VirtualUser(email, user.accessToken(), address.path("id").asLong());
+            }));
+        }
+
+        List<VirtualUser> users = new ArrayList<>();
+        for (Future<VirtualUser> login : logins) {
+            users.add(login.get());
+        }
+        users.removeIf(Objects::isNull);
+        return users;
+    }
+
+    private static List<Long> restaurantIds(ApiClient api) {
+        List<Long> ids = new ArrayList<>();
+        for (int page = 0; page < 10; page++) {
+            JsonNode restaurants = api.request("Get All Restaurants").query("page", page).query("size", 100).send();
+            if (restaurants == null) {
+                break;
+            }
+            restaurants.path("content").forEach(restaurant -> ids.add(restaurant.path("id").asLong()));
+            if (restaurants.path("last").asBoolean(true)) {
+                break;
+            }
+        }
+        return ids;
+    }
+}
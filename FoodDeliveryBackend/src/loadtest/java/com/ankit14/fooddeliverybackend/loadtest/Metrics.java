@@ -0,0 +1,99 @@
+package com.ankit14.fooddeliverybackend.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Latency histograms and error counts per endpoint (Postman request name) and
+ * per scenario. Latencies are recorded in microseconds into HdrHistogram
+ * {@link Recorder}s, which take concurrent writes without locking.
+ */
+final class Metrics {
+
+    static final String SCENARIO_PREFIX = "scenario ";
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final ConcurrentMap<String, Series> series = new ConcurrentHashMap<>();
+
+    /**
+     * @param status HTTP status, or 0 when no response arrived
+     */
+    void record(String name, long latencyNanos, int status) {
+        Series target = series.computeIfAbsent(name, key -> new Series());
+        target.recorder.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (status < 200 || status >= 400) {
+            target.failures.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Drop everything recorded so far (the warmup).
+     */
+    void reset() {
+        series.values().forEach(Series::reset);
+    }
+
+    void report(Duration measured, Path reportDir, PrintStream out) throws IOException {
+        Files.createDirectories(reportDir);
+        double seconds = measured.toMillis() / 1000.0;
+
+        out.printf("%n%-40s %9s %8s %8s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "failures");
+        for (Map.Entry<String, Series> entry : new TreeMap<>(series).entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            long requests = histogram.getTotalCount();
+            if (requests == 0) {
+                continue;
+            }
+            long failed = entry.getValue().failures.values().stream().mapToLong(LongAdder::sum).sum();
+            out.printf("%-40s %9d %8.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    entry.getKey(), requests, requests / seconds, 100.0 * failed / requests,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()),
+                    entry.getValue().describeFailures());
+
+            Path file = reportDir.resolve(entry.getKey().replaceAll("[^A-Za-z0-9]+", "-").toLowerCase() + ".hgrm");
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(file))) {
+                histogram.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        out.printf("%nPercentile distributions (ms) written to %s%n", reportDir.toAbsolutePath());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Series {
+
+        final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        // status (0 = no response) -> count
+        final ConcurrentMap<Integer, LongAdder> failures = new ConcurrentHashMap<>();
+
+        void reset() {
+            recorder.getIntervalHistogram();
+            failures.clear();
+        }
+
+        String describeFailures() {
+            return new TreeMap<>(failures).entrySet().stream()
+                    .map(entry -> (entry.getKey() == 0 ? "io" : entry.getKey()) + "x" + entry.getValue().sum())
+                    .collect(Collectors.joining(" "));
+        }
+    }
+}
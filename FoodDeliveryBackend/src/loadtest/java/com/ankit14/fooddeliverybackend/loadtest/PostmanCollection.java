@@ -0,0 +1,58 @@
+package com.ankit14.fooddeliverybackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Request templates from a Postman v2.1 collection, looked up by request name.
+ * Folder structure is flattened; scripts and collection-level auth are ignored.
+ */
+final class PostmanCollection {
+
+    private final Map<String, RequestTemplate> requests = new HashMap<>();
+
+    private PostmanCollection() {
+    }
+
+    static PostmanCollection load(Path path, ObjectMapper objectMapper) throws IOException {
+        PostmanCollection collection = new PostmanCollection();
+        collection.addItems(objectMapper.readTree(path.toFile()).path("item"));
+        return collection;
+    }
+
+    RequestTemplate request(String name) {
+        RequestTemplate template = requests.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("No request named '" + name + "' in the Postman collection");
+        }
+        return template;
+    }
+
+    private void addItems(JsonNode items) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                addItems(item.get("item"));
+                continue;
+            }
+            JsonNode request = item.path("request");
+            JsonNode url = request.path("url");
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (JsonNode header : request.path("header")) {
+                headers.put(header.path("key").asText(), header.path("value").asText());
+            }
+            String name = item.path("name").asText();
+            requests.put(name, new RequestTemplate(
+                    name,
+                    request.path("method").asText("GET"),
+                    url.isObject() ? url.path("raw").asText() : url.asText(),
+                    headers,
+                    request.path("body").path("raw").asText(null)));
+        }
+    }
+}
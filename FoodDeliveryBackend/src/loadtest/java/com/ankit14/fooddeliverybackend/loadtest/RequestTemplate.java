@@ -0,0 +1,90 @@
+package com.ankit14.fooddeliverybackend.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One request of the Postman collection.
+ * <p>
+ * The collection hard-codes example ids ({@code /restaurants/1}) and query
+ * values; a scenario replaces the numeric path segments in order, overrides
+ * query parameters by name and may supply its own body. {@code {{variables}}}
+ * are filled from the caller's variables; a header whose variable is empty
+ * (an unauthenticated {@code Bearer {{accessToken}}}) is left out.
+ */
+record RequestTemplate(String name, String method, String url, Map<String, String> headers, String body) {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{(\\w+)}}");
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|\\?|$)");
+    private static final Pattern QUERY_PARAMETER = Pattern.compile("([?&])([^=&]+)=([^&]*)");
+
+    HttpRequest toHttpRequest(Map<String, String> variables, List<Long> ids, Map<String, String> query,
+            String bodyOverride, Duration timeout) {
+        String resolved = replaceIds(substitute(url, variables), ids);
+        if (!query.isEmpty()) {
+            resolved = replaceQuery(resolved, query);
+        }
+
+        String payload = bodyOverride != null ? bodyOverride : body;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(resolved))
+                .timeout(timeout)
+                .method(method, payload == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(substitute(payload, variables)));
+        headers.forEach((key, value) -> {
+            boolean unset = VARIABLE.matcher(value).results()
+                    .anyMatch(variable -> variables.getOrDefault(variable.group(1), "").isEmpty());
+            if (!unset) {
+                builder.header(key, substitute(value, variables));
+            }
+        });
+        return builder.build();
+    }
+
+    private static String substitute(String text, Map<String, String> variables) {
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(result,
+                    Matcher.quoteReplacement(variables.getOrDefault(matcher.group(1), "")));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static String replaceIds(String url, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return url;
+        }
+        Iterator<Long> next = ids.iterator();
+        Matcher matcher = NUMERIC_SEGMENT.matcher(url);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find() && next.hasNext()) {
+            matcher.appendReplacement(result, "/" + next.next());
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static String replaceQuery(String url, Map<String, String> query) {
+        Matcher matcher = QUERY_PARAMETER.matcher(url);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String value = query.get(matcher.group(2));
+            String replacement = value == null
+                    ? matcher.group()
+                    : matcher.group(1) + matcher.group(2) + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8);
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,231 @@
+package com.ankit14.fooddeliverybackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * User flows built from the Postman collection's requests. A scenario stops
+ * at the first failed step, since later steps depend on its response, and
+ * reports that step's status.
+ */
+enum Scenario {
+
+    /** Home page, a restaurant and its menu. */
+    BROWSE {
+        @Override
+        void perform(Context context, VirtualUser user, Random random) {
+            ApiClient api = context.api();
+            if (api.request("Get All Restaurants").query("page", random.nextInt(5)).send() == null
+                    || api.request("Get Top Rated Restaurants").send() == null) {
+                return;
+            }
+            long restaurantId = context.pickRestaurant(random);
+            if (api.request("Get Restaurant by ID").ids(restaurantId).send() != null) {
+                api.request("Get Menu by Restaurant").ids(restaurantId).send();
+            }
+        }
+    },
+
+    /** Restaurant and dish search, then the best hit. */
+    SEARCH {
+        @Override
+        void perform(Context context, VirtualUser user, Random random) {
+            ApiClient api = context.api();
+            String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+            JsonNode restaurants = api.request("Search Restaurants").query("query", term).send();
+            if (restaurants == null || api.request("Search Menu Items").query("query", term).send() == null) {
+                return;
+            }
+            JsonNode first = restaurants.path("content").path(0);
+            if (!first.isMissingNode()) {
+                api.request("Get Restaurant by ID").ids(first.path("id").asLong()).send();
+            }
+        }
+    },
+
+    /** Building a cart: the cart lives in the client, so this is menu and address reads. */
+    CART {
+        @Override
+        void perform(Context context, VirtualUser user, Random random) {
+            fillCart(context, user, random, context.pickRestaurant(random));
+        }
+    },
+
+    /** Cart, checkout and the order confirmation page. */
+    ORDER {
+        @Override
+        void perform(Context context, VirtualUser user, Random random) {
+            placeOrder(context, user, random);
+        }
+    },
+
+    /**
+     * Order, then a payment, polling until its gateway order exists, and a
+     * client-side verification. Verification is only sent when the key secret
+     * is configured to sign it.
+     */
+    PAY {
+        @Override
+        void perform(Context context, VirtualUser user, Random random) {
+            JsonNode order = placeOrder(context, user, random);
+            if (order == null) {
+                return;
+            }
+            long orderId = order.path("id").asLong();
+            JsonNode payment = context.api().request("Create Payment Order").ids(orderId).as(user).send();
+            for (int poll = 0; payment != null && "PENDING_GATEWAY".equals(payment.path("status").asText());
+                    poll++) {
+                if (poll == MAX_PAYMENT_POLLS) {
+                    // The gateway order never appeared: reported as a gateway timeout
+                    context.api().fail(504);
+                    return;
+                }
+                LockSupport.parkNanos(PAYMENT_POLL_INTERVAL.toNanos());
+                payment = context.api().request("Get Payment by Order ID").ids(orderId).as(user).send();
+            }
+            if (payment == null || !"CREATED".equals(payment.path("status").asText())
+                    || context.razorpaySecret().isEmpty()) {
+                return;
+            }
+            String razorpayOrderId = payment.path("razorpayOrderId").asText();
+            String razorpayPaymentId = "pay_load_" + Long.toHexString(random.nextLong());
+            context.api().request("Verify Payment").as(user).body(Map.of(
+                            "orderId", orderId,
+                            "razorpayOrderId", razorpayOrderId,
+                            "razorpayPaymentId", razorpayPaymentId,
+                            "razorpaySignature", context.sign(razorpayOrderId + "|" + razorpayPaymentId)))
+                    .send();
+        }
+    },
+
+    /** Order history, then an order and its payment if it has one. */
+    TRACK {
+        @Override
+        void perform(Context context, VirtualUser user, Random random) {
+            ApiClient api = context.api();
+            JsonNode orders = api.request("Get My Orders").as(user).send();
+            if (orders == null || orders.path("content").isEmpty()) {
+                return;
+            }
+            long orderId = orders.path("content").path(random.nextInt(orders.path("content").size()))
+                    .path("id").asLong();
+            JsonNode order = api.request("Get Order by ID").ids(orderId).as(user).send();
+            // Orders placed by the ORDER scenario have no payment, and asking for one would be a 404
+            if (order != null && order.path("payment").isObject()) {
+                api.request("Get Payment by Order ID").ids(orderId).as(user).send();
+            }
+        }
+    };
+
+    private static final String[] SEARCH_TERMS = { "pizza", "biryani", "burger", "paneer", "noodles", "dosa",
+            "chiken", "masala", "coffee", "tacos", "italian", "spicy" };
+    private static final int MAX_CART_LINES = 10;
+    private static final int MAX_PAYMENT_POLLS = 40;
+    private static final Duration PAYMENT_POLL_INTERVAL = Duration.ofMillis(250);
+
+    abstract void perform(Context context, VirtualUser user, Random random);
+
+    /**
+     * Run the flow with a client of its own.
+     *
+     * @return {@link ApiClient#OK}, or the status of the first failed step (0 if it got no response)
+     */
+    int run(Context context, VirtualUser user, Random random) {
+        ApiClient api = context.api().forRun();
+        perform(new Context(api, context.restaurantIds(), context.razorpaySecret()), user, random);
+        return api.firstFailure();
+    }
+
+    /**
+     * Everything a scenario needs besides the user.
+     *
+     * @param restaurantIds ids discovered before the run, in listing order
+     */
+    record Context(ApiClient api, List<Long> restaurantIds, String razorpaySecret) {
+
+        /**
+         * Skewed towards the top of the listing, like real traffic.
+         */
+        long pickRestaurant(Random random) {
+            return restaurantIds.get((int) (restaurantIds.size() * Math.pow(random.nextDouble(), 2)));
+        }
+
+        String sign(String payload) {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(razorpaySecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+                return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Menu reads for a restaurant; returns enough available items to clear its
+     * minimum order, or null if a step failed or the restaurant cannot take one.
+     */
+    private static List<Map<String, Object>> fillCart(Context context, VirtualUser user, Random random,
+            long restaurantId) {
+        ApiClient api = context.api();
+        JsonNode restaurant = api.request("Get Restaurant by ID").ids(restaurantId).send();
+        JsonNode menu = restaurant == null ? null : api.request("Get Menu by Restaurant").ids(restaurantId).send();
+        if (menu == null || api.request("Get Bestsellers by Restaurant").ids(restaurantId).send() == null
+                || api.request("Get My Addresses").as(user).send() == null) {
+            return null;
+        }
+
+        List<JsonNode> available = new ArrayList<>();
+        menu.forEach(item -> {
+            if (item.path("isAvailable").asBoolean(true)) {
+                available.add(item);
+            }
+        });
+        if (available.isEmpty() || !restaurant.path("isOpen").asBoolean(true)) {
+            return null;
+        }
+
+        BigDecimal minOrder = restaurant.path("minOrder").decimalValue();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        List<Map<String, Object>> cart = new ArrayList<>();
+        int lines = 1 + random.nextInt(3);
+        while (cart.size() < lines || subtotal.compareTo(minOrder) < 0 && cart.size() < MAX_CART_LINES) {
+            JsonNode item = available.get(random.nextInt(available.size()));
+            api.request("Get Menu Item by ID").ids(item.path("id").asLong()).send();
+            int quantity = 1 + random.nextInt(2);
+            cart.add(Map.of("menuItemId", item.path("id").asLong(), "quantity", quantity));
+            subtotal = subtotal.add(item.path("price").decimalValue().multiply(BigDecimal.valueOf(quantity)));
+        }
+        return cart;
+    }
+
+    private static JsonNode placeOrder(Context context, VirtualUser user, Random random) {
+        long restaurantId = context.pickRestaurant(random);
+        List<Map<String, Object>> cart = fillCart(context, user, random, restaurantId);
+        if (cart == null) {
+            return null;
+        }
+        JsonNode order = context.api().request("Create Order").as(user).body(Map.of(
+                        "restaurantId", restaurantId,
+                        "deliveryAddressId", user.addressId(),
+                        "deliveryInstructions", "Load test order",
+                        "items", cart))
+                .send();
+        if (order != null) {
+            context.api().request("Get Order by ID").ids(order.path("id").asLong()).as(user).send();
+        }
+        return order;
+    }
+}
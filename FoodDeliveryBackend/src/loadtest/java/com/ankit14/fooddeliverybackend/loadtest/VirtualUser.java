@@ -0,0 +1,9 @@
+package com.ankit14.fooddeliverybackend.loadtest;
+
+/**
+ * A logged-in customer that scenarios act as.
+ *
+ * @param addressId the customer's first saved address, used for orders
+ */
+record VirtualUser(String email, String accessToken, long addressId) {
+}
@@ -0,0 +1,456 @@
+package com.ankit14.fooddeliverybackend.config;
+
+import com.ankit14.fooddeliverybackend.model.AddressType;
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+import com.ankit14.fooddeliverybackend.model.Role;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates a large synthetic dataset for capacity and load testing.
+ * <p>
+ * Runs only with the {@code bulk-data} profile, after the regular seed data.
+ * Cardinalities come from the {@code bulk-data.*} properties. Rows bypass
+ * Hibernate and are written as JDBC batches (multi-row inserts with the
+ * PostgreSQL driver's {@code reWriteBatchedInserts}) from several threads. Ids
+ * are reserved from each entity sequence up front, so the application keeps
+ * allocating past the generated rows. Does nothing if generated data is
+ * already present.
+ */
+@Component
+@Profile("bulk-data")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class BulkDataGenerator implements CommandLineRunner {
+
+    private static final String EMAIL_DOMAIN = "@bulk.local";
+    private static final String PASSWORD = "bulk123";
+
+    private static final String[] CITIES = { "Mumbai", "Delhi", "Bengaluru", "Hyderabad", "Chennai", "Pune" };
+    private static final String[] STATES = { "Maharashtra", "Delhi", "Karnataka", "Telangana", "Tamil Nadu",
+            "Maharashtra" };
+    private static final double[][] CITY_CENTERS = {
+            { 19.0760, 72.8777 }, { 28.6139, 77.2090 }, { 12.9716, 77.5946 },
+            { 17.3850, 78.4867 }, { 13.0827, 80.2707 }, { 18.5204, 73.8567 } };
+    private static final String[] CUISINES = { "Indian", "Chinese", "Italian", "American", "South Indian",
+            "Mughlai", "Thai", "Mexican", "Desserts", "Cafe" };
+    private static final String[] DISHES = { "Biryani", "Pizza", "Burger", "Noodles", "Dosa", "Paneer Tikka",
+            "Butter Chicken", "Pasta", "Tacos", "Momos", "Thali", "Shawarma", "Brownie", "Cold Coffee" };
+    private static final String[] STYLES = { "Classic", "Spicy", "Smoky", "Tandoori", "Cheesy", "Masala",
+            "Hyderabadi", "Crispy", "Loaded", "Special" };
+    private static final String[] PAYMENT_METHODS = { "upi", "upi", "upi", "card", "card", "netbanking", "wallet" };
+
+    // Relative order volume by hour of day: lunch and dinner peaks, quiet nights
+    private static final double[] HOURLY_WEIGHTS = {
+            0.6, 0.3, 0.15, 0.1, 0.1, 0.15, 0.3, 0.6, 1.0, 1.2, 1.4, 2.2,
+            3.6, 3.8, 2.6, 1.4, 1.2, 1.6, 2.4, 3.4, 4.0, 3.6, 2.4, 1.2 };
+    private static final double WEEKEND_FACTOR = 1.35;
+    // The newest day gets this much more volume than the oldest
+    private static final double GROWTH = 0.5;
+    private static final double CANCELLATION_RATE = 0.06;
+    private static final double[] ITEM_COUNT_WEIGHTS = { 0.35, 0.30, 0.20, 0.10, 0.05 };
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.05");
+
+    private static final String INSERT_USER = "INSERT INTO users (id, name, email, password, role, is_active,"
+            + " created_at, updated_at) VALUES (?, ?, ?, ?, ?, TRUE, ?, ?)";
+    private static final String INSERT_ADDRESS = "INSERT INTO addresses (id, street, city, state, pincode,"
+            + " latitude, longitude, type, is_default, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, TRUE, ?)";
+    private static final String INSERT_RESTAURANT = "INSERT INTO restaurants (id, name, description, cuisine,"
+            + " rating, total_ratings, address, city, latitude, longitude, phone, is_open, is_active, delivery_time,"
+            + " min_order, delivery_fee, owner_id, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MENU_ITEM = "INSERT INTO menu_items (id, name, description, price,"
+            + " category_id, restaurant_id, is_available, is_veg, is_bestseller, preparation_time, created_at,"
+            + " updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER = "INSERT INTO orders (id, order_number, customer_id, restaurant_id,"
+            + " subtotal, delivery_fee, tax, total_amount, status, delivery_address_id, estimated_delivery_time,"
+            + " actual_delivery_time, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_ITEM = "INSERT INTO order_items (id, order_id, menu_item_id, quantity,"
+            + " unit_price, total_price) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PAYMENT = "INSERT INTO payments (id, order_id, razorpay_order_id,"
+            + " razorpay_payment_id, amount, currency, status, payment_method, failure_reason, created_at,"
+            + " updated_at) VALUES (?, ?, ?, ?, ?, 'INR', ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${bulk-data.restaurants:2000}")
+    private int restaurantCount;
+
+    @Value("${bulk-data.menu-items-per-restaurant:100}")
+    private int menuItemsPerRestaurant;
+
+    @Value("${bulk-data.customers:50000}")
+    private int customerCount;
+
+    @Value("${bulk-data.orders:1000000}")
+    private int orderCount;
+
+    @Value("${bulk-data.max-items-per-order:5}")
+    private int maxItemsPerOrder;
+
+    @Value("${bulk-data.days:180}")
+    private int days;
+
+    @Value("${bulk-data.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${bulk-data.threads:4}")
+    private int threads;
+
+    @Value("${bulk-data.seed:42}")
+    private long seed;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, owner(0));
+        if (existing != null && existing > 0) {
+            log.info("Bulk data already present, skipping generation");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Dataset data = new Dataset(now);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Restaurant batches carry their menus, so size them by menu rows
+            inParallel(executor, restaurantCount, Math.max(1, batchSize / Math.max(1, menuItemsPerRestaurant)),
+                    (from, to, random) -> writeRestaurants(data, from, to, random));
+            inParallel(executor, customerCount, batchSize,
+                    (from, to, random) -> writeCustomers(data, from, to, random));
+            inParallel(executor, orderCount, batchSize,
+                    (from, to, random) -> writeOrders(data, from, to, random));
+        } finally {
+            executor.shutdown();
+        }
+
+        log.info("Generated {} restaurants, {} menu items, {} customers and {} orders in {} ms"
+                        + " (log in as {} / {})",
+                restaurantCount, (long) restaurantCount * menuItemsPerRestaurant, customerCount, orderCount,
+                System.currentTimeMillis() - start, customer(0), PASSWORD);
+    }
+
+    /**
+     * Ids, prices and the order time distribution shared by every writer thread.
+     */
+    private final class Dataset {
+
+        final LocalDateTime now;
+        // Hash once: BCrypt is deliberately slow and would dominate generation time
+        final String passwordHash = passwordEncoder.encode(PASSWORD);
+        final Long[] categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories", Long.class)
+                .toArray(Long[]::new);
+
+        final long ownerIdBase = reserveIds("users_seq", restaurantCount + customerCount);
+        final long customerIdBase = ownerIdBase + restaurantCount;
+        final long addressIdBase = reserveIds("addresses_seq", customerCount);
+        final long restaurantIdBase = reserveIds("restaurants_seq", restaurantCount);
+        final long menuItemIdBase = reserveIds("menu_items_seq", (long) restaurantCount * menuItemsPerRestaurant);
+        final long orderIdBase = reserveIds("orders_seq", orderCount);
+        // Sparse: order i owns item ids [i * maxItemsPerOrder, (i + 1) * maxItemsPerOrder)
+        final long orderItemIdBase = reserveIds("order_items_seq", (long) orderCount * maxItemsPerOrder);
+        final long paymentIdBase = reserveIds("payments_seq", orderCount);
+
+        // Prices in paise, decided up front so order lines agree with menus written by another thread
+        final int[] menuPrices = new int[restaurantCount * menuItemsPerRestaurant];
+        final int[] deliveryFees = new int[restaurantCount];
+        // Cumulative order weight of each hour in the window, oldest first
+        final double[] hourCumulative = new double[days * 24];
+
+        Dataset(LocalDateTime now) {
+            this.now = now;
+            Random random = new Random(seed);
+            for (int i = 0; i < menuPrices.length; i++) {
+                menuPrices[i] = (79 + random.nextInt(12) * 20 + (random.nextInt(10) == 0 ? 300 : 0)) * 100;
+            }
+            for (int i = 0; i < deliveryFees.length; i++) {
+                deliveryFees[i] = (15 + random.nextInt(6) * 5) * 100;
+            }
+
+            LocalDateTime windowStart = now.minusHours(hourCumulative.length);
+            double total = 0;
+            for (int h = 0; h < hourCumulative.length; h++) {
+                LocalDateTime hour = windowStart.plusHours(h);
+                DayOfWeek day = hour.getDayOfWeek();
+                double weight = HOURLY_WEIGHTS[hour.getHour()]
+                        * (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? WEEKEND_FACTOR : 1.0)
+                        * (1 + GROWTH * h / hourCumulative.length);
+                total += weight;
+                hourCumulative[h] = total;
+            }
+        }
+
+        /**
+         * Order time drawn from the hourly distribution, never in the future.
+         */
+        LocalDateTime orderTime(Random random) {
+            double target = random.nextDouble() * hourCumulative[hourCumulative.length - 1];
+            int hour = Arrays.binarySearch(hourCumulative, target);
+            hour = hour >= 0 ? hour : -hour - 1;
+            int hoursAgo = hourCumulative.length - hour;
+            return now.minusHours(hoursAgo).plusSeconds(random.nextInt(3600));
+        }
+    }
+
+    private void writeRestaurants(Dataset data, int from, int to, Random random) {
+        List<Object[]> owners = new ArrayList<>();
+        List<Object[]> restaurants = new ArrayList<>();
+        List<Object[]> menuItems = new ArrayList<>();
+        for (int r = from; r < to; r++) {
+            long ownerId = data.ownerIdBase + r;
+            long restaurantId = data.restaurantIdBase + r;
+            Timestamp createdAt = Timestamp.valueOf(data.now.minusDays(days + random.nextInt(365)));
+            int cityIndex = r % CITIES.length;
+            String city = CITIES[cityIndex];
+            String cuisine = CUISINES[random.nextInt(CUISINES.length)];
+            String signature = DISHES[random.nextInt(DISHES.length)];
+            int deliveryMinutes = 20 + random.nextInt(5) * 5;
+
+            owners.add(new Object[] { ownerId, "Owner " + r, owner(r), data.passwordHash,
+                    Role.RESTAURANT.name(), createdAt, createdAt });
+            restaurants.add(new Object[] { restaurantId,
+                    STYLES[random.nextInt(STYLES.length)] + " " + signature + " " + (r + 1),
+                    cuisine + " kitchen known for its " + signature.toLowerCase(),
+                    cuisine,
+                    // Ratings cluster around 4 like real listings
+                    Math.round(Math.min(5.0, Math.max(2.5, 4.0 + random.nextGaussian() * 0.4)) * 10) / 10.0,
+                    random.nextInt(5000),
+                    (r + 1) + " " + city + " Main Road",
+                    city,
+                    CITY_CENTERS[cityIndex][0] + (random.nextDouble() - 0.5) * 0.2,
+                    CITY_CENTERS[cityIndex][1] + (random.nextDouble() - 0.5) * 0.2,
+                    "9" + String.format("%09d", r),
+                    random.nextInt(10) != 0,
+                    deliveryMinutes + "-" + (deliveryMinutes + 10) + " mins",
+                    (double) (random.nextInt(5) * 50),
+                    data.deliveryFees[r] / 100.0,
+                    ownerId, createdAt, createdAt });
+
+            for (int j = 0; j < menuItemsPerRestaurant; j++) {
+                int index = r * menuItemsPerRestaurant + j;
+                String dish = j == 0 ? signature : DISHES[random.nextInt(DISHES.length)];
+                menuItems.add(new Object[] { data.menuItemIdBase + index,
+                        STYLES[random.nextInt(STYLES.length)] + " " + dish,
+                        "Freshly made " + dish.toLowerCase(),
+                        BigDecimal.valueOf(data.menuPrices[index], 2),
+                        data.categoryIds.length == 0 ? null : data.categoryIds[random.nextInt(data.categoryIds.length)],
+                        restaurantId,
+                        random.nextInt(20) != 0,
+                        random.nextInt(5) < 2,
+                        random.nextInt(10) == 0,
+                        10 + random.nextInt(5) * 5,
+                        createdAt, createdAt });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, owners);
+        jdbcTemplate.batchUpdate(INSERT_RESTAURANT, restaurants);
+        jdbcTemplate.batchUpdate(INSERT_MENU_ITEM, menuItems);
+    }
+
+    private void writeCustomers(Dataset data, int from, int to, Random random) {
+        List<Object[]> customers = new ArrayList<>();
+        List<Object[]> addresses = new ArrayList<>();
+        for (int c = from; c < to; c++) {
+            long customerId = data.customerIdBase + c;
+            Timestamp createdAt = Timestamp.valueOf(data.now.minusDays(days + random.nextInt(365)));
+            int city = random.nextInt(CITIES.length);
+
+            customers.add(new Object[] { customerId, "Customer " + c, customer(c), data.passwordHash,
+                    Role.CUSTOMER.name(), createdAt, createdAt });
+            addresses.add(new Object[] { data.addressIdBase + c,
+                    (c + 1) + " Residency Road",
+                    CITIES[city],
+                    STATES[city],
+                    String.valueOf(400001 + random.nextInt(90000)),
+                    CITY_CENTERS[city][0] + (random.nextDouble() - 0.5) * 0.2,
+                    CITY_CENTERS[city][1] + (random.nextDouble() - 0.5) * 0.2,
+                    random.nextInt(4) == 0 ? AddressType.WORK.name() : AddressType.HOME.name(),
+                    customerId });
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, customers);
+        jdbcTemplate.batchUpdate(INSERT_ADDRESS, addresses);
+    }
+
+    private void writeOrders(Dataset data, int from, int to, Random random) {
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> orderItems = new ArrayList<>();
+        List<Object[]> payments = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            long orderId = data.orderIdBase + i;
+            // Power-law popularity: a few restaurants and regulars account for most orders
+            int r = (int) (restaurantCount * Math.pow(random.nextDouble(), 3));
+            int c = (int) (customerCount * Math.pow(random.nextDouble(), 2));
+            LocalDateTime createdAt = data.orderTime(random);
+            OrderStatus status = status(createdAt, data.now, random);
+
+            long subtotal = 0;
+            int itemCount = Math.min(maxItemsPerOrder, itemCount(random));
+            for (int k = 0; k < itemCount; k++) {
+                int index = r * menuItemsPerRestaurant + random.nextInt(menuItemsPerRestaurant);
+                int quantity = random.nextInt(4) == 0 ? 2 : 1;
+                long lineTotal = (long) data.menuPrices[index] * quantity;
+                subtotal += lineTotal;
+                orderItems.add(new Object[] { data.orderItemIdBase + (long) i * maxItemsPerOrder + k, orderId,
+                        data.menuItemIdBase + index, quantity,
+                        BigDecimal.valueOf(data.menuPrices[index], 2), BigDecimal.valueOf(lineTotal, 2) });
+            }
+
+            BigDecimal subtotalAmount = BigDecimal.valueOf(subtotal, 2);
+            BigDecimal deliveryFee = BigDecimal.valueOf(data.deliveryFees[r], 2);
+            BigDecimal tax = subtotalAmount.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal total = subtotalAmount.add(deliveryFee).add(tax);
+            LocalDateTime deliveredAt = status == OrderStatus.DELIVERED
+                    ? createdAt.plusMinutes(25 + random.nextInt(30))
+                    : null;
+            Timestamp created = Timestamp.valueOf(createdAt);
+            Timestamp updated = Timestamp.valueOf(deliveredAt != null ? deliveredAt : createdAt);
+
+            orders.add(new Object[] { orderId, "BULK-" + orderId, data.customerIdBase + c,
+                    data.restaurantIdBase + r, subtotalAmount, deliveryFee, tax, total, status.name(),
+                    data.addressIdBase + c, Timestamp.valueOf(createdAt.plusMinutes(40)),
+                    deliveredAt == null ? null : Timestamp.valueOf(deliveredAt), created, updated });
+            payments.add(payment(data.paymentIdBase + i, orderId, status, total, created, updated, random));
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orders);
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, orderItems);
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT, payments);
+    }
+
+    /**
+     * Recent orders are still moving through the pipeline; older ones are done.
+     */
+    private static OrderStatus status(LocalDateTime createdAt, LocalDateTime now, Random random) {
+        long ageMinutes = ChronoUnit.MINUTES.between(createdAt, now);
+        if (ageMinutes < 5) {
+            return OrderStatus.PLACED;
+        }
+        if (random.nextDouble() < CANCELLATION_RATE) {
+            return OrderStatus.CANCELLED;
+        }
+        if (ageMinutes < 15) {
+            return OrderStatus.CONFIRMED;
+        }
+        if (ageMinutes < 35) {
+            return OrderStatus.PREPARING;
+        }
+        if (ageMinutes < 60) {
+            return OrderStatus.OUT_FOR_DELIVERY;
+        }
+        return OrderStatus.DELIVERED;
+    }
+
+    private static int itemCount(Random random) {
+        double target = random.nextDouble();
+        for (int k = 0; k < ITEM_COUNT_WEIGHTS.length; k++) {
+            target -= ITEM_COUNT_WEIGHTS[k];
+            if (target < 0) {
+                return k + 1;
+            }
+        }
+        return ITEM_COUNT_WEIGHTS.length;
+    }
+
+    private static Object[] payment(long paymentId, long orderId, OrderStatus orderStatus, BigDecimal amount,
+            Timestamp createdAt, Timestamp updatedAt, Random random) {
+        PaymentStatus status = switch (orderStatus) {
+            case PLACED -> PaymentStatus.CREATED;
+            case CANCELLED -> random.nextBoolean() ? PaymentStatus.REFUNDED : PaymentStatus.FAILED;
+            default -> PaymentStatus.SUCCESS;
+        };
+        boolean captured = status == PaymentStatus.SUCCESS || status == PaymentStatus.REFUNDED;
+        return new Object[] { paymentId, orderId, "order_bulk_" + orderId,
+                captured ? "pay_bulk_" + orderId : null,
+                amount, status.name(),
+                status == PaymentStatus.CREATED ? null : PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)],
+                status == PaymentStatus.FAILED ? "Payment declined by bank" : null,
+                createdAt, updatedAt };
+    }
+
+    /**
+     * Take {@code count} consecutive ids from a sequence and move it past them.
+     * Blocks Hibernate already holds lie below the current value, so they
+     * cannot overlap the reserved range.
+     */
+    long reserveIds(String sequence, long count) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        Long base = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (base + count));
+        return base;
+    }
+
+    /**
+     * Split {@code count} rows into batches written concurrently, each in its own
+     * transaction and with its own seeded random so output is reproducible.
+     */
+    private void inParallel(ExecutorService executor, int count, int rowsPerBatch, BatchWriter writer)
+            throws InterruptedException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Future<?>> batches = new ArrayList<>();
+        for (int from = 0; from < count; from += rowsPerBatch) {
+            int batchFrom = from;
+            int batchTo = Math.min(count, from + rowsPerBatch);
+            Random random = new Random(seed * 31 + from);
+            batches.add(executor.submit(() -> transactionTemplate.executeWithoutResult(
+                    status -> writer.write(batchFrom, batchTo, random))));
+        }
+        try {
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (ExecutionException e) {
+            batches.forEach(batch -> batch.cancel(true));
+            throw new IllegalStateException("Bulk data generation failed", e.getCause());
+        }
+    }
+
+    private static String owner(int index) {
+        return "owner" + index + EMAIL_DOMAIN;
+    }
+
+    private static String customer(int index) {
+        return "customer" + index + EMAIL_DOMAIN;
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter {
+        void write(int from, int to, Random random);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ankit14.fooddeliverybackend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Named Caffeine caches for the public restaurant browse endpoints and the
+ * catalog versions behind their ETags. Menus are served from
+ * {@link com.ankit14.fooddeliverybackend.service.MenuSnapshotStore}.
+ * <p>
+ * Each cache takes its size/TTL from {@code cache.specs.<name>} (Caffeine spec
+ * syntax) and always records hit/miss statistics, which are published as
+ * {@code cache.gets} metrics through the actuator. Puts and evictions made
+ * inside a transaction are applied only after it commits, so a write cannot be
+ * undone by a concurrent read re-caching the old row.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String RESTAURANT = "restaurant";
+    public static final String RESTAURANT_PAGES = "restaurantPages";
+    public static final String TOP_RATED_RESTAURANTS = "topRatedRestaurants";
+    public static final String CATALOG_VERSIONS = "catalogVersions";
+
+    private static final List<String> CACHE_NAMES = List.of(
+            RESTAURANT, RESTAURANT_PAGES, TOP_RATED_RESTAURANTS, CATALOG_VERSIONS);
+
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=10m";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(CACHE_NAMES);
+        for (String name : CACHE_NAMES) {
+            String spec = environment.getProperty("cache.specs." + name, DEFAULT_SPEC);
+            cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+        }
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -4,6 +4,8 @@ import com.ankit14.fooddeliverybackend.model.*;
 import com.ankit14.fooddeliverybackend.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -14,6 +16,7 @@ import java.util.List;
  * Data initializer for seeding test data.
  */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
 
@@ -81,6 +84,8 @@ public class DataInitializer implements CommandLineRunner {
                 .rating(4.5)
                 .address("123 Main Street")
                 .city("Mumbai")
+                .latitude(19.0760)
+                .longitude(72.8777)
                 .phone("9111111111")
                 .deliveryTime("30-40 mins")
                 .minOrder(200.0)
@@ -95,6 +100,8 @@ public class DataInitializer implements CommandLineRunner {
                 .rating(4.3)
                 .address("456 Park Avenue")
                 .city("Mumbai")
+                .latitude(19.0596)
+                .longitude(72.8295)
                 .phone("9222222222")
                 .deliveryTime("25-35 mins")
                 .minOrder(150.0)
@@ -109,6 +116,8 @@ public class DataInitializer implements CommandLineRunner {
                 .rating(4.7)
                 .address("789 Food Street")
                 .city("Mumbai")
+                .latitude(19.1136)
+                .longitude(72.8697)
                 .phone("9333333333")
                 .deliveryTime("35-45 mins")
                 .minOrder(250.0)
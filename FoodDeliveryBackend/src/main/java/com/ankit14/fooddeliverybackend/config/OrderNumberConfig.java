@@ -0,0 +1,58 @@
+package com.ankit14.fooddeliverybackend.config;
+
+import com.ankit14.fooddeliverybackend.service.OrderNumberGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Order number generator for this instance.
+ * <p>
+ * Every instance writing orders to the same database needs its own
+ * {@code order-number.node-id}, and startup fails without one. Only a single
+ * instance may go without: one on an in-memory H2 database, which no other
+ * instance can share, or one started with {@code order-number.single-instance}
+ * set. Its id is then derived from the host name.
+ */
+@Slf4j
+@Configuration
+public class OrderNumberConfig {
+
+    private static final String IN_MEMORY_H2 = "jdbc:h2:mem:";
+
+    @Value("${order-number.node-id:}")
+    private String nodeId;
+
+    @Value("${order-number.single-instance:false}")
+    private boolean singleInstance;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    @Bean
+    public OrderNumberGenerator orderNumberGenerator() {
+        if (!nodeId.isBlank()) {
+            return new OrderNumberGenerator(Integer.parseInt(nodeId.trim()));
+        }
+        if (!singleInstance && !datasourceUrl.startsWith(IN_MEMORY_H2)) {
+            throw new IllegalStateException("order-number.node-id must be set to an id between 0 and "
+                    + OrderNumberGenerator.MAX_NODE_ID + ", distinct per instance; set"
+                    + " order-number.single-instance=true instead if only one instance writes to this database");
+        }
+        int derived = Math.floorMod(hostName().hashCode(), OrderNumberGenerator.MAX_NODE_ID + 1);
+        log.info("order-number.node-id is not set; using {} from the host name for this single instance", derived);
+        return new OrderNumberGenerator(derived);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ankit14.fooddeliverybackend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs (e.g. analytics aggregate reconciliation).
+ * {@code scheduling.enabled=false} turns them all off, e.g. for tests that
+ * count the statements they run.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,62 @@
+package com.ankit14.fooddeliverybackend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves each entity id sequence past the highest existing id.
+ * <p>
+ * Tables created while entities used IDENTITY columns already contain ids that
+ * a freshly created sequence would hand out again. Runs before any other
+ * startup runner (including the data seeder) so no insert can collide.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceAlignmentRunner implements CommandLineRunner {
+
+    // table -> sequence, matching the @SequenceGenerator on each entity
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users", "users_seq",
+            "addresses", "addresses_seq",
+            "categories", "categories_seq",
+            "restaurants", "restaurants_seq",
+            "menu_items", "menu_items_seq",
+            "orders", "orders_seq",
+            "order_items", "order_items_seq",
+            "payments", "payments_seq",
+            "payment_outbox", "payment_outbox_seq",
+            "payment_webhook_events", "payment_webhook_events_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void run(String... args) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+
+        SEQUENCES.forEach((table, sequence) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            Long nextValue = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+
+            if (maxId != null && nextValue != null && nextValue <= maxId) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+                log.info("Restarted sequence {} at {} to clear existing ids in {}", sequence, maxId + 1, table);
+            }
+        });
+    }
+}
@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Analytics endpoints for admin dashboard.
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final StreamingJson streamingJson;
 
     @GetMapping("/dashboard")
     @Operation(summary = "Get dashboard statistics", description = "Overview stats including orders, revenue, users")
@@ -38,9 +40,10 @@ public class AnalyticsController {
     }
 
     @GetMapping("/revenue")
-    @Operation(summary = "Get revenue statistics", description = "Revenue metrics with daily breakdown")
-    public ResponseEntity<ApiResponse<RevenueStatsResponse>> getRevenueStats() {
-        RevenueStatsResponse stats = analyticsService.getRevenueStats();
+    @Operation(summary = "Get revenue statistics", description = "Revenue metrics with daily breakdown for the last N days")
+    public ResponseEntity<ApiResponse<RevenueStatsResponse>> getRevenueStats(
+            @RequestParam(defaultValue = "7") int days) {
+        RevenueStatsResponse stats = analyticsService.getRevenueStats(days);
         return ResponseEntity.ok(ApiResponse.success(stats));
     }
 
@@ -58,4 +61,17 @@ public class AnalyticsController {
         RestaurantStatsResponse stats = analyticsService.getRestaurantStats();
         return ResponseEntity.ok(ApiResponse.success(stats));
     }
+
+    @GetMapping("/orders/export")
+    @Operation(summary = "Export orders", description = "One row per order placed in the last N days, streamed")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "30") int days) {
+        return streamingJson.array(sink -> analyticsService.exportOrders(days, sink));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild analytics aggregates", description = "Recompute all counters from the database")
+    public ResponseEntity<ApiResponse<Void>> rebuildAggregates() {
+        analyticsService.rebuildAggregates();
+        return ResponseEntity.ok(ApiResponse.success("Analytics aggregates rebuilt", null));
+    }
 }
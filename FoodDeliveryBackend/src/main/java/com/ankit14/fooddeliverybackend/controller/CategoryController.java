@@ -3,6 +3,7 @@ package com.ankit14.fooddeliverybackend.controller;
 import com.ankit14.fooddeliverybackend.dto.category.CategoryRequest;
 import com.ankit14.fooddeliverybackend.dto.category.CategoryResponse;
 import com.ankit14.fooddeliverybackend.dto.common.ApiResponse;
+import com.ankit14.fooddeliverybackend.service.CatalogVersions;
 import com.ankit14.fooddeliverybackend.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,19 +26,21 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogVersions catalogVersions;
+    private final HttpCaching httpCaching;
 
     @GetMapping
     @Operation(summary = "Get all categories")
-    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories() {
-        List<CategoryResponse> response = categoryService.getAllCategories();
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories(WebRequest request) {
+        return httpCaching.publicResponse(request, HttpCaching.tag("categories", catalogVersions.categories()),
+                () -> ApiResponse.success(categoryService.getAllCategories()));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID")
-    public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryById(@PathVariable Long id) {
-        CategoryResponse response = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public ResponseEntity<ApiResponse<CategoryResponse>> getCategoryById(@PathVariable Long id, WebRequest request) {
+        return httpCaching.publicResponse(request, HttpCaching.tag("categories", catalogVersions.categories()),
+                () -> ApiResponse.success(categoryService.getCategoryById(id)));
     }
 
     @PostMapping
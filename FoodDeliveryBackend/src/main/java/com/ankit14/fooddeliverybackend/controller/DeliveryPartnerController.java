@@ -0,0 +1,44 @@
+package com.ankit14.fooddeliverybackend.controller;
+
+import com.ankit14.fooddeliverybackend.dto.common.ApiResponse;
+import com.ankit14.fooddeliverybackend.dto.delivery.PartnerLocationRequest;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.service.dispatch.DeliveryDispatcher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for delivery partner location and availability.
+ */
+@RestController
+@RequestMapping("/api/delivery")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('DELIVERY_PARTNER')")
+@Tag(name = "Delivery Partners", description = "Location pings used to dispatch orders")
+public class DeliveryPartnerController {
+
+    private final DeliveryDispatcher deliveryDispatcher;
+
+    @PutMapping("/location")
+    @Operation(summary = "Report the current location; send every few seconds while on shift")
+    public ResponseEntity<ApiResponse<Void>> updateLocation(
+            @Valid @RequestBody PartnerLocationRequest request,
+            @AuthenticationPrincipal User user) {
+        deliveryDispatcher.updateLocation(user.getId(), request.getLatitude(), request.getLongitude(),
+                !Boolean.FALSE.equals(request.getAvailable()));
+        return ResponseEntity.ok(ApiResponse.success("Location updated", null));
+    }
+
+    @DeleteMapping("/location")
+    @Operation(summary = "Go offline and stop receiving orders")
+    public ResponseEntity<ApiResponse<Void>> goOffline(@AuthenticationPrincipal User user) {
+        deliveryDispatcher.goOffline(user.getId());
+        return ResponseEntity.ok(ApiResponse.success("Offline", null));
+    }
+}
@@ -0,0 +1,101 @@
+package com.ankit14.fooddeliverybackend.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Conditional GET for read endpoints.
+ * <p>
+ * Entity tags are weak and built from row versions and update times rather
+ * than from the response body, so {@code If-None-Match} can be checked before
+ * the body is loaded or serialized; a match is answered with 304 and no body.
+ * Public catalog responses may be kept by shared caches such as a CDN for
+ * {@code http-cache.public-max-age}; per-user responses may only be kept by
+ * the browser and are revalidated on every use.
+ */
+@Component
+public class HttpCaching {
+
+    private final CacheControl publicCache;
+    private final CacheControl privateCache = CacheControl.noCache().cachePrivate();
+
+    public HttpCaching(@Value("${http-cache.public-max-age:30s}") Duration publicMaxAge) {
+        this.publicCache = CacheControl.maxAge(publicMaxAge).cachePublic();
+    }
+
+    public CacheControl publicCache() {
+        return publicCache;
+    }
+
+    public <T> ResponseEntity<T> publicResponse(WebRequest request, String etag, Supplier<T> body) {
+        return respond(request, publicCache, etag, body);
+    }
+
+    public <T> ResponseEntity<T> privateResponse(WebRequest request, String etag, Supplier<T> body) {
+        return respond(request, privateCache, etag, body);
+    }
+
+    private static <T> ResponseEntity<T> respond(WebRequest request, CacheControl cacheControl, String etag,
+            Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(etag).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).eTag(etag).body(body.get());
+    }
+
+    /**
+     * Weak tag from a few version parts, e.g. an id and an update time.
+     */
+    public static String tag(String kind, Object... parts) {
+        return "W/\"" + Stream.concat(Stream.of(kind), Stream.of(parts).map(HttpCaching::part))
+                .collect(Collectors.joining("-")) + "\"";
+    }
+
+    /**
+     * Weak tag over the versions of every element of a list, plus paging
+     * details such as the total or the next cursor.
+     */
+    public static <T> String listTag(String kind, List<T> items, Function<T, Object> version, Object... paging) {
+        StringBuilder versions = new StringBuilder();
+        for (T item : items) {
+            versions.append(part(version.apply(item))).append(',');
+        }
+        for (Object part : paging) {
+            versions.append(part(part)).append(';');
+        }
+        byte[] digest = sha256(versions.toString().getBytes(StandardCharsets.UTF_8));
+        return tag(kind, HexFormat.of().formatHex(digest, 0, 12));
+    }
+
+    private static String part(Object part) {
+        if (part instanceof LocalDateTime time) {
+            return Long.toString(time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), 36);
+        }
+        return String.valueOf(part);
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
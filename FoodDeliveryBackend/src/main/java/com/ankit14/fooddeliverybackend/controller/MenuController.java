@@ -3,14 +3,20 @@ package com.ankit14.fooddeliverybackend.controller;
 import com.ankit14.fooddeliverybackend.dto.common.ApiResponse;
 import com.ankit14.fooddeliverybackend.dto.menu.MenuItemRequest;
 import com.ankit14.fooddeliverybackend.dto.menu.MenuItemResponse;
+import com.ankit14.fooddeliverybackend.service.CatalogVersions;
 import com.ankit14.fooddeliverybackend.service.MenuService;
+import com.ankit14.fooddeliverybackend.service.MenuSnapshotStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,34 +30,45 @@ import java.util.List;
 public class MenuController {
 
     private final MenuService menuService;
+    private final CatalogVersions catalogVersions;
+    private final HttpCaching httpCaching;
+    private final StreamingJson streamingJson;
 
     @GetMapping("/restaurant/{restaurantId}")
     @Operation(summary = "Get menu items by restaurant")
-    public ResponseEntity<ApiResponse<List<MenuItemResponse>>> getMenuByRestaurant(@PathVariable Long restaurantId) {
-        List<MenuItemResponse> response = menuService.getMenuItemsByRestaurant(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public ResponseEntity<byte[]> getMenuByRestaurant(@PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return snapshot(menuService.getMenuItemsByRestaurant(restaurantId), acceptEncoding);
     }
 
     @GetMapping("/restaurant/{restaurantId}/all")
     @PreAuthorize("hasAnyRole('ADMIN', 'RESTAURANT')")
     @Operation(summary = "Get all menu items (including unavailable) by restaurant")
-    public ResponseEntity<ApiResponse<List<MenuItemResponse>>> getAllMenuByRestaurant(@PathVariable Long restaurantId) {
-        List<MenuItemResponse> response = menuService.getAllMenuItemsByRestaurant(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public ResponseEntity<ApiResponse<List<MenuItemResponse>>> getAllMenuByRestaurant(@PathVariable Long restaurantId,
+            WebRequest request) {
+        return httpCaching.privateResponse(request, menuTag(),
+                () -> ApiResponse.success(menuService.getAllMenuItemsByRestaurant(restaurantId)));
+    }
+
+    @GetMapping("/all")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export all menu items", description = "Every item of every restaurant, streamed")
+    public ResponseEntity<StreamingResponseBody> exportAllMenuItems() {
+        return streamingJson.array(menuService::exportAllMenuItems);
     }
 
     @GetMapping("/restaurant/{restaurantId}/veg")
     @Operation(summary = "Get vegetarian items by restaurant")
-    public ResponseEntity<ApiResponse<List<MenuItemResponse>>> getVegItems(@PathVariable Long restaurantId) {
-        List<MenuItemResponse> response = menuService.getVegItemsByRestaurant(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public ResponseEntity<byte[]> getVegItems(@PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return snapshot(menuService.getVegItemsByRestaurant(restaurantId), acceptEncoding);
     }
 
     @GetMapping("/restaurant/{restaurantId}/bestsellers")
     @Operation(summary = "Get bestseller items by restaurant")
-    public ResponseEntity<ApiResponse<List<MenuItemResponse>>> getBestsellers(@PathVariable Long restaurantId) {
-        List<MenuItemResponse> response = menuService.getBestsellersByRestaurant(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public ResponseEntity<byte[]> getBestsellers(@PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return snapshot(menuService.getBestsellersByRestaurant(restaurantId), acceptEncoding);
     }
 
     @GetMapping("/search")
@@ -59,16 +76,17 @@ public class MenuController {
     public ResponseEntity<ApiResponse<List<MenuItemResponse>>> searchMenuItems(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        List<MenuItemResponse> response = menuService.searchMenuItems(query, page, size);
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return httpCaching.publicResponse(request, menuTag(),
+                () -> ApiResponse.success(menuService.searchMenuItems(query, page, size)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get menu item by ID")
-    public ResponseEntity<ApiResponse<MenuItemResponse>> getMenuItemById(@PathVariable Long id) {
-        MenuItemResponse response = menuService.getMenuItemById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public ResponseEntity<ApiResponse<MenuItemResponse>> getMenuItemById(@PathVariable Long id, WebRequest request) {
+        return httpCaching.publicResponse(request, menuTag(),
+                () -> ApiResponse.success(menuService.getMenuItemById(id)));
     }
 
     @PostMapping
@@ -106,4 +124,51 @@ public class MenuController {
         menuService.deleteMenuItem(id);
         return ResponseEntity.ok(ApiResponse.success("Menu item deleted", null));
     }
+
+    /**
+     * Write a pre-serialized menu as it is, or its gzip copy to clients that
+     * accept it. Spring answers a matching {@code If-None-Match} with 304 and
+     * no body.
+     */
+    private ResponseEntity<byte[]> snapshot(MenuSnapshotStore.Body body, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(httpCaching.publicCache());
+        if (body.gzip() == null) {
+            return response.eTag(body.etag()).body(body.json());
+        }
+        response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(acceptEncoding)) {
+            return response.eTag(body.etag()).body(body.json());
+        }
+        return response.eTag(body.gzipEtag())
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(body.gzip());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean any = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            // "gzip;q=0" refuses it
+            boolean accepted = parts.length == 1 || !parts[1].trim().matches("(?i)q=0(\\.0*)?");
+            if (name.equalsIgnoreCase("gzip")) {
+                return accepted;
+            }
+            any |= name.equals("*") && accepted;
+        }
+        return any;
+    }
+
+    /**
+     * Item responses embed their restaurant and category, so they change with
+     * any of the three tables.
+     */
+    private String menuTag() {
+        return HttpCaching.tag("menu", catalogVersions.menus());
+    }
 }
@@ -1,6 +1,7 @@
 package com.ankit14.fooddeliverybackend.controller;
 
 import com.ankit14.fooddeliverybackend.dto.common.ApiResponse;
+import com.ankit14.fooddeliverybackend.dto.common.CursorResponse;
 import com.ankit14.fooddeliverybackend.dto.common.PagedResponse;
 import com.ankit14.fooddeliverybackend.dto.order.OrderRequest;
 import com.ankit14.fooddeliverybackend.dto.order.OrderResponse;
@@ -13,6 +14,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller for order endpoints.
@@ -24,6 +27,8 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final HttpCaching httpCaching;
+    private final StreamingJson streamingJson;
 
     @PostMapping
     @Operation(summary = "Create a new order")
@@ -36,23 +41,32 @@ public class OrderController {
     @Operation(summary = "Get current user's orders")
     public ResponseEntity<ApiResponse<PagedResponse<OrderResponse>>> getMyOrders(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PagedResponse<OrderResponse> response = orderService.getCustomerOrders(page, size);
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return paged(request, orderService.getCustomerOrders(page, size));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get current user's orders with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorResponse<OrderResponse>>> getMyOrdersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest request) {
+        return cursor(request, orderService.getCustomerOrders(cursor, size, includeTotal));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID")
-    public ResponseEntity<ApiResponse<OrderResponse>> getOrderById(@PathVariable Long id) {
-        OrderResponse response = orderService.getOrderById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public ResponseEntity<ApiResponse<OrderResponse>> getOrderById(@PathVariable Long id, WebRequest request) {
+        return single(request, orderService.getOrderById(id));
     }
 
     @GetMapping("/number/{orderNumber}")
     @Operation(summary = "Get order by order number")
-    public ResponseEntity<ApiResponse<OrderResponse>> getOrderByNumber(@PathVariable String orderNumber) {
-        OrderResponse response = orderService.getOrderByNumber(orderNumber);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public ResponseEntity<ApiResponse<OrderResponse>> getOrderByNumber(@PathVariable String orderNumber,
+            WebRequest request) {
+        return single(request, orderService.getOrderByNumber(orderNumber));
     }
 
     @GetMapping("/restaurant/{restaurantId}")
@@ -61,9 +75,28 @@ public class OrderController {
     public ResponseEntity<ApiResponse<PagedResponse<OrderResponse>>> getRestaurantOrders(
             @PathVariable Long restaurantId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PagedResponse<OrderResponse> response = orderService.getRestaurantOrders(restaurantId, page, size);
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return paged(request, orderService.getRestaurantOrders(restaurantId, page, size));
+    }
+
+    @GetMapping("/restaurant/{restaurantId}/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESTAURANT')")
+    @Operation(summary = "Get orders for a restaurant with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorResponse<OrderResponse>>> getRestaurantOrdersByCursor(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest request) {
+        return cursor(request, orderService.getRestaurantOrders(restaurantId, cursor, size, includeTotal));
+    }
+
+    @GetMapping("/restaurant/{restaurantId}/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESTAURANT')")
+    @Operation(summary = "Export all orders of a restaurant", description = "Every order, newest first, streamed")
+    public ResponseEntity<StreamingResponseBody> exportRestaurantOrders(@PathVariable Long restaurantId) {
+        return streamingJson.array(sink -> orderService.exportRestaurantOrders(restaurantId, sink));
     }
 
     @PatchMapping("/{id}/status")
@@ -92,4 +125,31 @@ public class OrderController {
         OrderResponse response = orderService.assignDeliveryPartner(orderId, deliveryPartnerId);
         return ResponseEntity.ok(ApiResponse.success("Delivery partner assigned", response));
     }
+
+    // Orders are per user, so their tags come from the order and payment row
+    // versions and the responses are only kept by the browser.
+
+    private ResponseEntity<ApiResponse<OrderResponse>> single(WebRequest request, OrderResponse order) {
+        return httpCaching.privateResponse(request, HttpCaching.tag("order", version(order)),
+                () -> ApiResponse.success(order));
+    }
+
+    private ResponseEntity<ApiResponse<PagedResponse<OrderResponse>>> paged(WebRequest request,
+            PagedResponse<OrderResponse> orders) {
+        String etag = HttpCaching.listTag("orders", orders.getContent(), OrderController::version,
+                orders.getPage(), orders.getSize(), orders.getTotalElements());
+        return httpCaching.privateResponse(request, etag, () -> ApiResponse.success(orders));
+    }
+
+    private ResponseEntity<ApiResponse<CursorResponse<OrderResponse>>> cursor(WebRequest request,
+            CursorResponse<OrderResponse> orders) {
+        String etag = HttpCaching.listTag("orders", orders.getContent(), OrderController::version,
+                orders.getNextCursor(), orders.getTotalElements());
+        return httpCaching.privateResponse(request, etag, () -> ApiResponse.success(orders));
+    }
+
+    private static Object version(OrderResponse order) {
+        Long paymentVersion = order.getPayment() != null ? order.getPayment().getVersion() : null;
+        return order.getId() + "." + order.getVersion() + "." + paymentVersion;
+    }
 }
@@ -0,0 +1,45 @@
+package com.ankit14.fooddeliverybackend.controller;
+
+import com.ankit14.fooddeliverybackend.service.tracking.OrderTrackingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller for live order tracking streams (server-sent events).
+ */
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+@Tag(name = "Order Tracking", description = "Live order status streams (server-sent events)")
+public class OrderTrackingController {
+
+    private final OrderTrackingService orderTrackingService;
+
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream status, payment and delivery updates for an order")
+    public SseEmitter streamOrder(@PathVariable Long id) {
+        return orderTrackingService.subscribeToOrder(id);
+    }
+
+    @GetMapping(value = "/restaurant/{restaurantId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'RESTAURANT')")
+    @Operation(summary = "Stream new orders and updates for a restaurant")
+    public SseEmitter streamRestaurantOrders(@PathVariable Long restaurantId) {
+        return orderTrackingService.subscribeToRestaurant(restaurantId);
+    }
+
+    @GetMapping(value = "/delivery/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('DELIVERY_PARTNER')")
+    @Operation(summary = "Stream orders assigned to the current delivery partner")
+    public SseEmitter streamDeliveryPartnerOrders() {
+        return orderTrackingService.subscribeAsDeliveryPartner();
+    }
+}
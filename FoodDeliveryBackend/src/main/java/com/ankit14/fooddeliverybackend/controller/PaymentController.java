@@ -3,12 +3,15 @@ package com.ankit14.fooddeliverybackend.controller;
 import com.ankit14.fooddeliverybackend.dto.common.ApiResponse;
 import com.ankit14.fooddeliverybackend.dto.payment.PaymentResponse;
 import com.ankit14.fooddeliverybackend.dto.payment.VerifyPaymentRequest;
+import com.ankit14.fooddeliverybackend.exception.PaymentException;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
 import com.ankit14.fooddeliverybackend.service.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,9 +28,15 @@ public class PaymentController {
     private final PaymentService paymentService;
 
     @PostMapping("/create/{orderId}")
-    @Operation(summary = "Create a Razorpay payment order")
+    @Operation(summary = "Create a Razorpay payment order",
+            description = "Returns 202 while the gateway order is being created; poll GET /order/{orderId} "
+                    + "until the status is CREATED (razorpayOrderId set) or FAILED")
     public ResponseEntity<ApiResponse<PaymentResponse>> createPaymentOrder(@PathVariable Long orderId) {
         PaymentResponse response = paymentService.createPaymentOrder(orderId);
+        if (response.getStatus() == PaymentStatus.PENDING_GATEWAY) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Payment order is being created", response));
+        }
         return ResponseEntity.ok(ApiResponse.success("Payment order created", response));
     }
 
@@ -47,15 +56,18 @@ public class PaymentController {
     }
 
     @PostMapping("/webhook")
-    @Operation(summary = "Razorpay webhook endpoint")
+    @Operation(summary = "Razorpay webhook endpoint",
+            description = "Verifies and stores the event, then acknowledges; payments are updated asynchronously")
     public ResponseEntity<String> handleWebhook(
-            @RequestBody String payload,
-            @RequestHeader("X-Razorpay-Signature") String signature) {
-        log.info("Received Razorpay webhook");
+            @RequestBody byte[] payload,
+            @RequestHeader("X-Razorpay-Signature") String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
         try {
-            paymentService.handleWebhook(payload, signature);
-            return ResponseEntity.ok("Webhook processed successfully");
-        } catch (Exception e) {
+            if (!paymentService.handleWebhook(payload, signature, eventId)) {
+                log.info("Ignored duplicate Razorpay webhook {}", eventId);
+            }
+            return ResponseEntity.ok("Webhook received");
+        } catch (PaymentException | IllegalArgumentException e) {
             log.error("Webhook processing failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Webhook processing failed");
         }
@@ -1,11 +1,15 @@
 package com.ankit14.fooddeliverybackend.controller;
 
 import com.ankit14.fooddeliverybackend.dto.common.ApiResponse;
+import com.ankit14.fooddeliverybackend.dto.common.CursorResponse;
 import com.ankit14.fooddeliverybackend.dto.common.PagedResponse;
+import com.ankit14.fooddeliverybackend.dto.restaurant.NearbyRestaurantResponse;
 import com.ankit14.fooddeliverybackend.dto.restaurant.RestaurantRequest;
 import com.ankit14.fooddeliverybackend.dto.restaurant.RestaurantResponse;
 import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.service.CatalogVersions;
 import com.ankit14.fooddeliverybackend.service.RestaurantService;
+import com.ankit14.fooddeliverybackend.service.discovery.NearbyRestaurantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -14,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -27,6 +32,9 @@ import java.util.List;
 public class RestaurantController {
 
     private final RestaurantService restaurantService;
+    private final NearbyRestaurantService nearbyRestaurantService;
+    private final CatalogVersions catalogVersions;
+    private final HttpCaching httpCaching;
 
     @GetMapping
     @Operation(summary = "Get all restaurants with pagination")
@@ -34,9 +42,21 @@ public class RestaurantController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "rating") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
-        PagedResponse<RestaurantResponse> response = restaurantService.getAllRestaurants(page, size, sortBy, sortDir);
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest request) {
+        return httpCaching.publicResponse(request, catalogTag(),
+                () -> ApiResponse.success(restaurantService.getAllRestaurants(page, size, sortBy, sortDir)));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get restaurants by rating with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorResponse<RestaurantResponse>>> getRestaurantsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest request) {
+        return httpCaching.publicResponse(request, catalogTag(),
+                () -> ApiResponse.success(restaurantService.getAllRestaurants(cursor, size, includeTotal)));
     }
 
     @GetMapping("/search")
@@ -44,9 +64,10 @@ public class RestaurantController {
     public ResponseEntity<ApiResponse<PagedResponse<RestaurantResponse>>> searchRestaurants(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PagedResponse<RestaurantResponse> response = restaurantService.searchRestaurants(query, page, size);
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return httpCaching.publicResponse(request, catalogTag(),
+                () -> ApiResponse.success(restaurantService.searchRestaurants(query, page, size)));
     }
 
     @GetMapping("/cuisine/{cuisine}")
@@ -54,9 +75,10 @@ public class RestaurantController {
     public ResponseEntity<ApiResponse<PagedResponse<RestaurantResponse>>> getRestaurantsByCuisine(
             @PathVariable String cuisine,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PagedResponse<RestaurantResponse> response = restaurantService.getRestaurantsByCuisine(cuisine, page, size);
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return httpCaching.publicResponse(request, catalogTag(),
+                () -> ApiResponse.success(restaurantService.getRestaurantsByCuisine(cuisine, page, size)));
     }
 
     @GetMapping("/city/{city}")
@@ -64,24 +86,45 @@ public class RestaurantController {
     public ResponseEntity<ApiResponse<PagedResponse<RestaurantResponse>>> getRestaurantsByCity(
             @PathVariable String city,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        PagedResponse<RestaurantResponse> response = restaurantService.getRestaurantsByCity(city, page, size);
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return httpCaching.publicResponse(request, catalogTag(),
+                () -> ApiResponse.success(restaurantService.getRestaurantsByCity(city, page, size)));
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Get restaurants near a location, nearest first")
+    public ResponseEntity<ApiResponse<List<NearbyRestaurantResponse>>> getNearbyRestaurants(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "5.0") double radiusKm,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "true") boolean openOnly,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String cuisine,
+            WebRequest request) {
+        return httpCaching.publicResponse(request, catalogTag(), () -> ApiResponse.success(
+                nearbyRestaurantService.findNearby(latitude, longitude, radiusKm, limit, openOnly, minRating,
+                        cuisine)));
     }
 
     @GetMapping("/top-rated")
     @Operation(summary = "Get top rated restaurants")
     public ResponseEntity<ApiResponse<List<RestaurantResponse>>> getTopRatedRestaurants(
-            @RequestParam(defaultValue = "10") int limit) {
-        List<RestaurantResponse> response = restaurantService.getTopRatedRestaurants(limit);
-        return ResponseEntity.ok(ApiResponse.success(response));
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request) {
+        return httpCaching.publicResponse(request, catalogTag(),
+                () -> ApiResponse.success(restaurantService.getTopRatedRestaurants(limit)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get restaurant by ID")
-    public ResponseEntity<ApiResponse<RestaurantResponse>> getRestaurantById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<RestaurantResponse>> getRestaurantById(@PathVariable Long id,
+            WebRequest request) {
         RestaurantResponse response = restaurantService.getRestaurantById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return httpCaching.publicResponse(request,
+                HttpCaching.tag("restaurant", response.getId(), response.getUpdatedAt()),
+                () -> ApiResponse.success(response));
     }
 
     @PostMapping
@@ -121,4 +164,11 @@ public class RestaurantController {
         restaurantService.deleteRestaurant(id);
         return ResponseEntity.ok(ApiResponse.success("Restaurant deleted", null));
     }
+
+    /**
+     * Listings change with any restaurant row, so they share the table's version.
+     */
+    private String catalogTag() {
+        return HttpCaching.tag("restaurants", catalogVersions.restaurants());
+    }
 }
@@ -0,0 +1,70 @@
+package com.ankit14.fooddeliverybackend.controller;
+
+import com.ankit14.fooddeliverybackend.dto.common.ApiResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Large list responses, written row by row while the rows are read.
+ * <p>
+ * The body has the usual {@link ApiResponse} shape with the rows as its
+ * {@code data} array, but each row goes through a Jackson generator straight
+ * to the response stream instead of being collected first, so memory per
+ * request stays at a few rows and the output buffers however long the list
+ * is. The rows callback runs on an MVC async thread after the handler
+ * returns, so it must open its own read-only transaction.
+ * <p>
+ * Nothing reaches the client until the generator's buffer first fills, so a
+ * failure before that (say, a rejected parameter) is still answered by the
+ * usual error response. After that the status is sent and a failure cuts the
+ * response short, leaving invalid JSON.
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingJson {
+
+    private final ObjectMapper objectMapper;
+
+    public ResponseEntity<StreamingResponseBody> array(Consumer<Consumer<Object>> rows) {
+        StreamingResponseBody body = out -> {
+            JsonGenerator json = objectMapper.createGenerator(out);
+            // The servlet stream is flushed and closed by Spring, not by the generator
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeBooleanField("success", true);
+            json.writeStringField("message", "Success");
+            json.writeArrayFieldStart("data");
+            try {
+                rows.accept(row -> write(json, row));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            json.writeEndArray();
+            json.writeFieldName("timestamp");
+            json.writeObject(LocalDateTime.now());
+            json.writeEndObject();
+            // Not closed on failure: whatever is still buffered is dropped
+            json.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Unchecked, so a client that went away also ends the read and closes its cursor
+    private static void write(JsonGenerator json, Object row) {
+        try {
+            json.writeObject(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ankit14.fooddeliverybackend.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the order export.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderExportResponse {
+    private Long orderId;
+    private String orderNumber;
+    private LocalDateTime createdAt;
+    private String status;
+    private Long restaurantId;
+    private String restaurantName;
+    private Long customerId;
+    private BigDecimal subtotal;
+    private BigDecimal deliveryFee;
+    private BigDecimal tax;
+    private BigDecimal totalAmount;
+    private String paymentStatus;
+    private LocalDateTime deliveredAt;
+}
@@ -0,0 +1,25 @@
+package com.ankit14.fooddeliverybackend.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-paged response wrapper. Pass {@code nextCursor} back to fetch the
+ * following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements; // Only when requested, since it costs a COUNT query
+}
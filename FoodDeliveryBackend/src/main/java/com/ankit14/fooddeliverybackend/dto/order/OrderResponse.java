@@ -39,6 +39,7 @@ public class OrderResponse {
     private LocalDateTime estimatedDeliveryTime;
     private LocalDateTime actualDeliveryTime;
     private LocalDateTime createdAt;
+    private Long version;
 
     @Data
     @NoArgsConstructor
@@ -64,5 +65,6 @@ public class OrderResponse {
         private String razorpayPaymentId;
         private BigDecimal amount;
         private String status;
+        private Long version;
     }
 }
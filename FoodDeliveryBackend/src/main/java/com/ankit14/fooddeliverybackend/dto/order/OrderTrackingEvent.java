@@ -0,0 +1,38 @@
+package com.ankit14.fooddeliverybackend.dto.order;
+
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO pushed to order tracking subscribers; also the SSE event name via
+ * {@link #type}. Fields that do not apply to the event type are omitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderTrackingEvent {
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String ORDER_CREATED = "order-created";
+    public static final String STATUS_CHANGED = "status-changed";
+    public static final String PAYMENT_STATUS_CHANGED = "payment-status-changed";
+    public static final String DELIVERY_PARTNER_ASSIGNED = "delivery-partner-assigned";
+
+    private String type;
+    private Long orderId;
+    private Long restaurantId;
+    private OrderStatus orderStatus;
+    private OrderStatus previousOrderStatus;
+    private PaymentStatus paymentStatus;
+    private Long deliveryPartnerId;
+    private LocalDateTime occurredAt;
+}
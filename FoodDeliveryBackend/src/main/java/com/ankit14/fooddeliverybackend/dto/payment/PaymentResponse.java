@@ -27,6 +27,7 @@ public class PaymentResponse {
     private String currency;
     private PaymentStatus status;
     private String paymentMethod;
+    private String failureReason;
     private LocalDateTime createdAt;
 
     // Razorpay checkout data (for frontend)
@@ -0,0 +1,19 @@
+package com.ankit14.fooddeliverybackend.dto.restaurant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a restaurant near the customer and its straight-line distance.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyRestaurantResponse {
+
+    private RestaurantResponse restaurant;
+    private Double distanceKm;
+}
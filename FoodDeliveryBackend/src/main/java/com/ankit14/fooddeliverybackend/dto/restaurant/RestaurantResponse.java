@@ -25,6 +25,8 @@ public class RestaurantResponse {
     private String imageUrl;
     private String address;
     private String city;
+    private Double latitude;
+    private Double longitude;
     private String phone;
     private Boolean isOpen;
     private String deliveryTime;
@@ -33,4 +35,5 @@ public class RestaurantResponse {
     private Long ownerId;
     private String ownerName;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,13 @@
+package com.ankit14.fooddeliverybackend.event;
+
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+
+/**
+ * Published when a delivery partner is assigned to an order.
+ */
+public record DeliveryPartnerAssignedEvent(
+        Long orderId,
+        Long restaurantId,
+        Long deliveryPartnerId,
+        OrderStatus orderStatus) {
+}
@@ -0,0 +1,14 @@
+package com.ankit14.fooddeliverybackend.event;
+
+/**
+ * Published after a menu item's searchable fields or availability changed.
+ *
+ * @param searchable false once the item is unavailable or deleted
+ */
+public record MenuItemChangedEvent(
+        Long menuItemId,
+        String name,
+        String categoryName,
+        String description,
+        boolean searchable) {
+}
@@ -0,0 +1,17 @@
+package com.ankit14.fooddeliverybackend.event;
+
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published after a new order has been persisted.
+ */
+public record OrderCreatedEvent(
+        Long orderId,
+        Long restaurantId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,15 @@
+package com.ankit14.fooddeliverybackend.event;
+
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+
+/**
+ * Published when an order moves from one status to another.
+ * {@code deliveryPartnerId} is null until a partner is assigned.
+ */
+public record OrderStatusChangedEvent(
+        Long orderId,
+        Long restaurantId,
+        Long deliveryPartnerId,
+        OrderStatus previousStatus,
+        OrderStatus newStatus) {
+}
@@ -0,0 +1,20 @@
+package com.ankit14.fooddeliverybackend.event;
+
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published when a payment is created or changes status.
+ * {@code previousStatus} is null for a newly created payment.
+ */
+public record PaymentStatusChangedEvent(
+        Long paymentId,
+        Long orderId,
+        Long restaurantId,
+        PaymentStatus previousStatus,
+        PaymentStatus newStatus,
+        BigDecimal orderAmount,
+        LocalDateTime orderCreatedAt) {
+}
@@ -0,0 +1,9 @@
+package com.ankit14.fooddeliverybackend.event;
+
+/**
+ * Published when a webhook event has been stored in the inbox.
+ */
+public record PaymentWebhookReceivedEvent(
+        Long webhookEventId,
+        String razorpayOrderId) {
+}
@@ -0,0 +1,14 @@
+package com.ankit14.fooddeliverybackend.event;
+
+/**
+ * Published after a restaurant was created, edited, opened or closed, or deactivated.
+ *
+ * @param searchable false once the restaurant is deactivated
+ */
+public record RestaurantChangedEvent(
+        Long restaurantId,
+        String name,
+        String cuisine,
+        String description,
+        boolean searchable) {
+}
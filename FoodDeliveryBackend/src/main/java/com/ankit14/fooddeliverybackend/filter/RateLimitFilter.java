@@ -4,12 +4,14 @@ import com.ankit14.fooddeliverybackend.config.JwtUtil;
 import com.ankit14.fooddeliverybackend.config.RateLimitConfig;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
@@ -32,6 +34,15 @@ public class RateLimitFilter extends OncePerRequestFilter {
     private final RateLimitConfig rateLimitConfig;
     private final JwtUtil jwtUtil;
 
+    // Off only for load tests, where every virtual user would otherwise be throttled
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
@@ -70,18 +81,10 @@ public class RateLimitFilter extends OncePerRequestFilter {
     }
 
     private String resolveKey(HttpServletRequest request) {
-        // Try to get user ID from JWT token
-        String bearerToken = request.getHeader("Authorization");
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            try {
-                String token = bearerToken.substring(7);
-                String email = jwtUtil.extractUsername(token);
-                if (email != null) {
-                    return "user:" + email;
-                }
-            } catch (Exception e) {
-                // Fall through to IP-based limiting
-            }
+        // Try to get user ID from JWT token (parsed once per request, shared with JwtAuthenticationFilter)
+        Claims claims = jwtUtil.resolveClaims(request);
+        if (claims != null && claims.getSubject() != null) {
+            return "user:" + claims.getSubject();
         }
 
         // Fall back to IP address
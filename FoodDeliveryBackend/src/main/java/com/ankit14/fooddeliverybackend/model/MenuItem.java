@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
  * MenuItem entity representing food items in a restaurant menu.
  */
 @Entity
-@Table(name = "menu_items")
+@Table(name = "menu_items", indexes = {
+        // Latest change, part of the catalog's HTTP cache validator
+        @Index(name = "idx_menu_items_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +21,8 @@ import java.time.LocalDateTime;
 public class MenuItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_items_seq")
+    @SequenceGenerator(name = "menu_items_seq", sequenceName = "menu_items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -2,6 +2,7 @@ package com.ankit14.fooddeliverybackend.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,15 +13,35 @@ import java.util.List;
  * Order entity representing customer orders.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Keyset pagination of order history, newest first
+        @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at, id"),
+        @Index(name = "idx_orders_restaurant_created", columnList = "restaurant_id, created_at, id"),
+        // Dispatch polls for orders in one status, oldest first
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at, id")
+})
+@NamedEntityGraph(name = Order.GRAPH_SUMMARY, attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("restaurant"),
+        @NamedAttributeNode("deliveryAddress"),
+        @NamedAttributeNode("deliveryPartner"),
+        @NamedAttributeNode("payment"),
+        @NamedAttributeNode(value = "items", subgraph = "items")
+}, subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("menuItem")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Order {
 
+    /**
+     * Fetch plan covering everything {@code OrderService.mapToResponse} touches.
+     */
+    public static final String GRAPH_SUMMARY = "Order.summary";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_number", unique = true, nullable = false)
@@ -83,13 +104,16 @@ public class Order {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Checked by entity updates; status changes are compare-and-set updates in OrderRepository that bump it too
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        if (orderNumber == null) {
-            orderNumber = "ORD-" + System.currentTimeMillis();
-        }
     }
 
     @PreUpdate
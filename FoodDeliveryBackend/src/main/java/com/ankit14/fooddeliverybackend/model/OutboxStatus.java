@@ -0,0 +1,10 @@
+package com.ankit14.fooddeliverybackend.model;
+
+/**
+ * Enum representing the state of an outbox entry.
+ */
+public enum OutboxStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
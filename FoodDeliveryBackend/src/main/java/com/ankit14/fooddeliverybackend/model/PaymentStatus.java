@@ -4,6 +4,7 @@ package com.ankit14.fooddeliverybackend.model;
  * Enum representing payment statuses.
  */
 public enum PaymentStatus {
+    PENDING_GATEWAY,  // Accepted; the gateway order is still being created
     CREATED,
     SUCCESS,
     FAILED,
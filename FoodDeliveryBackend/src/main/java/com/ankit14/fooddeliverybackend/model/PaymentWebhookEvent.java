@@ -0,0 +1,82 @@
+package com.ankit14.fooddeliverybackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Razorpay webhook event as received, waiting to be applied to its payment.
+ * <p>
+ * The unique {@code eventId} makes redeliveries of the same event no-ops. The
+ * fields the consumer needs are extracted on receipt; the raw payload is kept
+ * for auditing and replay. An event that fails to apply is retried after
+ * {@code nextAttemptAt}, and marked {@code FAILED} when its attempts run out.
+ */
+@Entity
+@Table(name = "payment_webhook_events", indexes = {
+        @Index(name = "idx_payment_webhook_events_status", columnList = "status, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentWebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_webhook_events_seq")
+    @SequenceGenerator(name = "payment_webhook_events_seq", sequenceName = "payment_webhook_events_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true, length = 64)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "razorpay_order_id")
+    private String razorpayOrderId;
+
+    @Column(name = "razorpay_payment_id")
+    private String razorpayPaymentId;
+
+    @Column(name = "error_description", length = 500)
+    private String errorDescription;
+
+    // When Razorpay raised the event; orders events for the same payment
+    @Column(name = "event_created_at")
+    private LocalDateTime eventCreatedAt;
+
+    @Column(nullable = false, length = 65536)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private WebhookEventStatus status = WebhookEventStatus.PENDING;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // Null until an attempt fails
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "received_at")
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        receivedAt = LocalDateTime.now();
+    }
+}
@@ -11,7 +11,12 @@ import java.util.List;
  * Restaurant entity representing food restaurants.
  */
 @Entity
-@Table(name = "restaurants")
+@Table(name = "restaurants", indexes = {
+        // Keyset pagination of the restaurant listing, best rated first
+        @Index(name = "idx_restaurants_active_rating", columnList = "is_active, rating, id"),
+        // Latest change, part of the catalog's HTTP cache validator
+        @Index(name = "idx_restaurants_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +24,8 @@ import java.util.List;
 public class Restaurant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restaurants_seq")
+    @SequenceGenerator(name = "restaurants_seq", sequenceName = "restaurants_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -46,6 +52,11 @@ public class Restaurant {
     @Column(nullable = false)
     private String city;
 
+    // Where orders are picked up; restaurants without coordinates are left out of nearby listings
+    private Double latitude;
+
+    private Double longitude;
+
     private String phone;
 
     @Column(name = "is_open")
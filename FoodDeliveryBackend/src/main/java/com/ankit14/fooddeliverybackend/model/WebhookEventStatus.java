@@ -0,0 +1,11 @@
+package com.ankit14.fooddeliverybackend.model;
+
+/**
+ * Enum representing the processing state of a received webhook event.
+ */
+public enum WebhookEventStatus {
+    PENDING,
+    APPLIED,
+    IGNORED,  // Duplicate, superseded, unknown payment or unhandled event type
+    FAILED  // Could not be applied within the allowed attempts; kept for inspection and replay
+}
@@ -1,7 +1,9 @@
 package com.ankit14.fooddeliverybackend.repository;
 
 import com.ankit14.fooddeliverybackend.model.Category;
+import com.ankit14.fooddeliverybackend.repository.projection.TableVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +20,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByIsActiveTrue();
 
     boolean existsByNameIgnoreCase(String name);
+
+    // Rows created before updated_at existed only have created_at
+    @Query("SELECT COUNT(c) AS rowCount, MAX(COALESCE(c.updatedAt, c.createdAt)) AS lastModified FROM Category c")
+    TableVersion findTableVersion();
 }
@@ -1,14 +1,22 @@
 package com.ankit14.fooddeliverybackend.repository;
 
 import com.ankit14.fooddeliverybackend.model.MenuItem;
+import com.ankit14.fooddeliverybackend.repository.projection.MenuItemSearchRow;
+import com.ankit14.fooddeliverybackend.repository.projection.RestaurantCount;
+import com.ankit14.fooddeliverybackend.repository.projection.TableVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for MenuItem entity.
@@ -18,6 +26,22 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
     List<MenuItem> findByRestaurantIdAndIsAvailableTrue(Long restaurantId);
 
+    // Menu snapshots: everything the response embeds, in a stable order so unchanged menus keep their ETag
+    @Query("SELECT m FROM MenuItem m JOIN FETCH m.restaurant LEFT JOIN FETCH m.category " +
+            "WHERE m.restaurant.id = :restaurantId AND m.isAvailable = true ORDER BY m.id")
+    List<MenuItem> findAvailableWithDetailsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    // Export: every item read through a database cursor; consume and close it inside a transaction
+    @Query("SELECT m FROM MenuItem m JOIN FETCH m.restaurant LEFT JOIN FETCH m.category ORDER BY m.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<MenuItem> streamAllWithDetails();
+
+    @Query("SELECT m FROM MenuItem m JOIN FETCH m.restaurant WHERE m.id IN :ids")
+    List<MenuItem> findAllWithRestaurantByIdIn(@Param("ids") Collection<Long> ids);
+
     List<MenuItem> findByRestaurantId(Long restaurantId);
 
     Page<MenuItem> findByRestaurantId(Long restaurantId, Pageable pageable);
@@ -30,7 +54,13 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND m.isBestseller = true AND m.isAvailable = true")
     List<MenuItem> findBestsellersByRestaurant(@Param("restaurantId") Long restaurantId);
 
-    @Query("SELECT m FROM MenuItem m WHERE m.isAvailable = true AND " +
-            "LOWER(m.name) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<MenuItem> searchMenuItems(@Param("search") String search, Pageable pageable);
+    @Query("SELECT m.id AS id, m.name AS name, c.name AS categoryName, m.description AS description " +
+            "FROM MenuItem m LEFT JOIN m.category c WHERE m.isAvailable = true")
+    List<MenuItemSearchRow> findSearchRows();
+
+    @Query("SELECT COUNT(m) AS rowCount, MAX(m.updatedAt) AS lastModified FROM MenuItem m")
+    TableVersion findTableVersion();
+
+    @Query("SELECT m.restaurant.id AS restaurantId, COUNT(m) AS count FROM MenuItem m GROUP BY m.restaurant.id")
+    List<RestaurantCount> countByRestaurant();
 }
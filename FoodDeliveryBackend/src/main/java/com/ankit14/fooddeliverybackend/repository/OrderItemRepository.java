@@ -1,7 +1,10 @@
 package com.ankit14.fooddeliverybackend.repository;
 
 import com.ankit14.fooddeliverybackend.model.OrderItem;
+import com.ankit14.fooddeliverybackend.repository.projection.MenuItemSales;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +16,12 @@ import java.util.List;
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findByOrderId(Long orderId);
+
+    @Query("SELECT m.id AS menuItemId, m.name AS name, r.name AS restaurantName, m.price AS price, " +
+            "m.imageUrl AS imageUrl, SUM(oi.quantity) AS quantity, SUM(oi.totalPrice) AS revenue " +
+            "FROM OrderItem oi JOIN oi.menuItem m JOIN m.restaurant r JOIN oi.order o JOIN o.payment p " +
+            "WHERE p.status = 'SUCCESS' " +
+            "GROUP BY m.id, m.name, r.name, m.price, m.imageUrl " +
+            "ORDER BY SUM(oi.quantity) DESC")
+    List<MenuItemSales> findTopSellingItems(Pageable pageable);
 }
@@ -2,16 +2,33 @@ package com.ankit14.fooddeliverybackend.repository;
 
 import com.ankit14.fooddeliverybackend.model.Order;
 import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.projection.DailyAggregate;
+import com.ankit14.fooddeliverybackend.repository.projection.OrderExportRow;
+import com.ankit14.fooddeliverybackend.repository.projection.OrderParticipants;
+import com.ankit14.fooddeliverybackend.repository.projection.OrderStatusAggregate;
+import com.ankit14.fooddeliverybackend.repository.projection.PartnerAssignment;
+import com.ankit14.fooddeliverybackend.repository.projection.PaymentStatusAggregate;
+import com.ankit14.fooddeliverybackend.repository.projection.PendingPickup;
+import com.ankit14.fooddeliverybackend.repository.projection.RestaurantAggregate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Order entity.
@@ -21,6 +38,120 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
+    @Query("SELECT o.id AS orderId, o.status AS status, o.customer.id AS customerId, r.id AS restaurantId, " +
+            "owner.id AS restaurantOwnerId, partner.id AS deliveryPartnerId FROM Order o JOIN o.restaurant r " +
+            "LEFT JOIN r.owner owner LEFT JOIN o.deliveryPartner partner WHERE o.id = :id")
+    Optional<OrderParticipants> findParticipantsById(@Param("id") Long id);
+
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    // Compare-and-set writes: each applies only while the order is still in the status the caller validated
+    // against, bumps the version, and returns 0 if another writer got there first. They bypass the persistence
+    // context, so an Order already loaded in the transaction keeps its old status and version: re-read it
+    // rather than modify it
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :next, o.version = o.version + 1, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.status = :expected")
+    int transitionStatus(@Param("id") Long id, @Param("expected") OrderStatus expected,
+            @Param("next") OrderStatus next, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = 'DELIVERED', o.actualDeliveryTime = :now, o.version = o.version + 1, " +
+            "o.updatedAt = :now WHERE o.id = :id AND o.status = 'OUT_FOR_DELIVERY'")
+    int markDelivered(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.deliveryPartner = :partner, o.version = o.version + 1, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.status = :expected")
+    int assignDeliveryPartner(@Param("id") Long id, @Param("expected") OrderStatus expected,
+            @Param("partner") User partner, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.deliveryPartner = :partner, o.version = o.version + 1, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.status = :expected AND o.deliveryPartner IS NULL")
+    int assignDeliveryPartnerIfUnassigned(@Param("id") Long id, @Param("expected") OrderStatus expected,
+            @Param("partner") User partner, @Param("now") LocalDateTime now);
+
+    // Dispatch: orders waiting for a partner, oldest first, and the partners already on an order
+    // The pickup point is the restaurant, or the delivery address for restaurants without coordinates
+    @Query("SELECT o.id AS orderId, o.createdAt AS createdAt, COALESCE(r.latitude, a.latitude) AS latitude, " +
+            "COALESCE(r.longitude, a.longitude) AS longitude FROM Order o JOIN o.restaurant r " +
+            "LEFT JOIN o.deliveryAddress a WHERE o.status = :status AND o.deliveryPartner IS NULL " +
+            "AND COALESCE(r.latitude, a.latitude) IS NOT NULL AND COALESCE(r.longitude, a.longitude) IS NOT NULL " +
+            "ORDER BY o.createdAt, o.id")
+    List<PendingPickup> findPendingPickups(@Param("status") OrderStatus status, Limit limit);
+
+    @Query("SELECT o.id AS orderId, o.createdAt AS createdAt, COALESCE(r.latitude, a.latitude) AS latitude, " +
+            "COALESCE(r.longitude, a.longitude) AS longitude FROM Order o JOIN o.restaurant r " +
+            "LEFT JOIN o.deliveryAddress a WHERE o.status = :status AND o.deliveryPartner IS NULL " +
+            "AND COALESCE(r.latitude, a.latitude) IS NOT NULL AND COALESCE(r.longitude, a.longitude) IS NOT NULL " +
+            "AND (o.createdAt > :createdAt OR o.createdAt = :createdAt AND o.id > :id) " +
+            "ORDER BY o.createdAt, o.id")
+    List<PendingPickup> findPendingPickupsAfter(@Param("status") OrderStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o.id AS orderId, o.deliveryPartner.id AS deliveryPartnerId FROM Order o " +
+            "WHERE o.deliveryPartner IS NOT NULL AND o.status IN :statuses")
+    List<PartnerAssignment> findPartnerAssignments(@Param("statuses") Collection<OrderStatus> statuses);
+
+    // Fetch plans for building OrderResponse without lazy-loading per association
+    @EntityGraph(Order.GRAPH_SUMMARY)
+    Optional<Order> findWithDetailsById(Long id);
+
+    @EntityGraph(Order.GRAPH_SUMMARY)
+    Optional<Order> findWithDetailsByOrderNumber(String orderNumber);
+
+    @EntityGraph(Order.GRAPH_SUMMARY)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids")
+    List<Order> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Id-only pages: paging happens in SQL, the graph fetch then loads just these rows
+    @Query(value = "SELECT o.id FROM Order o WHERE o.customer.id = :customerId",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.customer.id = :customerId")
+    Page<Long> findIdsByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(value = "SELECT o.id FROM Order o WHERE o.restaurant.id = :restaurantId",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.restaurant.id = :restaurantId")
+    Page<Long> findIdsByRestaurantId(@Param("restaurantId") Long restaurantId, Pageable pageable);
+
+    // Keyset pages, newest first: rows strictly after the (createdAt, id) cursor, no count query. The row
+    // comparison is spelled out because HQL has no tuple "<"
+    @Query("SELECT o.id FROM Order o WHERE o.customer.id = :customerId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findLatestIdsByCustomerId(@Param("customerId") Long customerId, Limit limit);
+
+    @Query("SELECT o.id FROM Order o WHERE o.customer.id = :customerId " +
+            "AND (o.createdAt < :createdAt OR o.createdAt = :createdAt AND o.id < :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findIdsByCustomerIdBefore(@Param("customerId") Long customerId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT o.id FROM Order o WHERE o.restaurant.id = :restaurantId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findLatestIdsByRestaurantId(@Param("restaurantId") Long restaurantId, Limit limit);
+
+    @Query("SELECT o.id FROM Order o WHERE o.restaurant.id = :restaurantId " +
+            "AND (o.createdAt < :createdAt OR o.createdAt = :createdAt AND o.id < :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findIdsByRestaurantIdBefore(@Param("restaurantId") Long restaurantId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // Exports: read through a database cursor; consume and close the stream inside a transaction
+    @Query("SELECT o.id FROM Order o WHERE o.restaurant.id = :restaurantId ORDER BY o.createdAt DESC, o.id DESC")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Long> streamIdsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query("SELECT o.id AS orderId, o.orderNumber AS orderNumber, o.createdAt AS createdAt, o.status AS status, " +
+            "r.id AS restaurantId, r.name AS restaurantName, o.customer.id AS customerId, o.subtotal AS subtotal, " +
+            "o.deliveryFee AS deliveryFee, o.tax AS tax, o.totalAmount AS totalAmount, " +
+            "p.status AS paymentStatus, o.actualDeliveryTime AS deliveredAt FROM Order o JOIN o.restaurant r " +
+            "LEFT JOIN o.payment p WHERE o.createdAt >= :since ORDER BY o.createdAt, o.id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<OrderExportRow> streamExportRowsSince(@Param("since") LocalDateTime since);
+
+    long countByCustomerId(Long customerId);
+
+    long countByRestaurantId(Long restaurantId);
+
     Page<Order> findByCustomerId(Long customerId, Pageable pageable);
 
     Page<Order> findByRestaurantId(Long restaurantId, Pageable pageable);
@@ -49,4 +180,30 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o.restaurant.id, o.restaurant.name, COUNT(o), SUM(o.totalAmount) FROM Order o " +
             "WHERE o.status = 'DELIVERED' GROUP BY o.restaurant.id, o.restaurant.name ORDER BY COUNT(o) DESC")
     List<Object[]> findTopRestaurantsByOrders(Pageable pageable);
+
+    // Aggregate projections (the database does the grouping, only a few rows come back)
+    @Query("SELECT o.status AS status, COUNT(o) AS orderCount, SUM(o.totalAmount) AS totalAmount " +
+            "FROM Order o GROUP BY o.status")
+    List<OrderStatusAggregate> aggregateByStatus();
+
+    @Query("SELECT p.status AS status, COUNT(o) AS orderCount, SUM(o.totalAmount) AS totalAmount " +
+            "FROM Order o JOIN o.payment p GROUP BY p.status")
+    List<PaymentStatusAggregate> aggregateByPaymentStatus();
+
+    @Query("SELECT o.restaurant.id AS restaurantId, COUNT(o) AS orderCount, SUM(o.totalAmount) AS totalAmount " +
+            "FROM Order o GROUP BY o.restaurant.id")
+    List<RestaurantAggregate> aggregateByRestaurant();
+
+    @Query("SELECT o.restaurant.id AS restaurantId, COUNT(o) AS orderCount, SUM(o.totalAmount) AS totalAmount " +
+            "FROM Order o JOIN o.payment p WHERE p.status = 'SUCCESS' GROUP BY o.restaurant.id")
+    List<RestaurantAggregate> aggregatePaidByRestaurant();
+
+    @Query("SELECT CAST(o.createdAt AS LocalDate) AS day, COUNT(o) AS orderCount, SUM(o.totalAmount) AS totalAmount " +
+            "FROM Order o WHERE o.createdAt >= :since GROUP BY CAST(o.createdAt AS LocalDate)")
+    List<DailyAggregate> aggregateByDaySince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT CAST(o.createdAt AS LocalDate) AS day, COUNT(o) AS orderCount, SUM(o.totalAmount) AS totalAmount " +
+            "FROM Order o JOIN o.payment p WHERE p.status = 'SUCCESS' AND o.createdAt >= :since " +
+            "GROUP BY CAST(o.createdAt AS LocalDate)")
+    List<DailyAggregate> aggregatePaidByDaySince(@Param("since") LocalDateTime since);
 }
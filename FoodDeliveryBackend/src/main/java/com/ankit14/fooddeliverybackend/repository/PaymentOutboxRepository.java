@@ -0,0 +1,31 @@
+package com.ankit14.fooddeliverybackend.repository;
+
+import com.ankit14.fooddeliverybackend.model.OutboxStatus;
+import com.ankit14.fooddeliverybackend.model.PaymentOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for PaymentOutbox entity.
+ */
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+
+    @Query("SELECT o.id FROM PaymentOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now " +
+            "ORDER BY o.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now, Limit limit);
+
+    // Compare-and-set claim: only one poller (or instance) sees 1 for a due entry
+    @Modifying
+    @Query("UPDATE PaymentOutbox o SET o.nextAttemptAt = :leaseUntil, o.attempts = o.attempts + 1 " +
+            "WHERE o.id = :id AND o.status = :status AND o.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("status") OutboxStatus status, @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+}
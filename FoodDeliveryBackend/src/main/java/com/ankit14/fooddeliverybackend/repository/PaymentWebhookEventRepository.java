@@ -0,0 +1,21 @@
+package com.ankit14.fooddeliverybackend.repository;
+
+import com.ankit14.fooddeliverybackend.model.PaymentWebhookEvent;
+import com.ankit14.fooddeliverybackend.model.WebhookEventStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for PaymentWebhookEvent entity.
+ */
+@Repository
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    boolean existsByEventId(String eventId);
+
+    List<PaymentWebhookEvent> findByStatusAndIdGreaterThanOrderByIdAsc(WebhookEventStatus status, Long id,
+                                                                       Limit limit);
+}
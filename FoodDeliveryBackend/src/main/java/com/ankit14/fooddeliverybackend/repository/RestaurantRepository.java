@@ -1,6 +1,9 @@
 package com.ankit14.fooddeliverybackend.repository;
 
 import com.ankit14.fooddeliverybackend.model.Restaurant;
+import com.ankit14.fooddeliverybackend.repository.projection.RestaurantSearchRow;
+import com.ankit14.fooddeliverybackend.repository.projection.TableVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Restaurant entity with filtering support.
@@ -19,6 +23,17 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long>, J
 
     Page<Restaurant> findByIsActiveTrue(Pageable pageable);
 
+    // Keyset pages, best rated first: rows strictly after the (rating, id) cursor, no count query. The row
+    // comparison is spelled out because HQL has no tuple "<"; the database still seeks on (rating, id)
+    @Query("SELECT r FROM Restaurant r WHERE r.isActive = true ORDER BY r.rating DESC, r.id DESC")
+    List<Restaurant> findTopByRating(Limit limit);
+
+    @Query("SELECT r FROM Restaurant r WHERE r.isActive = true " +
+            "AND (r.rating < :rating OR r.rating = :rating AND r.id < :id) ORDER BY r.rating DESC, r.id DESC")
+    List<Restaurant> findByRatingBefore(@Param("rating") Double rating, @Param("id") Long id, Limit limit);
+
+    long countByIsActiveTrue();
+
     Page<Restaurant> findByIsActiveTrueAndIsOpenTrue(Pageable pageable);
 
     Page<Restaurant> findByCuisineContainingIgnoreCaseAndIsActiveTrue(String cuisine, Pageable pageable);
@@ -28,13 +43,25 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long>, J
     @Query("SELECT r FROM Restaurant r WHERE r.isActive = true AND r.rating >= :rating")
     Page<Restaurant> findByMinRating(@Param("rating") Double rating, Pageable pageable);
 
-    @Query("SELECT r FROM Restaurant r WHERE r.isActive = true AND " +
-            "(LOWER(r.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(r.cuisine) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Restaurant> searchRestaurants(@Param("search") String search, Pageable pageable);
+    @Query("SELECT r.id AS id, r.name AS name, r.cuisine AS cuisine, r.description AS description " +
+            "FROM Restaurant r WHERE r.isActive = true")
+    List<RestaurantSearchRow> findSearchRows();
+
+    // Nearby listings: active restaurants with coordinates, owners fetched for the response
+    @Query("SELECT r FROM Restaurant r LEFT JOIN FETCH r.owner WHERE r.isActive = true " +
+            "AND r.latitude IS NOT NULL AND r.longitude IS NOT NULL")
+    List<Restaurant> findLocatedWithOwner();
+
+    @Query("SELECT r FROM Restaurant r LEFT JOIN FETCH r.owner WHERE r.id = :id")
+    Optional<Restaurant> findWithOwnerById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(r) AS rowCount, MAX(r.updatedAt) AS lastModified FROM Restaurant r")
+    TableVersion findTableVersion();
 
     List<Restaurant> findByOwnerId(Long ownerId);
 
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
     @Query("SELECT r FROM Restaurant r WHERE r.isActive = true ORDER BY r.rating DESC")
     List<Restaurant> findTopRatedRestaurants(Pageable pageable);
 }
@@ -0,0 +1,16 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Order count and amount grouped by calendar day of order creation.
+ */
+public interface DailyAggregate {
+
+    LocalDate getDay();
+
+    Long getOrderCount();
+
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,23 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Quantity sold and revenue for a menu item across paid orders.
+ */
+public interface MenuItemSales {
+
+    Long getMenuItemId();
+
+    String getName();
+
+    String getRestaurantName();
+
+    BigDecimal getPrice();
+
+    String getImageUrl();
+
+    Long getQuantity();
+
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,15 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+/**
+ * Searchable text of an available menu item.
+ */
+public interface MenuItemSearchRow {
+
+    Long getId();
+
+    String getName();
+
+    String getCategoryName();
+
+    String getDescription();
+}
@@ -0,0 +1,40 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One order in the analytics export, flattened with its restaurant and
+ * payment status.
+ */
+public interface OrderExportRow {
+
+    Long getOrderId();
+
+    String getOrderNumber();
+
+    LocalDateTime getCreatedAt();
+
+    OrderStatus getStatus();
+
+    Long getRestaurantId();
+
+    String getRestaurantName();
+
+    Long getCustomerId();
+
+    BigDecimal getSubtotal();
+
+    BigDecimal getDeliveryFee();
+
+    BigDecimal getTax();
+
+    BigDecimal getTotalAmount();
+
+    PaymentStatus getPaymentStatus();
+
+    LocalDateTime getDeliveredAt();
+}
@@ -0,0 +1,21 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+
+/**
+ * Who may follow an order, plus its current status.
+ */
+public interface OrderParticipants {
+
+    Long getOrderId();
+
+    OrderStatus getStatus();
+
+    Long getCustomerId();
+
+    Long getRestaurantId();
+
+    Long getRestaurantOwnerId();
+
+    Long getDeliveryPartnerId();
+}
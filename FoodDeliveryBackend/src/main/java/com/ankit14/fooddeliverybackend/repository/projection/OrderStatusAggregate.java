@@ -0,0 +1,17 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Order count and amount grouped by order status.
+ */
+public interface OrderStatusAggregate {
+
+    OrderStatus getStatus();
+
+    Long getOrderCount();
+
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,11 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+/**
+ * A delivery partner's current order.
+ */
+public interface PartnerAssignment {
+
+    Long getOrderId();
+
+    Long getDeliveryPartnerId();
+}
@@ -0,0 +1,17 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Order count and amount grouped by payment status.
+ */
+public interface PaymentStatusAggregate {
+
+    PaymentStatus getStatus();
+
+    Long getOrderCount();
+
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,17 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order waiting for a delivery partner, and where the partner should go.
+ */
+public interface PendingPickup {
+
+    Long getOrderId();
+
+    LocalDateTime getCreatedAt();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
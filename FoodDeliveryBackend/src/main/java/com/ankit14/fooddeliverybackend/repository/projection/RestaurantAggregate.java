@@ -0,0 +1,15 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Order count and amount grouped by restaurant.
+ */
+public interface RestaurantAggregate {
+
+    Long getRestaurantId();
+
+    Long getOrderCount();
+
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,11 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+/**
+ * Row count grouped by restaurant.
+ */
+public interface RestaurantCount {
+
+    Long getRestaurantId();
+
+    Long getCount();
+}
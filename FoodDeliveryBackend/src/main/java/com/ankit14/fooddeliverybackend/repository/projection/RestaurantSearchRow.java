@@ -0,0 +1,15 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+/**
+ * Searchable text of an active restaurant.
+ */
+public interface RestaurantSearchRow {
+
+    Long getId();
+
+    String getName();
+
+    String getCuisine();
+
+    String getDescription();
+}
@@ -0,0 +1,13 @@
+package com.ankit14.fooddeliverybackend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and latest change of a table.
+ */
+public interface TableVersion {
+
+    Long getRowCount();
+
+    LocalDateTime getLastModified();
+}
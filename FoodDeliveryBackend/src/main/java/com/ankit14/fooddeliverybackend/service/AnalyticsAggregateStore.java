@@ -0,0 +1,339 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.event.OrderCreatedEvent;
+import com.ankit14.fooddeliverybackend.event.OrderStatusChangedEvent;
+import com.ankit14.fooddeliverybackend.event.PaymentStatusChangedEvent;
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.projection.DailyAggregate;
+import com.ankit14.fooddeliverybackend.repository.projection.OrderStatusAggregate;
+import com.ankit14.fooddeliverybackend.repository.projection.PaymentStatusAggregate;
+import com.ankit14.fooddeliverybackend.repository.projection.RestaurantAggregate;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory order/payment counters kept up to date from committed domain events,
+ * so analytics reads never scan the orders table.
+ * <p>
+ * Counters are rebuilt from the database at startup and on a schedule to
+ * reconcile any drift (e.g. writes made by another instance or outside the
+ * application). A rebuild reads every aggregate from one repeatable-read
+ * snapshot, and events arriving while it runs are replayed onto the rebuilt
+ * counters before they are swapped in. Day buckets are only kept for
+ * {@link #RETAINED_DAYS} days.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsAggregateStore {
+
+    public static final int RETAINED_DAYS = 31;
+
+    private final OrderRepository orderRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private volatile Aggregates aggregates = new Aggregates();
+
+    // Updates applied while a rebuild runs, replayed onto its result; null when no rebuild is running
+    private volatile ConcurrentLinkedQueue<Consumer<Aggregates>> replay;
+    // Updates hold the read lock; a rebuild holds the write lock only to replay and swap
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    private TransactionTemplate snapshotTransaction;
+
+    @PostConstruct
+    void init() {
+        snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setReadOnly(true);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // ---- Event handlers (applied only after the writing transaction commits)
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        apply(current -> {
+            current.totalOrders.increment();
+            current.totalAmount.accumulateAndGet(event.totalAmount(), BigDecimal::add);
+            current.byStatus.get(event.status()).increment();
+            current.restaurant(event.restaurantId()).orders.increment();
+            current.day(event.createdAt().toLocalDate()).orders.increment();
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.previousStatus() == event.newStatus()) {
+            return;
+        }
+        apply(current -> {
+            current.byStatus.get(event.previousStatus()).decrement();
+            current.byStatus.get(event.newStatus()).increment();
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        if (event.previousStatus() == event.newStatus()) {
+            return;
+        }
+        apply(current -> applyPayment(current, event));
+    }
+
+    private static void applyPayment(Aggregates current, PaymentStatusChangedEvent event) {
+        if (event.previousStatus() != null) {
+            current.byPaymentStatus.get(event.previousStatus()).decrement();
+        }
+        current.byPaymentStatus.get(event.newStatus()).increment();
+
+        int sign = 0;
+        if (event.newStatus() == PaymentStatus.SUCCESS) {
+            sign = 1;
+        } else if (event.previousStatus() == PaymentStatus.SUCCESS) {
+            sign = -1;
+        }
+        if (sign != 0) {
+            BigDecimal delta = sign > 0 ? event.orderAmount() : event.orderAmount().negate();
+            current.totalRevenue.accumulateAndGet(delta, BigDecimal::add);
+            current.restaurant(event.restaurantId()).add(sign, delta);
+            current.day(event.orderCreatedAt().toLocalDate()).add(sign, delta);
+        }
+    }
+
+    private void apply(Consumer<Aggregates> update) {
+        swapLock.readLock().lock();
+        try {
+            update.accept(aggregates);
+            ConcurrentLinkedQueue<Consumer<Aggregates>> pending = replay;
+            if (pending != null) {
+                pending.add(update);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // ---- Rebuild
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Recompute every counter from the orders and payments tables and swap the
+     * result in atomically, with the events that arrived meanwhile replayed
+     * onto it. An event whose transaction committed just before the snapshot
+     * was taken can be counted twice until the next rebuild.
+     */
+    @Scheduled(cron = "${analytics.rebuild-cron:0 0 3 * * *}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        replay = new ConcurrentLinkedQueue<>();
+        try {
+            Aggregates rebuilt = snapshotTransaction.execute(status -> load());
+            swapLock.writeLock().lock();
+            try {
+                List<Consumer<Aggregates>> pending = new ArrayList<>(replay);
+                pending.forEach(update -> update.accept(rebuilt));
+                aggregates = rebuilt;
+                log.info("Rebuilt analytics aggregates in {} ms, replaying {} updates",
+                        System.currentTimeMillis() - start, pending.size());
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } finally {
+            replay = null;
+        }
+    }
+
+    private Aggregates load() {
+        Aggregates rebuilt = new Aggregates();
+
+        for (OrderStatusAggregate row : orderRepository.aggregateByStatus()) {
+            rebuilt.byStatus.get(row.getStatus()).add(row.getOrderCount());
+            rebuilt.totalOrders.add(row.getOrderCount());
+            rebuilt.totalAmount.accumulateAndGet(amount(row.getTotalAmount()), BigDecimal::add);
+        }
+
+        for (PaymentStatusAggregate row : orderRepository.aggregateByPaymentStatus()) {
+            rebuilt.byPaymentStatus.get(row.getStatus()).add(row.getOrderCount());
+        }
+
+        for (RestaurantAggregate row : orderRepository.aggregateByRestaurant()) {
+            rebuilt.restaurant(row.getRestaurantId()).orders.add(row.getOrderCount());
+        }
+        for (RestaurantAggregate row : orderRepository.aggregatePaidByRestaurant()) {
+            Bucket bucket = rebuilt.restaurant(row.getRestaurantId());
+            bucket.paidOrders.add(row.getOrderCount());
+            bucket.revenue.set(amount(row.getTotalAmount()));
+            rebuilt.totalRevenue.accumulateAndGet(amount(row.getTotalAmount()), BigDecimal::add);
+        }
+
+        LocalDateTime since = LocalDate.now().minusDays(RETAINED_DAYS - 1).atStartOfDay();
+        for (DailyAggregate row : orderRepository.aggregateByDaySince(since)) {
+            rebuilt.day(row.getDay()).orders.add(row.getOrderCount());
+        }
+        for (DailyAggregate row : orderRepository.aggregatePaidByDaySince(since)) {
+            Bucket bucket = rebuilt.day(row.getDay());
+            bucket.paidOrders.add(row.getOrderCount());
+            bucket.revenue.set(amount(row.getTotalAmount()));
+        }
+        return rebuilt;
+    }
+
+    // ---- Snapshot reads
+
+    public Snapshot snapshot() {
+        Aggregates current = aggregates;
+
+        Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        current.byStatus.forEach((status, count) -> byStatus.put(status, count.sum()));
+
+        Map<PaymentStatus, Long> byPaymentStatus = new EnumMap<>(PaymentStatus.class);
+        current.byPaymentStatus.forEach((status, count) -> byPaymentStatus.put(status, count.sum()));
+
+        Map<Long, BucketSnapshot> byRestaurant = new HashMap<>();
+        current.byRestaurant.forEach((id, bucket) -> byRestaurant.put(id, bucket.snapshot()));
+
+        LocalDate cutoff = LocalDate.now().minusDays(RETAINED_DAYS - 1);
+        Map<LocalDate, BucketSnapshot> byDay = new HashMap<>();
+        current.byDay.forEach((day, bucket) -> {
+            if (!day.isBefore(cutoff)) {
+                byDay.put(day, bucket.snapshot());
+            }
+        });
+
+        return new Snapshot(
+                current.totalOrders.sum(),
+                current.totalAmount.get(),
+                current.totalRevenue.get(),
+                byStatus,
+                byPaymentStatus,
+                byRestaurant,
+                byDay);
+    }
+
+    private static BigDecimal amount(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    /**
+     * Point-in-time copy of the counters.
+     */
+    public record Snapshot(
+            long totalOrders,
+            BigDecimal totalAmount,
+            BigDecimal totalRevenue,
+            Map<OrderStatus, Long> ordersByStatus,
+            Map<PaymentStatus, Long> paymentsByStatus,
+            Map<Long, BucketSnapshot> byRestaurant,
+            Map<LocalDate, BucketSnapshot> byDay) {
+
+        public long ordersWithStatus(OrderStatus status) {
+            return ordersByStatus.getOrDefault(status, 0L);
+        }
+
+        public BucketSnapshot day(LocalDate date) {
+            return byDay.getOrDefault(date, BucketSnapshot.EMPTY);
+        }
+
+        public BucketSnapshot restaurant(Long restaurantId) {
+            return byRestaurant.getOrDefault(restaurantId, BucketSnapshot.EMPTY);
+        }
+
+        /**
+         * Sum of day buckets from {@code from} up to and including today.
+         */
+        public BucketSnapshot since(LocalDate from) {
+            long orders = 0;
+            long paidOrders = 0;
+            BigDecimal revenue = BigDecimal.ZERO;
+            for (Map.Entry<LocalDate, BucketSnapshot> entry : byDay.entrySet()) {
+                if (!entry.getKey().isBefore(from)) {
+                    orders += entry.getValue().orders();
+                    paidOrders += entry.getValue().paidOrders();
+                    revenue = revenue.add(entry.getValue().revenue());
+                }
+            }
+            return new BucketSnapshot(orders, paidOrders, revenue);
+        }
+    }
+
+    /**
+     * Order count, paid order count and paid revenue for one restaurant or day.
+     */
+    public record BucketSnapshot(long orders, long paidOrders, BigDecimal revenue) {
+        static final BucketSnapshot EMPTY = new BucketSnapshot(0, 0, BigDecimal.ZERO);
+    }
+
+    private static final class Aggregates {
+        final LongAdder totalOrders = new LongAdder();
+        final AtomicReference<BigDecimal> totalAmount = new AtomicReference<>(BigDecimal.ZERO);
+        final AtomicReference<BigDecimal> totalRevenue = new AtomicReference<>(BigDecimal.ZERO);
+        final Map<OrderStatus, LongAdder> byStatus = new EnumMap<>(OrderStatus.class);
+        final Map<PaymentStatus, LongAdder> byPaymentStatus = new EnumMap<>(PaymentStatus.class);
+        final ConcurrentHashMap<Long, Bucket> byRestaurant = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<LocalDate, Bucket> byDay = new ConcurrentHashMap<>();
+
+        Aggregates() {
+            // Maps are fully populated up front and never structurally modified afterwards
+            for (OrderStatus status : OrderStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+            for (PaymentStatus status : PaymentStatus.values()) {
+                byPaymentStatus.put(status, new LongAdder());
+            }
+        }
+
+        Bucket restaurant(Long restaurantId) {
+            return byRestaurant.computeIfAbsent(restaurantId, id -> new Bucket());
+        }
+
+        Bucket day(LocalDate date) {
+            return byDay.computeIfAbsent(date, d -> new Bucket());
+        }
+    }
+
+    private static final class Bucket {
+        final LongAdder orders = new LongAdder();
+        final LongAdder paidOrders = new LongAdder();
+        final AtomicReference<BigDecimal> revenue = new AtomicReference<>(BigDecimal.ZERO);
+
+        void add(int paidDelta, BigDecimal revenueDelta) {
+            paidOrders.add(paidDelta);
+            revenue.accumulateAndGet(revenueDelta, BigDecimal::add);
+        }
+
+        BucketSnapshot snapshot() {
+            return new BucketSnapshot(orders.sum(), paidOrders.sum(), revenue.get());
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.ankit14.fooddeliverybackend.service;
 
 import com.ankit14.fooddeliverybackend.dto.analytics.*;
-import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.exception.BadRequestException;
 import com.ankit14.fooddeliverybackend.model.OrderStatus;
-import com.ankit14.fooddeliverybackend.model.Payment;
-import com.ankit14.fooddeliverybackend.model.PaymentStatus;
 import com.ankit14.fooddeliverybackend.repository.*;
+import com.ankit14.fooddeliverybackend.repository.projection.DailyAggregate;
+import com.ankit14.fooddeliverybackend.repository.projection.OrderExportRow;
+import com.ankit14.fooddeliverybackend.repository.projection.RestaurantCount;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,9 +16,9 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service for analytics and reporting.
@@ -25,40 +27,28 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AnalyticsService {
 
+        // One row per day is returned, so the range is capped at a year
+        static final int MAX_REVENUE_DAYS = 366;
+
         private final OrderRepository orderRepository;
         private final UserRepository userRepository;
         private final RestaurantRepository restaurantRepository;
         private final MenuItemRepository menuItemRepository;
+        private final OrderItemRepository orderItemRepository;
+        private final AnalyticsAggregateStore aggregateStore;
 
         @Transactional(readOnly = true)
         public DashboardStatsResponse getDashboardStats() {
-                List<Order> allOrders = orderRepository.findAll();
-
-                long totalOrders = allOrders.size();
-                long pendingOrders = allOrders.stream()
-                                .filter(o -> o.getStatus() == OrderStatus.PLACED
-                                                || o.getStatus() == OrderStatus.CONFIRMED)
-                                .count();
-                long completedOrders = allOrders.stream()
-                                .filter(o -> o.getStatus() == OrderStatus.DELIVERED)
-                                .count();
-                long cancelledOrders = allOrders.stream()
-                                .filter(o -> o.getStatus() == OrderStatus.CANCELLED)
-                                .count();
+                AnalyticsAggregateStore.Snapshot snapshot = aggregateStore.snapshot();
 
-                BigDecimal totalRevenue = allOrders.stream()
-                                .filter(o -> o.getPayment() != null
-                                                && o.getPayment().getStatus() == PaymentStatus.SUCCESS)
-                                .map(Order::getTotalAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                long totalOrders = snapshot.totalOrders();
+                long pendingOrders = snapshot.ordersWithStatus(OrderStatus.PLACED)
+                                + snapshot.ordersWithStatus(OrderStatus.CONFIRMED);
+                long completedOrders = snapshot.ordersWithStatus(OrderStatus.DELIVERED);
+                long cancelledOrders = snapshot.ordersWithStatus(OrderStatus.CANCELLED);
 
-                LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-                BigDecimal todayRevenue = allOrders.stream()
-                                .filter(o -> o.getPayment() != null
-                                                && o.getPayment().getStatus() == PaymentStatus.SUCCESS)
-                                .filter(o -> o.getCreatedAt().isAfter(todayStart))
-                                .map(Order::getTotalAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                BigDecimal totalRevenue = snapshot.totalRevenue();
+                BigDecimal todayRevenue = snapshot.day(LocalDate.now()).revenue();
 
                 double avgOrderValue = totalOrders > 0
                                 ? totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
@@ -79,153 +69,102 @@ public class AnalyticsService {
                                 .build();
         }
 
-        @Transactional(readOnly = true)
         public OrderStatsResponse getOrderStats() {
-                List<Order> allOrders = orderRepository.findAll();
+                AnalyticsAggregateStore.Snapshot snapshot = aggregateStore.snapshot();
 
-                Map<String, Long> ordersByStatus = allOrders.stream()
-                                .collect(Collectors.groupingBy(
-                                                o -> o.getStatus().name(),
-                                                Collectors.counting()));
-
-                Map<String, Long> ordersByPaymentStatus = allOrders.stream()
-                                .filter(o -> o.getPayment() != null)
-                                .collect(Collectors.groupingBy(
-                                                o -> o.getPayment().getStatus().name(),
-                                                Collectors.counting()));
+                Map<String, Long> ordersByStatus = new LinkedHashMap<>();
+                snapshot.ordersByStatus().forEach((status, count) -> {
+                        if (count > 0) {
+                                ordersByStatus.put(status.name(), count);
+                        }
+                });
 
-                BigDecimal totalAmount = allOrders.stream()
-                                .map(Order::getTotalAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                Map<String, Long> ordersByPaymentStatus = new LinkedHashMap<>();
+                snapshot.paymentsByStatus().forEach((status, count) -> {
+                        if (count > 0) {
+                                ordersByPaymentStatus.put(status.name(), count);
+                        }
+                });
 
-                double avgOrderValue = !allOrders.isEmpty()
-                                ? totalAmount.divide(BigDecimal.valueOf(allOrders.size()), 2, RoundingMode.HALF_UP)
+                long totalOrders = snapshot.totalOrders();
+                double avgOrderValue = totalOrders > 0
+                                ? snapshot.totalAmount().divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
                                                 .doubleValue()
                                 : 0.0;
 
-                LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-                LocalDateTime weekStart = LocalDate.now().minusDays(7).atStartOfDay();
-                LocalDateTime monthStart = LocalDate.now().minusDays(30).atStartOfDay();
-
-                long todayOrders = allOrders.stream().filter(o -> o.getCreatedAt().isAfter(todayStart)).count();
-                long weekOrders = allOrders.stream().filter(o -> o.getCreatedAt().isAfter(weekStart)).count();
-                long monthOrders = allOrders.stream().filter(o -> o.getCreatedAt().isAfter(monthStart)).count();
+                LocalDate today = LocalDate.now();
 
                 return OrderStatsResponse.builder()
-                                .totalOrders((long) allOrders.size())
+                                .totalOrders(totalOrders)
                                 .ordersByStatus(ordersByStatus)
                                 .ordersByPaymentStatus(ordersByPaymentStatus)
                                 .averageOrderValue(avgOrderValue)
-                                .todayOrders(todayOrders)
-                                .weekOrders(weekOrders)
-                                .monthOrders(monthOrders)
+                                .todayOrders(snapshot.since(today).orders())
+                                .weekOrders(snapshot.since(today.minusDays(7)).orders())
+                                .monthOrders(snapshot.since(today.minusDays(30)).orders())
                                 .build();
         }
 
         @Transactional(readOnly = true)
-        public RevenueStatsResponse getRevenueStats() {
-                List<Order> paidOrders = orderRepository.findAll().stream()
-                                .filter(o -> o.getPayment() != null
-                                                && o.getPayment().getStatus() == PaymentStatus.SUCCESS)
-                                .toList();
-
-                BigDecimal totalRevenue = paidOrders.stream()
-                                .map(Order::getTotalAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-                LocalDateTime weekStart = LocalDate.now().minusDays(7).atStartOfDay();
-                LocalDateTime monthStart = LocalDate.now().minusDays(30).atStartOfDay();
-
-                BigDecimal todayRevenue = paidOrders.stream()
-                                .filter(o -> o.getCreatedAt().isAfter(todayStart))
-                                .map(Order::getTotalAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal weeklyRevenue = paidOrders.stream()
-                                .filter(o -> o.getCreatedAt().isAfter(weekStart))
-                                .map(Order::getTotalAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal monthlyRevenue = paidOrders.stream()
-                                .filter(o -> o.getCreatedAt().isAfter(monthStart))
-                                .map(Order::getTotalAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        public RevenueStatsResponse getRevenueStats(int days) {
+                if (days < 1 || days > MAX_REVENUE_DAYS) {
+                        throw new BadRequestException("days must be between 1 and " + MAX_REVENUE_DAYS);
+                }
+                AnalyticsAggregateStore.Snapshot snapshot = aggregateStore.snapshot();
+                LocalDate today = LocalDate.now();
+                LocalDate firstDay = today.minusDays(days - 1L);
+
+                // Days beyond the in-memory window are bucketed by the database instead
+                Map<LocalDate, DailyAggregate> sqlDays = null;
+                if (days > AnalyticsAggregateStore.RETAINED_DAYS) {
+                        sqlDays = new HashMap<>();
+                        for (DailyAggregate row : orderRepository.aggregatePaidByDaySince(firstDay.atStartOfDay())) {
+                                sqlDays.put(row.getDay(), row);
+                        }
+                }
 
-                // Daily revenue for last 7 days
                 List<RevenueStatsResponse.DailyRevenue> dailyRevenues = new ArrayList<>();
-                for (int i = 6; i >= 0; i--) {
-                        LocalDate date = LocalDate.now().minusDays(i);
-                        LocalDateTime dayStart = date.atStartOfDay();
-                        LocalDateTime dayEnd = date.atTime(LocalTime.MAX);
-
-                        List<Order> dayOrders = paidOrders.stream()
-                                        .filter(o -> o.getCreatedAt().isAfter(dayStart)
-                                                        && o.getCreatedAt().isBefore(dayEnd))
-                                        .toList();
-
-                        BigDecimal dayRevenue = dayOrders.stream()
-                                        .map(Order::getTotalAmount)
-                                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
+                for (LocalDate date = firstDay; !date.isAfter(today); date = date.plusDays(1)) {
+                        BigDecimal revenue = BigDecimal.ZERO;
+                        long orderCount = 0;
+                        if (sqlDays == null) {
+                                AnalyticsAggregateStore.BucketSnapshot day = snapshot.day(date);
+                                revenue = day.revenue();
+                                orderCount = day.paidOrders();
+                        } else if (sqlDays.containsKey(date)) {
+                                DailyAggregate day = sqlDays.get(date);
+                                revenue = day.getTotalAmount();
+                                orderCount = day.getOrderCount();
+                        }
                         dailyRevenues.add(RevenueStatsResponse.DailyRevenue.builder()
                                         .date(date)
-                                        .revenue(dayRevenue)
-                                        .orderCount((long) dayOrders.size())
+                                        .revenue(revenue)
+                                        .orderCount(orderCount)
                                         .build());
                 }
 
                 return RevenueStatsResponse.builder()
-                                .totalRevenue(totalRevenue)
-                                .monthlyRevenue(monthlyRevenue)
-                                .weeklyRevenue(weeklyRevenue)
-                                .todayRevenue(todayRevenue)
+                                .totalRevenue(snapshot.totalRevenue())
+                                .monthlyRevenue(snapshot.since(today.minusDays(30)).revenue())
+                                .weeklyRevenue(snapshot.since(today.minusDays(7)).revenue())
+                                .todayRevenue(snapshot.day(today).revenue())
                                 .dailyRevenues(dailyRevenues)
                                 .build();
         }
 
         @Transactional(readOnly = true)
         public PopularItemsResponse getPopularItems(int limit) {
-                List<Order> completedOrders = orderRepository.findAll().stream()
-                                .filter(o -> o.getPayment() != null
-                                                && o.getPayment().getStatus() == PaymentStatus.SUCCESS)
-                                .toList();
-
-                // Count orders per menu item
-                Map<Long, Long> itemOrderCounts = new HashMap<>();
-                Map<Long, BigDecimal> itemRevenues = new HashMap<>();
-
-                for (Order order : completedOrders) {
-                        for (var item : order.getItems()) {
-                                Long itemId = item.getMenuItem().getId();
-                                itemOrderCounts.merge(itemId, (long) item.getQuantity(), Long::sum);
-                                BigDecimal itemTotal = item.getUnitPrice()
-                                                .multiply(BigDecimal.valueOf(item.getQuantity()));
-                                itemRevenues.merge(itemId, itemTotal, BigDecimal::add);
-                        }
-                }
-
-                // Sort by order count and take top items
-                List<PopularItemsResponse.PopularItem> popularItems = itemOrderCounts.entrySet().stream()
-                                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
-                                .limit(limit)
-                                .map(entry -> {
-                                        var menuItem = menuItemRepository.findById(entry.getKey()).orElse(null);
-                                        if (menuItem == null)
-                                                return null;
-
-                                        return PopularItemsResponse.PopularItem.builder()
-                                                        .menuItemId(menuItem.getId())
-                                                        .name(menuItem.getName())
-                                                        .restaurantName(menuItem.getRestaurant().getName())
-                                                        .price(menuItem.getPrice())
-                                                        .orderCount(entry.getValue())
-                                                        .totalRevenue(itemRevenues.getOrDefault(entry.getKey(),
-                                                                        BigDecimal.ZERO))
-                                                        .imageUrl(menuItem.getImageUrl())
-                                                        .build();
-                                })
-                                .filter(Objects::nonNull)
+                List<PopularItemsResponse.PopularItem> popularItems = orderItemRepository
+                                .findTopSellingItems(PageRequest.of(0, limit)).stream()
+                                .map(item -> PopularItemsResponse.PopularItem.builder()
+                                                .menuItemId(item.getMenuItemId())
+                                                .name(item.getName())
+                                                .restaurantName(item.getRestaurantName())
+                                                .price(item.getPrice())
+                                                .orderCount(item.getQuantity())
+                                                .totalRevenue(item.getRevenue())
+                                                .imageUrl(item.getImageUrl())
+                                                .build())
                                 .toList();
 
                 return PopularItemsResponse.builder()
@@ -235,30 +174,26 @@ public class AnalyticsService {
 
         @Transactional(readOnly = true)
         public RestaurantStatsResponse getRestaurantStats() {
+                AnalyticsAggregateStore.Snapshot snapshot = aggregateStore.snapshot();
                 var restaurants = restaurantRepository.findAll();
-                List<Order> allOrders = orderRepository.findAll();
+
+                Map<Long, Long> menuItemCounts = new HashMap<>();
+                for (RestaurantCount row : menuItemRepository.countByRestaurant()) {
+                        menuItemCounts.put(row.getRestaurantId(), row.getCount());
+                }
 
                 List<RestaurantStatsResponse.RestaurantStats> stats = restaurants.stream()
                                 .map(restaurant -> {
-                                        List<Order> restaurantOrders = allOrders.stream()
-                                                        .filter(o -> o.getRestaurant().getId()
-                                                                        .equals(restaurant.getId()))
-                                                        .toList();
-
-                                        BigDecimal revenue = restaurantOrders.stream()
-                                                        .filter(o -> o.getPayment() != null
-                                                                        && o.getPayment()
-                                                                                        .getStatus() == PaymentStatus.SUCCESS)
-                                                        .map(Order::getTotalAmount)
-                                                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                                        AnalyticsAggregateStore.BucketSnapshot bucket = snapshot
+                                                        .restaurant(restaurant.getId());
 
                                         return RestaurantStatsResponse.RestaurantStats.builder()
                                                         .restaurantId(restaurant.getId())
                                                         .name(restaurant.getName())
-                                                        .totalOrders((long) restaurantOrders.size())
-                                                        .totalRevenue(revenue)
+                                                        .totalOrders(bucket.orders())
+                                                        .totalRevenue(bucket.revenue())
                                                         .averageRating(restaurant.getRating())
-                                                        .menuItemCount((long) restaurant.getMenuItems().size())
+                                                        .menuItemCount(menuItemCounts.getOrDefault(restaurant.getId(), 0L))
                                                         .isOpen(restaurant.getIsOpen())
                                                         .build();
                                 })
@@ -269,4 +204,41 @@ public class AnalyticsService {
                                 .restaurants(stats)
                                 .build();
         }
+
+        /**
+         * Every order placed in the last {@code days} days, oldest first, handed
+         * to {@code sink} one row at a time as it is read from a database cursor.
+         * Rows are projections, not entities, so nothing builds up in the
+         * persistence context.
+         */
+        @Transactional(readOnly = true)
+        public void exportOrders(int days, Consumer<? super OrderExportResponse> sink) {
+                if (days < 1) {
+                        throw new BadRequestException("days must be at least 1");
+                }
+                LocalDateTime since = LocalDate.now().minusDays(days - 1L).atStartOfDay();
+                try (Stream<OrderExportRow> rows = orderRepository.streamExportRowsSince(since)) {
+                        rows.forEach(row -> sink.accept(OrderExportResponse.builder()
+                                        .orderId(row.getOrderId())
+                                        .orderNumber(row.getOrderNumber())
+                                        .createdAt(row.getCreatedAt())
+                                        .status(row.getStatus().name())
+                                        .restaurantId(row.getRestaurantId())
+                                        .restaurantName(row.getRestaurantName())
+                                        .customerId(row.getCustomerId())
+                                        .subtotal(row.getSubtotal())
+                                        .deliveryFee(row.getDeliveryFee())
+                                        .tax(row.getTax())
+                                        .totalAmount(row.getTotalAmount())
+                                        .paymentStatus(row.getPaymentStatus() != null
+                                                        ? row.getPaymentStatus().name()
+                                                        : null)
+                                        .deliveredAt(row.getDeliveredAt())
+                                        .build()));
+                }
+        }
+
+        public void rebuildAggregates() {
+                aggregateStore.rebuild();
+        }
 }
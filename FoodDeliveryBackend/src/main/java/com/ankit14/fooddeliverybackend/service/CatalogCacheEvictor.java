@@ -0,0 +1,68 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached restaurant responses and refreshes menu snapshots after
+ * catalog writes.
+ * <p>
+ * Single-entry caches are evicted by key; listing caches whose keys cannot be
+ * derived from the changed row (pages, top rated) are cleared.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final MenuSnapshotStore menuSnapshotStore;
+
+    /**
+     * A restaurant row changed: its detail entry and every restaurant listing.
+     */
+    public void evictRestaurant(Long restaurantId) {
+        evict(CacheConfig.RESTAURANT, restaurantId);
+        clear(CacheConfig.RESTAURANT_PAGES);
+        clear(CacheConfig.TOP_RATED_RESTAURANTS);
+        evict(CacheConfig.CATALOG_VERSIONS, CatalogVersions.RESTAURANTS);
+    }
+
+    /**
+     * A menu item of the restaurant changed: the restaurant's menu snapshot.
+     */
+    public void evictMenus(Long restaurantId) {
+        menuSnapshotStore.refresh(restaurantId);
+        evict(CacheConfig.CATALOG_VERSIONS, CatalogVersions.MENU_ITEMS);
+    }
+
+    /**
+     * Data embedded in every menu item (e.g. a category name) changed.
+     */
+    public void clearMenus() {
+        menuSnapshotStore.refreshAll();
+    }
+
+    /**
+     * A category row changed.
+     */
+    public void evictCategories() {
+        evict(CacheConfig.CATALOG_VERSIONS, CatalogVersions.CATEGORIES);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.config.CacheConfig;
+import com.ankit14.fooddeliverybackend.repository.CategoryRepository;
+import com.ankit14.fooddeliverybackend.repository.MenuItemRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.projection.TableVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Versions of the public catalog for HTTP cache validation, cheap enough to
+ * check before a response is built.
+ * <p>
+ * A table's version is its row count and latest {@code updated_at}. Versions
+ * are cached briefly ({@code cache.specs.catalogVersions}) and evicted along
+ * with the other catalog caches by {@link CatalogCacheEvictor}, so a write
+ * through this instance is reflected at once and one through another instance
+ * within the cache's lifetime.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogVersions {
+
+    public static final String RESTAURANTS = "restaurants";
+    public static final String MENU_ITEMS = "menuItems";
+    public static final String CATEGORIES = "categories";
+
+    private final CacheManager cacheManager;
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final CategoryRepository categoryRepository;
+
+    public String restaurants() {
+        return version(RESTAURANTS, restaurantRepository::findTableVersion);
+    }
+
+    public String categories() {
+        return version(CATEGORIES, categoryRepository::findTableVersion);
+    }
+
+    /**
+     * Menu items embed their restaurant's and category's names, so all three
+     * tables count.
+     */
+    public String menus() {
+        return version(MENU_ITEMS, menuItemRepository::findTableVersion) + "." + restaurants() + "." + categories();
+    }
+
+    private String version(String table, Supplier<TableVersion> query) {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.CATALOG_VERSIONS))
+                .get(table, () -> format(query.get()));
+    }
+
+    private static String format(TableVersion version) {
+        long lastModified = version.getLastModified() != null
+                ? version.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0;
+        return version.getRowCount() + "-" + Long.toString(lastModified, 36);
+    }
+}
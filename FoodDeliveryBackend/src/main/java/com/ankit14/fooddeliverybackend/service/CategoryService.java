@@ -2,11 +2,15 @@ package com.ankit14.fooddeliverybackend.service;
 
 import com.ankit14.fooddeliverybackend.dto.category.CategoryRequest;
 import com.ankit14.fooddeliverybackend.dto.category.CategoryResponse;
+import com.ankit14.fooddeliverybackend.event.MenuItemChangedEvent;
 import com.ankit14.fooddeliverybackend.exception.BadRequestException;
 import com.ankit14.fooddeliverybackend.exception.ResourceNotFoundException;
 import com.ankit14.fooddeliverybackend.model.Category;
+import com.ankit14.fooddeliverybackend.model.MenuItem;
 import com.ankit14.fooddeliverybackend.repository.CategoryRepository;
+import com.ankit14.fooddeliverybackend.repository.MenuItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +25,9 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final CatalogCacheEvictor catalogCacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<CategoryResponse> getAllCategories() {
         return categoryRepository.findByIsActiveTrue().stream()
@@ -48,6 +55,7 @@ public class CategoryService {
                 .build();
 
         category = categoryRepository.save(category);
+        catalogCacheEvictor.evictCategories();
         return mapToResponse(category);
     }
 
@@ -61,6 +69,13 @@ public class CategoryService {
         category.setImageUrl(request.getImageUrl());
 
         category = categoryRepository.save(category);
+        catalogCacheEvictor.evictCategories();
+        // Cached and indexed menu items embed the category name
+        catalogCacheEvictor.clearMenus();
+        for (MenuItem item : menuItemRepository.findByCategoryIdAndIsAvailableTrue(id)) {
+            eventPublisher.publishEvent(new MenuItemChangedEvent(
+                    item.getId(), item.getName(), category.getName(), item.getDescription(), true));
+        }
         return mapToResponse(category);
     }
 
@@ -70,6 +85,7 @@ public class CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
         category.setIsActive(false);
         categoryRepository.save(category);
+        catalogCacheEvictor.evictCategories();
     }
 
     private CategoryResponse mapToResponse(Category category) {
@@ -2,6 +2,7 @@ package com.ankit14.fooddeliverybackend.service;
 
 import com.ankit14.fooddeliverybackend.dto.menu.MenuItemRequest;
 import com.ankit14.fooddeliverybackend.dto.menu.MenuItemResponse;
+import com.ankit14.fooddeliverybackend.event.MenuItemChangedEvent;
 import com.ankit14.fooddeliverybackend.exception.ResourceNotFoundException;
 import com.ankit14.fooddeliverybackend.model.Category;
 import com.ankit14.fooddeliverybackend.model.MenuItem;
@@ -9,15 +10,23 @@ import com.ankit14.fooddeliverybackend.model.Restaurant;
 import com.ankit14.fooddeliverybackend.repository.CategoryRepository;
 import com.ankit14.fooddeliverybackend.repository.MenuItemRepository;
 import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.service.search.SearchBackend;
+import com.ankit14.fooddeliverybackend.service.search.SearchResult;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for menu item operations.
@@ -29,41 +38,72 @@ public class MenuService {
     private final MenuItemRepository menuItemRepository;
     private final RestaurantRepository restaurantRepository;
     private final CategoryRepository categoryRepository;
-
-    @Transactional(readOnly = true)
-    public List<MenuItemResponse> getMenuItemsByRestaurant(Long restaurantId) {
-        return menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    private final CatalogCacheEvictor catalogCacheEvictor;
+    private final MenuSnapshotStore menuSnapshotStore;
+    private final SearchBackend searchBackend;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    /**
+     * The restaurant's available items, pre-serialized.
+     */
+    public MenuSnapshotStore.Body getMenuItemsByRestaurant(Long restaurantId) {
+        return menuSnapshotStore.get(restaurantId, MenuSnapshotStore.View.AVAILABLE);
     }
 
     @Transactional(readOnly = true)
     public List<MenuItemResponse> getAllMenuItemsByRestaurant(Long restaurantId) {
         return menuItemRepository.findByRestaurantId(restaurantId).stream()
-                .map(this::mapToResponse)
+                .map(MenuService::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Every menu item of every restaurant, by id, handed to {@code sink} one
+     * at a time as it is read from a database cursor. The persistence context
+     * is cleared every {@value #EXPORT_BATCH_SIZE} items, so memory stays flat
+     * however large the catalog is.
+     */
     @Transactional(readOnly = true)
-    public List<MenuItemResponse> getVegItemsByRestaurant(Long restaurantId) {
-        return menuItemRepository.findVegItemsByRestaurant(restaurantId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public void exportAllMenuItems(Consumer<? super MenuItemResponse> sink) {
+        try (Stream<MenuItem> items = menuItemRepository.streamAllWithDetails()) {
+            int count = 0;
+            for (MenuItem item : (Iterable<MenuItem>) items::iterator) {
+                sink.accept(mapToResponse(item));
+                if (++count % EXPORT_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
-    @Transactional(readOnly = true)
-    public List<MenuItemResponse> getBestsellersByRestaurant(Long restaurantId) {
-        return menuItemRepository.findBestsellersByRestaurant(restaurantId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public MenuSnapshotStore.Body getVegItemsByRestaurant(Long restaurantId) {
+        return menuSnapshotStore.get(restaurantId, MenuSnapshotStore.View.VEG);
+    }
+
+    public MenuSnapshotStore.Body getBestsellersByRestaurant(Long restaurantId) {
+        return menuSnapshotStore.get(restaurantId, MenuSnapshotStore.View.BESTSELLERS);
     }
 
     @Transactional(readOnly = true)
     public List<MenuItemResponse> searchMenuItems(String query, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<MenuItem> items = menuItemRepository.searchMenuItems(query, pageable);
-        return items.getContent().stream()
-                .map(this::mapToResponse)
+        SearchResult result = searchBackend.searchMenuItems(query, pageable);
+        if (result.ids().isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, MenuItem> itemsById = new HashMap<>();
+        menuItemRepository.findAllWithRestaurantByIdIn(result.ids())
+                .forEach(item -> itemsById.put(item.getId(), item));
+
+        // Keep the relevance order
+        return result.ids().stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .map(MenuService::mapToResponse)
                 .collect(Collectors.toList());
     }
 
@@ -99,6 +139,8 @@ public class MenuService {
                 .build();
 
         menuItem = menuItemRepository.save(menuItem);
+        catalogCacheEvictor.evictMenus(menuItem.getRestaurant().getId());
+        publishSearchUpdate(menuItem, menuItem.getIsAvailable());
         return mapToResponse(menuItem);
     }
 
@@ -126,6 +168,8 @@ public class MenuService {
             menuItem.setPreparationTime(request.getPreparationTime());
 
         menuItem = menuItemRepository.save(menuItem);
+        catalogCacheEvictor.evictMenus(menuItem.getRestaurant().getId());
+        publishSearchUpdate(menuItem, menuItem.getIsAvailable());
         return mapToResponse(menuItem);
     }
 
@@ -135,17 +179,26 @@ public class MenuService {
                 .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", id));
         menuItem.setIsAvailable(isAvailable);
         menuItemRepository.save(menuItem);
+        catalogCacheEvictor.evictMenus(menuItem.getRestaurant().getId());
+        publishSearchUpdate(menuItem, isAvailable);
     }
 
     @Transactional
     public void deleteMenuItem(Long id) {
-        if (!menuItemRepository.existsById(id)) {
-            throw new ResourceNotFoundException("MenuItem", "id", id);
-        }
-        menuItemRepository.deleteById(id);
+        MenuItem menuItem = menuItemRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", id));
+        menuItemRepository.delete(menuItem);
+        catalogCacheEvictor.evictMenus(menuItem.getRestaurant().getId());
+        publishSearchUpdate(menuItem, false);
+    }
+
+    private void publishSearchUpdate(MenuItem menuItem, boolean searchable) {
+        eventPublisher.publishEvent(new MenuItemChangedEvent(menuItem.getId(), menuItem.getName(),
+                menuItem.getCategory() != null ? menuItem.getCategory().getName() : null,
+                menuItem.getDescription(), searchable));
     }
 
-    private MenuItemResponse mapToResponse(MenuItem menuItem) {
+    static MenuItemResponse mapToResponse(MenuItem menuItem) {
         return MenuItemResponse.builder()
                 .id(menuItem.getId())
                 .name(menuItem.getName())
@@ -0,0 +1,258 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.dto.common.ApiResponse;
+import com.ankit14.fooddeliverybackend.dto.menu.MenuItemResponse;
+import com.ankit14.fooddeliverybackend.repository.MenuItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Public restaurant menus, pre-serialized into versioned snapshots.
+ * <p>
+ * A snapshot holds a restaurant's available items, its vegetarian items and
+ * its bestsellers, each as the finished JSON response with a strong ETag
+ * hashed from the items, so a read is a cache lookup and the bytes are written
+ * out as they are. Bodies above {@code server.compression.min-response-size}
+ * also keep a gzip copy: Tomcat does not compress responses with a strong
+ * ETag, and compressing once per build is cheaper than per request. A menu is built on its first request and rebuilt on a
+ * virtual thread after each committed write that touches it; until the
+ * rebuild lands the previous snapshot is served. Rebuild requests for a
+ * restaurant that already has one queued are coalesced.
+ * <p>
+ * Every build takes a version number before it reads, and a snapshot is only
+ * replaced by a higher version, so a slow build can never overwrite a newer
+ * menu. Snapshots are bounded by total size and expire after a TTL, which also
+ * bounds how long a write made through another instance goes unseen.
+ */
+@Component
+@Slf4j
+public class MenuSnapshotStore {
+
+    /**
+     * The menu lists served from a snapshot.
+     */
+    public enum View {
+        AVAILABLE, VEG, BESTSELLERS
+    }
+
+    /**
+     * A serialized response and its ETag.
+     *
+     * @param gzip the response gzip-compressed, or null if it is too small to be worth it
+     */
+    public record Body(byte[] json, byte[] gzip, String etag) {
+
+        /**
+         * The ETag of the gzip copy, which as a strong tag must differ from the uncompressed one.
+         */
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        int size() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private record Snapshot(long version, Body available, Body veg, Body bestsellers) {
+
+        Body body(View view) {
+            return switch (view) {
+                case AVAILABLE -> available;
+                case VEG -> veg;
+                case BESTSELLERS -> bestsellers;
+            };
+        }
+
+        int size() {
+            return available.size() + veg.size() + bestsellers.size();
+        }
+    }
+
+    private final MenuItemRepository menuItemRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Snapshot> snapshots;
+    // Smallest body given a gzip copy, or -1 with compression off
+    private final long minCompressSize;
+
+    private final AtomicLong versions = new AtomicLong();
+    // Builds that started before the last refreshAll() are served once but never stored
+    private volatile long refreshedAllAt;
+    private final Map<Long, CompletableFuture<Snapshot>> loading = new ConcurrentHashMap<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final ExecutorService rebuilder = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("menu-snapshot-", 0).factory());
+
+    public MenuSnapshotStore(MenuItemRepository menuItemRepository, ObjectMapper objectMapper,
+            @Value("${menu-snapshot.max-size:256MB}") DataSize maxSize,
+            @Value("${menu-snapshot.ttl:10m}") Duration ttl,
+            @Value("${server.compression.enabled:false}") boolean compressionEnabled,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minCompressSize) {
+        this.menuItemRepository = menuItemRepository;
+        this.objectMapper = objectMapper;
+        this.minCompressSize = compressionEnabled ? minCompressSize.toBytes() : -1;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<Long, Snapshot>weigher((restaurantId, snapshot) -> snapshot.size())
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * The restaurant's menu, building it on a miss. Concurrent misses for the
+     * same restaurant share one build.
+     */
+    public Body get(Long restaurantId, View view) {
+        Snapshot snapshot = snapshots.getIfPresent(restaurantId);
+        if (snapshot == null) {
+            snapshot = load(restaurantId);
+        }
+        return snapshot.body(view);
+    }
+
+    /**
+     * Rebuild the restaurant's menu once the current transaction commits, or
+     * now if there is none.
+     */
+    public void refresh(Long restaurantId) {
+        afterCommit(() -> {
+            if (queued.add(restaurantId)) {
+                rebuilder.execute(() -> {
+                    // Writes committed from here on queue another rebuild
+                    queued.remove(restaurantId);
+                    try {
+                        build(restaurantId);
+                    } catch (RuntimeException e) {
+                        // The old snapshot could be stale now, so stop serving it
+                        snapshots.invalidate(restaurantId);
+                        log.error("Rebuilding the menu of restaurant {} failed", restaurantId, e);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Rebuild every stored menu once the current transaction commits, after a
+     * change to data embedded in all of them (e.g. a category name).
+     */
+    public void refreshAll() {
+        afterCommit(() -> {
+            refreshedAllAt = versions.incrementAndGet();
+            snapshots.asMap().keySet().forEach(this::refresh);
+        });
+    }
+
+    private Snapshot load(Long restaurantId) {
+        CompletableFuture<Snapshot> pending = new CompletableFuture<>();
+        CompletableFuture<Snapshot> inFlight = loading.putIfAbsent(restaurantId, pending);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+        try {
+            pending.complete(build(restaurantId));
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(restaurantId, pending);
+        }
+        return pending.join();
+    }
+
+    private Snapshot build(Long restaurantId) {
+        long version = versions.incrementAndGet();
+        List<MenuItemResponse> items = menuItemRepository.findAvailableWithDetailsByRestaurantId(restaurantId)
+                .stream()
+                .map(MenuService::mapToResponse)
+                .toList();
+        Snapshot built = new Snapshot(version,
+                serialize(items),
+                serialize(filter(items, item -> Boolean.TRUE.equals(item.getIsVeg()))),
+                serialize(filter(items, item -> Boolean.TRUE.equals(item.getIsBestseller()))));
+        if (version <= refreshedAllAt) {
+            return built;
+        }
+        return snapshots.asMap().merge(restaurantId, built,
+                (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+    }
+
+    private Body serialize(List<MenuItemResponse> items) {
+        try {
+            // The ETag covers only the items, so it survives rebuilds and matches across instances
+            byte[] digest = sha256(objectMapper.writeValueAsBytes(items));
+            String etag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(items));
+            return new Body(json, minCompressSize >= 0 && json.length >= minCompressSize ? gzip(json) : null, etag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize menu", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static List<MenuItemResponse> filter(List<MenuItemResponse> items, Predicate<MenuItemResponse> test) {
+        return items.stream().filter(test).toList();
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
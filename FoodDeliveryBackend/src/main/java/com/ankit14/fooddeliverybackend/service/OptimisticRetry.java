@@ -0,0 +1,74 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and runs it again, from a fresh
+ * read, when it loses a race with a concurrent writer: a stale {@code @Version},
+ * a compare-and-set status update that matched no row, or a lock timeout.
+ * <p>
+ * Rows are never locked for reading, so a conflict costs a rollback and a
+ * short jittered pause rather than blocking the other writer. When attempts
+ * run out the {@link ConcurrencyFailureException} propagates and the client
+ * gets 409 Conflict. Called inside an existing transaction the work runs once,
+ * since only the outermost transaction can be rolled back and retried.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OptimisticRetry {
+
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${optimistic-retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${optimistic-retry.backoff:5ms}")
+    private Duration backoff;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Concurrent update on attempt {}, retrying: {}", attempt, e.getMessage());
+                // Linear backoff with full jitter, so the conflicting writers do not collide again
+                long pause = backoff.toNanos() * attempt;
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(pause / 2, pause + 1));
+            }
+        }
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free generator of unique, time-ordered order numbers such as
+ * {@code ORD-01J9ZK4T7Q0G2}.
+ * <p>
+ * Each id is a 63-bit Snowflake-style number: milliseconds since
+ * {@link #EPOCH_MILLIS} (41 bits, good until 2093), the node id (10 bits) and
+ * a per-millisecond sequence (12 bits, 4096 ids per millisecond per node).
+ * Ids from one node are strictly increasing: when the sequence runs out, or
+ * the clock steps backwards, the generator carries on from the last
+ * millisecond it issued instead of waiting or repeating. Nodes never collide
+ * as long as each has its own node id.
+ * <p>
+ * The text form is the id in fixed-width Crockford base32 (no I, L, O or U),
+ * so numbers sort like the ids and new orders land at the right-hand edge of
+ * the order number index.
+ */
+public final class OrderNumberGenerator {
+
+    public static final String PREFIX = "ORD-";
+
+    /** 2024-01-01T00:00:00Z. */
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    private static final long MAX_TIMESTAMP = (1L << (Long.SIZE - 1 - TIMESTAMP_SHIFT)) - 1;
+
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+
+    /** Last issued millisecond (since the epoch) and sequence, packed as {@code millis << 12 | sequence}. */
+    private final AtomicLong state = new AtomicLong();
+
+    public OrderNumberGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    public OrderNumberGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", was " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    /**
+     * Next order number, e.g. {@code ORD-01J9ZK4T7Q0G2}.
+     */
+    public String next() {
+        return format(nextId());
+    }
+
+    /**
+     * Next id, greater than every id this generator has issued before.
+     */
+    public long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        while (true) {
+            long last = state.get();
+            // A new millisecond restarts the sequence; otherwise count on, carrying into the next millisecond
+            long next = now > last >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                if (millis > MAX_TIMESTAMP) {
+                    throw new IllegalStateException("Order number timestamp overflow");
+                }
+                return millis << TIMESTAMP_SHIFT | nodeBits | next & SEQUENCE_MASK;
+            }
+        }
+    }
+
+    /**
+     * Text form of an id: the prefix and 13 base32 digits.
+     */
+    public static String format(long id) {
+        char[] text = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), text, 0);
+        for (int i = text.length - 1; i >= PREFIX.length(); i--) {
+            text[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(text);
+    }
+}
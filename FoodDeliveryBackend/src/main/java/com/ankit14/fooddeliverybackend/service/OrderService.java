@@ -1,14 +1,23 @@
 package com.ankit14.fooddeliverybackend.service;
 
+import com.ankit14.fooddeliverybackend.dto.common.CursorResponse;
 import com.ankit14.fooddeliverybackend.dto.common.PagedResponse;
 import com.ankit14.fooddeliverybackend.dto.order.OrderItemRequest;
 import com.ankit14.fooddeliverybackend.dto.order.OrderRequest;
 import com.ankit14.fooddeliverybackend.dto.order.OrderResponse;
+import com.ankit14.fooddeliverybackend.event.DeliveryPartnerAssignedEvent;
+import com.ankit14.fooddeliverybackend.event.OrderCreatedEvent;
+import com.ankit14.fooddeliverybackend.event.OrderStatusChangedEvent;
 import com.ankit14.fooddeliverybackend.exception.BadRequestException;
 import com.ankit14.fooddeliverybackend.exception.ResourceNotFoundException;
 import com.ankit14.fooddeliverybackend.model.*;
 import com.ankit14.fooddeliverybackend.repository.*;
+import com.ankit14.fooddeliverybackend.repository.projection.OrderParticipants;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,8 +28,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for order operations.
@@ -35,8 +53,13 @@ public class OrderService {
     private final RestaurantRepository restaurantRepository;
     private final AddressRepository addressRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OptimisticRetry optimisticRetry;
+    private final EntityManager entityManager;
 
     private static final BigDecimal TAX_RATE = new BigDecimal("0.05"); // 5% tax
+    private static final int EXPORT_BATCH_SIZE = 100;
 
     @Transactional
     public OrderResponse createOrder(OrderRequest request) {
@@ -54,6 +77,7 @@ public class OrderService {
 
         // Create order
         Order order = Order.builder()
+                .orderNumber(orderNumberGenerator.next())
                 .customer(customer)
                 .restaurant(restaurant)
                 .deliveryAddress(deliveryAddress)
@@ -62,19 +86,12 @@ public class OrderService {
                 .deliveryFee(BigDecimal.valueOf(restaurant.getDeliveryFee()))
                 .build();
 
+        Map<Long, MenuItem> menuItems = resolveCartItems(request.getItems(), restaurant);
+
         // Calculate subtotal and add items
         BigDecimal subtotal = BigDecimal.ZERO;
         for (OrderItemRequest itemRequest : request.getItems()) {
-            MenuItem menuItem = menuItemRepository.findById(itemRequest.getMenuItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", itemRequest.getMenuItemId()));
-
-            if (!menuItem.getIsAvailable()) {
-                throw new BadRequestException("Item is not available: " + menuItem.getName());
-            }
-
-            if (!menuItem.getRestaurant().getId().equals(restaurant.getId())) {
-                throw new BadRequestException("Item does not belong to selected restaurant");
-            }
+            MenuItem menuItem = menuItems.get(itemRequest.getMenuItemId());
 
             OrderItem orderItem = OrderItem.builder()
                     .menuItem(menuItem)
@@ -99,6 +116,8 @@ public class OrderService {
         order.setEstimatedDeliveryTime(LocalDateTime.now().plusMinutes(45));
 
         order = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderCreatedEvent(
+                order.getId(), restaurant.getId(), order.getStatus(), order.getTotalAmount(), order.getCreatedAt()));
         return mapToResponse(order);
     }
 
@@ -106,77 +125,219 @@ public class OrderService {
     public PagedResponse<OrderResponse> getCustomerOrders(int page, int size) {
         User customer = getCurrentUser();
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Order> orders = orderRepository.findByCustomerId(customer.getId(), pageable);
-        return buildPagedResponse(orders);
+        Page<Long> orderIds = orderRepository.findIdsByCustomerId(customer.getId(), pageable);
+        return buildPagedResponse(orderIds);
     }
 
     @Transactional(readOnly = true)
     public PagedResponse<OrderResponse> getRestaurantOrders(Long restaurantId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Order> orders = orderRepository.findByRestaurantId(restaurantId, pageable);
-        return buildPagedResponse(orders);
+        Page<Long> orderIds = orderRepository.findIdsByRestaurantId(restaurantId, pageable);
+        return buildPagedResponse(orderIds);
+    }
+
+    /**
+     * Keyset-paged order history of the current user, newest first.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> getCustomerOrders(String cursor, int size, boolean includeTotal) {
+        Long customerId = getCurrentUser().getId();
+        Limit limit = PageCursor.limit(size);
+        List<Long> orderIds;
+        if (cursor == null || cursor.isBlank()) {
+            orderIds = orderRepository.findLatestIdsByCustomerId(customerId, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            orderIds = orderRepository.findIdsByCustomerIdBefore(customerId, after.keyAsDateTime(), after.id(), limit);
+        }
+        Long total = includeTotal ? orderRepository.countByCustomerId(customerId) : null;
+        return buildCursorResponse(orderIds, size, total);
+    }
+
+    /**
+     * Keyset-paged orders of a restaurant, newest first.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> getRestaurantOrders(Long restaurantId, String cursor, int size,
+            boolean includeTotal) {
+        Limit limit = PageCursor.limit(size);
+        List<Long> orderIds;
+        if (cursor == null || cursor.isBlank()) {
+            orderIds = orderRepository.findLatestIdsByRestaurantId(restaurantId, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            orderIds = orderRepository.findIdsByRestaurantIdBefore(
+                    restaurantId, after.keyAsDateTime(), after.id(), limit);
+        }
+        Long total = includeTotal ? orderRepository.countByRestaurantId(restaurantId) : null;
+        return buildCursorResponse(orderIds, size, total);
+    }
+
+    /**
+     * Every order of a restaurant, newest first, handed to {@code sink} one at
+     * a time. Ids are read from a database cursor and the orders loaded in
+     * batches of {@value #EXPORT_BATCH_SIZE}, clearing the persistence context
+     * after each, so memory stays flat however many orders there are.
+     */
+    @Transactional(readOnly = true)
+    public void exportRestaurantOrders(Long restaurantId, Consumer<? super OrderResponse> sink) {
+        try (Stream<Long> orderIds = orderRepository.streamIdsByRestaurantId(restaurantId)) {
+            Iterator<Long> ids = orderIds.iterator();
+            List<Long> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+            while (ids.hasNext()) {
+                batch.add(ids.next());
+                if (batch.size() == EXPORT_BATCH_SIZE || !ids.hasNext()) {
+                    loadInOrder(batch).forEach(order -> sink.accept(mapToResponse(order)));
+                    entityManager.clear();
+                    batch.clear();
+                }
+            }
+        }
     }
 
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
         return mapToResponse(order);
     }
 
     @Transactional(readOnly = true)
     public OrderResponse getOrderByNumber(String orderNumber) {
-        Order order = orderRepository.findByOrderNumber(orderNumber)
+        Order order = orderRepository.findWithDetailsByOrderNumber(orderNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "orderNumber", orderNumber));
         return mapToResponse(order);
     }
 
-    @Transactional
+    /**
+     * Move an order to its next status. The change is a compare-and-set from
+     * the status it was validated against, so of two concurrent changes the
+     * loser is retried against the winner's result instead of overwriting it.
+     */
     public OrderResponse updateOrderStatus(Long id, OrderStatus newStatus) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        return optimisticRetry.execute(() -> {
+            OrderStatus previousStatus = currentStatus(id);
+            validateStatusTransition(previousStatus, newStatus);
+
+            LocalDateTime now = LocalDateTime.now();
+            int updated = newStatus == OrderStatus.DELIVERED
+                    ? orderRepository.markDelivered(id, now)
+                    : orderRepository.transitionStatus(id, previousStatus, newStatus, now);
+            if (updated == 0) {
+                throw statusConflict(id);
+            }
 
-        validateStatusTransition(order.getStatus(), newStatus);
+            Order order = loadOrder(id);
+            publishStatusChange(order, previousStatus);
+            return mapToResponse(order);
+        });
+    }
 
-        order.setStatus(newStatus);
+    public OrderResponse cancelOrder(Long id) {
+        return optimisticRetry.execute(() -> {
+            OrderStatus previousStatus = currentStatus(id);
+            if (previousStatus != OrderStatus.PLACED && previousStatus != OrderStatus.CONFIRMED) {
+                throw new BadRequestException("Order cannot be cancelled at this stage");
+            }
 
-        if (newStatus == OrderStatus.DELIVERED) {
-            order.setActualDeliveryTime(LocalDateTime.now());
-        }
+            if (orderRepository.transitionStatus(id, previousStatus, OrderStatus.CANCELLED, LocalDateTime.now()) == 0) {
+                throw statusConflict(id);
+            }
 
-        order = orderRepository.save(order);
-        return mapToResponse(order);
+            Order order = loadOrder(id);
+            publishStatusChange(order, previousStatus);
+            return mapToResponse(order);
+        });
     }
 
-    @Transactional
-    public OrderResponse cancelOrder(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+    public OrderResponse assignDeliveryPartner(Long orderId, Long deliveryPartnerId) {
+        return optimisticRetry.execute(() -> {
+            OrderStatus status = currentStatus(orderId);
 
-        if (order.getStatus() != OrderStatus.PLACED && order.getStatus() != OrderStatus.CONFIRMED) {
-            throw new BadRequestException("Order cannot be cancelled at this stage");
-        }
+            User deliveryPartner = userRepository.findById(deliveryPartnerId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", deliveryPartnerId));
 
-        order.setStatus(OrderStatus.CANCELLED);
-        order = orderRepository.save(order);
-        return mapToResponse(order);
+            if (deliveryPartner.getRole() != Role.DELIVERY_PARTNER) {
+                throw new BadRequestException("User is not a delivery partner");
+            }
+            if (status == OrderStatus.DELIVERED || status == OrderStatus.CANCELLED) {
+                throw new BadRequestException("Cannot assign a delivery partner to a " + status + " order");
+            }
+
+            if (orderRepository.assignDeliveryPartner(orderId, status, deliveryPartner, LocalDateTime.now()) == 0) {
+                throw statusConflict(orderId);
+            }
+
+            Order order = loadOrder(orderId);
+            eventPublisher.publishEvent(new DeliveryPartnerAssignedEvent(
+                    order.getId(), order.getRestaurant().getId(), deliveryPartner.getId(), order.getStatus()));
+            return mapToResponse(order);
+        });
     }
 
+    /**
+     * Assign the partner picked by the dispatcher, provided the order is still
+     * being prepared and nobody has assigned a partner in the meantime.
+     *
+     * @return false if the order no longer needs one
+     */
     @Transactional
-    public OrderResponse assignDeliveryPartner(Long orderId, Long deliveryPartnerId) {
-        Order order = orderRepository.findById(orderId)
+    public boolean dispatchDeliveryPartner(Long orderId, Long deliveryPartnerId) {
+        if (orderRepository.assignDeliveryPartnerIfUnassigned(orderId, OrderStatus.PREPARING,
+                userRepository.getReferenceById(deliveryPartnerId), LocalDateTime.now()) == 0) {
+            return false;
+        }
+        Long restaurantId = orderRepository.findParticipantsById(orderId)
+                .map(OrderParticipants::getRestaurantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        eventPublisher.publishEvent(new DeliveryPartnerAssignedEvent(
+                orderId, restaurantId, deliveryPartnerId, OrderStatus.PREPARING));
+        return true;
+    }
 
-        User deliveryPartner = userRepository.findById(deliveryPartnerId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", deliveryPartnerId));
+    private OrderStatus currentStatus(Long id) {
+        return orderRepository.findStatusById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+    }
+
+    private Order loadOrder(Long id) {
+        return orderRepository.findWithDetailsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+    }
+
+    private static OptimisticLockingFailureException statusConflict(Long id) {
+        return new OptimisticLockingFailureException("Order " + id + " was changed concurrently");
+    }
 
-        if (deliveryPartner.getRole() != Role.DELIVERY_PARTNER) {
-            throw new BadRequestException("User is not a delivery partner");
+    /**
+     * Load every menu item in the cart with one query and validate them together,
+     * so the customer sees all problems with their cart at once.
+     */
+    private Map<Long, MenuItem> resolveCartItems(List<OrderItemRequest> itemRequests, Restaurant restaurant) {
+        Set<Long> ids = itemRequests.stream()
+                .map(OrderItemRequest::getMenuItemId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, MenuItem> menuItems = new HashMap<>();
+        menuItemRepository.findAllWithRestaurantByIdIn(ids)
+                .forEach(menuItem -> menuItems.put(menuItem.getId(), menuItem));
+
+        List<String> problems = new ArrayList<>();
+        for (Long id : ids) {
+            MenuItem menuItem = menuItems.get(id);
+            if (menuItem == null) {
+                problems.add("Item not found: " + id);
+            } else if (!menuItem.getRestaurant().getId().equals(restaurant.getId())) {
+                problems.add("Item does not belong to selected restaurant: " + menuItem.getName());
+            } else if (!menuItem.getIsAvailable()) {
+                problems.add("Item is not available: " + menuItem.getName());
+            }
         }
 
-        order.setDeliveryPartner(deliveryPartner);
-        order = orderRepository.save(order);
-        return mapToResponse(order);
+        if (!problems.isEmpty()) {
+            throw new BadRequestException(String.join("; ", problems));
+        }
+        return menuItems;
     }
 
     private void validateStatusTransition(OrderStatus current, OrderStatus next) {
@@ -193,6 +354,16 @@ public class OrderService {
         }
     }
 
+    private void publishStatusChange(Order order, OrderStatus previousStatus) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(), order.getRestaurant().getId(), deliveryPartnerId(order),
+                previousStatus, order.getStatus()));
+    }
+
+    private static Long deliveryPartnerId(Order order) {
+        return order.getDeliveryPartner() != null ? order.getDeliveryPartner().getId() : null;
+    }
+
     private User getCurrentUser() {
         return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
@@ -219,6 +390,7 @@ public class OrderService {
                     .razorpayPaymentId(payment.getRazorpayPaymentId())
                     .amount(payment.getAmount())
                     .status(payment.getStatus().name())
+                    .version(payment.getVersion())
                     .build();
         }
 
@@ -251,11 +423,12 @@ public class OrderService {
                 .estimatedDeliveryTime(order.getEstimatedDeliveryTime())
                 .actualDeliveryTime(order.getActualDeliveryTime())
                 .createdAt(order.getCreatedAt())
+                .version(order.getVersion())
                 .build();
     }
 
-    private PagedResponse<OrderResponse> buildPagedResponse(Page<Order> page) {
-        List<OrderResponse> content = page.getContent().stream()
+    private PagedResponse<OrderResponse> buildPagedResponse(Page<Long> page) {
+        List<OrderResponse> content = loadInOrder(page.getContent()).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
 
@@ -269,4 +442,36 @@ public class OrderService {
                 .last(page.isLast())
                 .build();
     }
+
+    private CursorResponse<OrderResponse> buildCursorResponse(List<Long> orderIds, int size, Long total) {
+        boolean hasNext = orderIds.size() > size;
+        List<Order> orders = loadInOrder(hasNext ? orderIds.subList(0, size) : orderIds);
+
+        String nextCursor = null;
+        if (hasNext && !orders.isEmpty()) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorResponse.<OrderResponse>builder()
+                .content(orders.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalElements(total)
+                .build();
+    }
+
+    // Fetch orders by graph, keeping the order of the given ids
+    private List<Order> loadInOrder(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Order> ordersById = new HashMap<>();
+        orderRepository.findWithDetailsByIdIn(orderIds).forEach(order -> ordersById.put(order.getId(), order));
+        return orderIds.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,66 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.exception.BadRequestException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position after the last row of a page: its sort key and id, encoded
+ * as an opaque URL-safe token.
+ */
+record PageCursor(String key, Long id) {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Row limit for a page of {@code size}: one extra row tells whether
+     * another page follows.
+     */
+    static Limit limit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(size + 1);
+    }
+
+    static PageCursor of(Object key, Long id) {
+        return new PageCursor(String.valueOf(key), id);
+    }
+
+    static PageCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new PageCursor(decoded.substring(0, separator), Long.valueOf(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDateTime keyAsDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    Double keyAsDouble() {
+        try {
+            return Double.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
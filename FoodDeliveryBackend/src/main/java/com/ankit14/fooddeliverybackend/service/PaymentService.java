@@ -3,101 +3,118 @@ package com.ankit14.fooddeliverybackend.service;
 import com.ankit14.fooddeliverybackend.config.RazorpayConfig;
 import com.ankit14.fooddeliverybackend.dto.payment.PaymentResponse;
 import com.ankit14.fooddeliverybackend.dto.payment.VerifyPaymentRequest;
+import com.ankit14.fooddeliverybackend.event.OrderStatusChangedEvent;
+import com.ankit14.fooddeliverybackend.event.PaymentStatusChangedEvent;
 import com.ankit14.fooddeliverybackend.exception.PaymentException;
 import com.ankit14.fooddeliverybackend.exception.ResourceNotFoundException;
 import com.ankit14.fooddeliverybackend.model.Order;
 import com.ankit14.fooddeliverybackend.model.OrderStatus;
 import com.ankit14.fooddeliverybackend.model.Payment;
 import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+import com.ankit14.fooddeliverybackend.model.PaymentWebhookEvent;
+import com.ankit14.fooddeliverybackend.model.WebhookEventStatus;
 import com.ankit14.fooddeliverybackend.repository.OrderRepository;
 import com.ankit14.fooddeliverybackend.repository.PaymentRepository;
-import com.razorpay.RazorpayClient;
-import com.razorpay.RazorpayException;
+import com.ankit14.fooddeliverybackend.repository.PaymentWebhookEventRepository;
+import com.ankit14.fooddeliverybackend.service.payment.PaymentOutboxService;
+import com.ankit14.fooddeliverybackend.service.payment.PaymentWebhookInbox;
+import com.ankit14.fooddeliverybackend.service.payment.RazorpaySignatureVerifier;
 import lombok.RequiredArgsConstructor;
-import org.json.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.math.BigDecimal;
-import java.util.Formatter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
 
 /**
  * Service for Razorpay payment integration.
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
-    private final RazorpayClient razorpayClient;
+    private final PaymentOutboxService paymentOutboxService;
+    private final PaymentWebhookInbox paymentWebhookInbox;
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final RazorpaySignatureVerifier signatureVerifier;
     private final RazorpayConfig razorpayConfig;
-
-    @Transactional
+    private final OptimisticRetry optimisticRetry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Accept a payment for an order and queue its gateway order, returning
+     * without waiting for the gateway. The response is {@code PENDING_GATEWAY}
+     * until {@code PaymentOutboxWorker} has created the Razorpay order; clients
+     * poll {@link #getPaymentByOrderId} for the {@code razorpayOrderId}.
+     * <p>
+     * Repeating the call returns the payment already in progress, and a failed
+     * payment is reused for the new attempt, since an order has one payment.
+     */
     public PaymentResponse createPaymentOrder(Long orderId) {
+        try {
+            return optimisticRetry.execute(() -> doCreatePaymentOrder(orderId));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent first call inserted the order's payment first; this one now finds it in progress
+            return optimisticRetry.execute(() -> doCreatePaymentOrder(orderId));
+        }
+    }
+
+    private PaymentResponse doCreatePaymentOrder(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
-        // Check if payment already exists
-        if (paymentRepository.existsByOrderIdAndStatus(orderId, PaymentStatus.SUCCESS)) {
+        Payment payment = paymentRepository.findByOrderId(orderId).orElse(null);
+        PaymentStatus previousStatus = payment == null ? null : payment.getStatus();
+        if (previousStatus == PaymentStatus.SUCCESS || previousStatus == PaymentStatus.REFUNDED) {
             throw new PaymentException("Payment already completed for this order");
         }
+        if (previousStatus == PaymentStatus.PENDING_GATEWAY || previousStatus == PaymentStatus.CREATED) {
+            return toResponse(payment, order);
+        }
 
-        try {
-            // Create Razorpay order
-            JSONObject orderRequest = new JSONObject();
-            orderRequest.put("amount", order.getTotalAmount().multiply(BigDecimal.valueOf(100)).intValue()); // Amount
-                                                                                                             // in paise
-            orderRequest.put("currency", "INR");
-            orderRequest.put("receipt", order.getOrderNumber());
-            orderRequest.put("notes", new JSONObject().put("orderId", orderId.toString()));
-
-            com.razorpay.Order razorpayOrder = razorpayClient.orders.create(orderRequest);
-
-            // Save payment record
-            Payment payment = Payment.builder()
+        if (payment == null) {
+            payment = Payment.builder()
                     .order(order)
-                    .razorpayOrderId(razorpayOrder.get("id"))
                     .amount(order.getTotalAmount())
                     .currency("INR")
-                    .status(PaymentStatus.CREATED)
                     .build();
-
-            payment = paymentRepository.save(payment);
-
-            return PaymentResponse.builder()
-                    .id(payment.getId())
-                    .orderId(order.getId())
-                    .orderNumber(order.getOrderNumber())
-                    .razorpayOrderId(payment.getRazorpayOrderId())
-                    .amount(payment.getAmount())
-                    .currency(payment.getCurrency())
-                    .status(payment.getStatus())
-                    .razorpayKeyId(razorpayConfig.getKeyId())
-                    .customerName(order.getCustomer().getName())
-                    .customerEmail(order.getCustomer().getEmail())
-                    .customerPhone(order.getCustomer().getPhone())
-                    .build();
-
-        } catch (RazorpayException e) {
-            throw new PaymentException("Failed to create payment order: " + e.getMessage(), e);
         }
+        payment.setRazorpayOrderId(null);
+        payment.setFailureReason(null);
+        payment.setStatus(PaymentStatus.PENDING_GATEWAY);
+        payment = paymentRepository.save(payment);
+        paymentOutboxService.enqueue(payment);
+
+        publishPaymentStatusChange(payment, order, previousStatus);
+        return toResponse(payment, order);
     }
 
-    @Transactional
+    /**
+     * Record a payment completed in the client checkout and confirm its order.
+     * Repeating it, or a webhook getting there first, leaves the payment as is.
+     */
     public PaymentResponse verifyPayment(VerifyPaymentRequest request) {
+        return optimisticRetry.execute(() -> doVerifyPayment(request));
+    }
+
+    private PaymentResponse doVerifyPayment(VerifyPaymentRequest request) {
         Payment payment = paymentRepository.findByRazorpayOrderId(request.getRazorpayOrderId())
                 .orElseThrow(() -> new ResourceNotFoundException("Payment", "razorpayOrderId",
                         request.getRazorpayOrderId()));
 
         // Verify signature
-        String generatedSignature = generateSignature(
-                request.getRazorpayOrderId(),
-                request.getRazorpayPaymentId());
-
-        if (!generatedSignature.equals(request.getRazorpaySignature())) {
+        if (!signatureVerifier.verifyPayment(request.getRazorpayOrderId(), request.getRazorpayPaymentId(),
+                request.getRazorpaySignature())) {
             payment.setStatus(PaymentStatus.FAILED);
             payment.setFailureReason("Signature verification failed");
             paymentRepository.save(payment);
@@ -105,15 +122,17 @@ public class PaymentService {
         }
 
         // Update payment status
-        payment.setRazorpayPaymentId(request.getRazorpayPaymentId());
-        payment.setRazorpaySignature(request.getRazorpaySignature());
-        payment.setStatus(PaymentStatus.SUCCESS);
-        payment = paymentRepository.save(payment);
-
-        // Update order status
+        PaymentStatus previousPaymentStatus = payment.getStatus();
         Order order = payment.getOrder();
-        order.setStatus(OrderStatus.CONFIRMED);
-        orderRepository.save(order);
+        if (previousPaymentStatus != PaymentStatus.SUCCESS) {
+            payment.setRazorpayPaymentId(request.getRazorpayPaymentId());
+            payment.setRazorpaySignature(request.getRazorpaySignature());
+            payment.setStatus(PaymentStatus.SUCCESS);
+            payment = paymentRepository.save(payment);
+
+            publishPaymentStatusChange(payment, order, previousPaymentStatus);
+            confirmPaidOrder(order);
+        }
 
         return PaymentResponse.builder()
                 .id(payment.getId())
@@ -128,113 +147,154 @@ public class PaymentService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public PaymentResponse getPaymentByOrderId(Long orderId) {
         Payment payment = paymentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment", "orderId", orderId));
+        return toResponse(payment, payment.getOrder());
+    }
 
+    /**
+     * Full payment view, including what the client needs to open Razorpay
+     * checkout once the gateway order exists.
+     */
+    private PaymentResponse toResponse(Payment payment, Order order) {
         return PaymentResponse.builder()
                 .id(payment.getId())
-                .orderId(payment.getOrder().getId())
-                .orderNumber(payment.getOrder().getOrderNumber())
+                .orderId(order.getId())
+                .orderNumber(order.getOrderNumber())
                 .razorpayOrderId(payment.getRazorpayOrderId())
                 .razorpayPaymentId(payment.getRazorpayPaymentId())
                 .amount(payment.getAmount())
                 .currency(payment.getCurrency())
                 .status(payment.getStatus())
+                .failureReason(payment.getFailureReason())
+                .razorpayKeyId(razorpayConfig.getKeyId())
+                .customerName(order.getCustomer().getName())
+                .customerEmail(order.getCustomer().getEmail())
+                .customerPhone(order.getCustomer().getPhone())
                 .createdAt(payment.getCreatedAt())
                 .build();
     }
 
-    private String generateSignature(String razorpayOrderId, String razorpayPaymentId) {
-        try {
-            String data = razorpayOrderId + "|" + razorpayPaymentId;
-            Mac sha256Hmac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKey = new SecretKeySpec(
-                    razorpayConfig.getKeySecret().getBytes(),
-                    "HmacSHA256");
-            sha256Hmac.init(secretKey);
-            byte[] hash = sha256Hmac.doFinal(data.getBytes());
-            return byteToHex(hash);
-        } catch (Exception e) {
-            throw new PaymentException("Failed to generate signature", e);
-        }
+    private void publishPaymentStatusChange(Payment payment, Order order, PaymentStatus previousStatus) {
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(
+                payment.getId(), order.getId(), order.getRestaurant().getId(),
+                previousStatus, payment.getStatus(), order.getTotalAmount(), order.getCreatedAt()));
     }
 
-    private String byteToHex(byte[] bytes) {
-        Formatter formatter = new Formatter();
-        for (byte b : bytes) {
-            formatter.format("%02x", b);
+    /**
+     * Move a paid order from PLACED to CONFIRMED. An order already past PLACED
+     * is left alone: confirmed by an earlier notification, or cancelled while
+     * the customer was paying, which needs a refund.
+     */
+    private void confirmPaidOrder(Order order) {
+        if (orderRepository.transitionStatus(order.getId(), OrderStatus.PLACED, OrderStatus.CONFIRMED,
+                LocalDateTime.now()) == 0) {
+            OrderStatus status = orderRepository.findStatusById(order.getId()).orElse(null);
+            if (status == OrderStatus.CANCELLED) {
+                log.warn("Order {} was paid after it was cancelled; the payment needs a refund", order.getId());
+            }
+            return;
         }
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(), order.getRestaurant().getId(),
+                order.getDeliveryPartner() != null ? order.getDeliveryPartner().getId() : null,
+                OrderStatus.PLACED, OrderStatus.CONFIRMED));
     }
 
-    @Transactional
-    public void handleWebhook(String payload, String signature) {
-        // Verify webhook signature
-        if (!verifyWebhookSignature(payload, signature)) {
+    /**
+     * Verify a Razorpay webhook and store it in the inbox; the payment is
+     * updated later by {@code PaymentWebhookConsumer}. Redeliveries are
+     * recognised by Razorpay's event id, or by the payload's hash when the
+     * event id header is missing.
+     *
+     * @return false if the event had already been received
+     */
+    public boolean handleWebhook(byte[] payload, String signature, String eventId) {
+        if (!signatureVerifier.verifyWebhook(payload, signature)) {
             throw new PaymentException("Invalid webhook signature");
         }
 
-        JSONObject jsonPayload = new JSONObject(payload);
-        String event = jsonPayload.getString("event");
-        JSONObject paymentEntity = jsonPayload
-                .getJSONObject("payload")
-                .getJSONObject("payment")
-                .getJSONObject("entity");
-
-        String razorpayPaymentId = paymentEntity.getString("id");
-        String razorpayOrderId = paymentEntity.getString("order_id");
+        String key = eventId == null || eventId.isBlank() ? sha256Hex(payload) : eventId;
+        try {
+            return paymentWebhookInbox.append(key, payload);
+        } catch (DataIntegrityViolationException e) {
+            return false; // The same event, delivered concurrently, was stored first
+        }
+    }
 
-        Payment payment = paymentRepository.findByRazorpayOrderId(razorpayOrderId)
-                .orElse(null);
+    /**
+     * Apply received webhook events for one Razorpay order, oldest first.
+     * Events can arrive late, twice or out of order, so each is checked
+     * against the payment's current status: a capture wins over any failure,
+     * and a failure only applies to a payment still awaiting payment.
+     *
+     * @param razorpayOrderId null for events that name no order
+     */
+    public void applyWebhookEvents(String razorpayOrderId, List<Long> webhookEventIds) {
+        optimisticRetry.run(() -> doApplyWebhookEvents(razorpayOrderId, webhookEventIds));
+    }
 
-        if (payment == null) {
-            return; // Payment not found, might be from a different system
+    private void doApplyWebhookEvents(String razorpayOrderId, List<Long> webhookEventIds) {
+        Payment payment = razorpayOrderId == null ? null
+                : paymentRepository.findByRazorpayOrderId(razorpayOrderId).orElse(null);
+
+        List<PaymentWebhookEvent> events = webhookEventRepository.findAllById(webhookEventIds).stream()
+                .sorted(Comparator.comparing(PaymentWebhookEvent::getEventCreatedAt,
+                                Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(PaymentWebhookEvent::getId))
+                .toList();
+
+        for (PaymentWebhookEvent event : events) {
+            if (event.getStatus() != WebhookEventStatus.PENDING) {
+                continue; // Applied by an earlier, overlapping poll
+            }
+            // A missing payment might be from a different system
+            boolean applied = payment != null && applyWebhookEvent(payment, event);
+            event.setStatus(applied ? WebhookEventStatus.APPLIED : WebhookEventStatus.IGNORED);
+            event.setProcessedAt(LocalDateTime.now());
         }
+    }
 
-        switch (event) {
-            case "payment.captured":
-                payment.setRazorpayPaymentId(razorpayPaymentId);
-                payment.setStatus(PaymentStatus.SUCCESS);
-                paymentRepository.save(payment);
+    private boolean applyWebhookEvent(Payment payment, PaymentWebhookEvent event) {
+        PaymentStatus previousPaymentStatus = payment.getStatus();
+        Order order = payment.getOrder();
 
-                // Update order status
-                Order order = payment.getOrder();
-                if (order.getStatus() == OrderStatus.PLACED) {
-                    order.setStatus(OrderStatus.CONFIRMED);
-                    orderRepository.save(order);
+        switch (event.getEventType()) {
+            case "payment.captured":
+                if (previousPaymentStatus == PaymentStatus.SUCCESS || previousPaymentStatus == PaymentStatus.REFUNDED) {
+                    return false;
                 }
-                break;
+                payment.setRazorpayPaymentId(event.getRazorpayPaymentId());
+                payment.setStatus(PaymentStatus.SUCCESS);
+                payment.setFailureReason(null);
+                publishPaymentStatusChange(payment, order, previousPaymentStatus);
+                confirmPaidOrder(order);
+                return true;
 
             case "payment.failed":
-                payment.setRazorpayPaymentId(razorpayPaymentId);
-                payment.setStatus(PaymentStatus.FAILED);
-                if (paymentEntity.has("error_description")) {
-                    payment.setFailureReason(paymentEntity.getString("error_description"));
+                // A failed attempt reported after another attempt was captured is stale
+                if (previousPaymentStatus != PaymentStatus.CREATED) {
+                    return false;
                 }
-                paymentRepository.save(payment);
-                break;
+                payment.setRazorpayPaymentId(event.getRazorpayPaymentId());
+                payment.setStatus(PaymentStatus.FAILED);
+                payment.setFailureReason(event.getErrorDescription());
+                publishPaymentStatusChange(payment, order, previousPaymentStatus);
+                return true;
 
             default:
                 // Ignore other events
-                break;
+                return false;
         }
     }
 
-    private boolean verifyWebhookSignature(String payload, String signature) {
+    private static String sha256Hex(byte[] payload) {
         try {
-            Mac sha256Hmac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKey = new SecretKeySpec(
-                    razorpayConfig.getWebhookSecret().getBytes(),
-                    "HmacSHA256");
-            sha256Hmac.init(secretKey);
-            byte[] hash = sha256Hmac.doFinal(payload.getBytes());
-            String generatedSignature = byteToHex(hash);
-            return generatedSignature.equals(signature);
-        } catch (Exception e) {
-            return false;
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
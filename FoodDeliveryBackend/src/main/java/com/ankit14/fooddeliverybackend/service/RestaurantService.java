@@ -1,22 +1,35 @@
 package com.ankit14.fooddeliverybackend.service;
 
+import com.ankit14.fooddeliverybackend.config.CacheConfig;
+import com.ankit14.fooddeliverybackend.dto.common.CursorResponse;
 import com.ankit14.fooddeliverybackend.dto.common.PagedResponse;
 import com.ankit14.fooddeliverybackend.dto.restaurant.RestaurantRequest;
 import com.ankit14.fooddeliverybackend.dto.restaurant.RestaurantResponse;
+import com.ankit14.fooddeliverybackend.event.RestaurantChangedEvent;
+import com.ankit14.fooddeliverybackend.exception.BadRequestException;
 import com.ankit14.fooddeliverybackend.exception.ResourceNotFoundException;
 import com.ankit14.fooddeliverybackend.model.Restaurant;
 import com.ankit14.fooddeliverybackend.model.User;
 import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
 import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import com.ankit14.fooddeliverybackend.service.search.SearchBackend;
+import com.ankit14.fooddeliverybackend.service.search.SearchResult;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -28,7 +41,11 @@ public class RestaurantService {
 
     private final RestaurantRepository restaurantRepository;
     private final UserRepository userRepository;
+    private final CatalogCacheEvictor catalogCacheEvictor;
+    private final SearchBackend searchBackend;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Cacheable(CacheConfig.RESTAURANT_PAGES)
     @Transactional(readOnly = true)
     public PagedResponse<RestaurantResponse> getAllRestaurants(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc")
@@ -40,11 +57,50 @@ public class RestaurantService {
         return buildPagedResponse(restaurants);
     }
 
+    /**
+     * Keyset-paged active restaurants, best rated first.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<RestaurantResponse> getAllRestaurants(String cursor, int size, boolean includeTotal) {
+        Limit limit = PageCursor.limit(size);
+        List<Restaurant> restaurants;
+        if (cursor == null || cursor.isBlank()) {
+            restaurants = restaurantRepository.findTopByRating(limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            restaurants = restaurantRepository.findByRatingBefore(after.keyAsDouble(), after.id(), limit);
+        }
+
+        boolean hasNext = restaurants.size() > size;
+        if (hasNext) {
+            restaurants = restaurants.subList(0, size);
+        }
+        Restaurant last = hasNext ? restaurants.get(size - 1) : null;
+
+        return CursorResponse.<RestaurantResponse>builder()
+                .content(restaurants.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .size(size)
+                .nextCursor(last != null ? PageCursor.of(last.getRating(), last.getId()).encode() : null)
+                .hasNext(hasNext)
+                .totalElements(includeTotal ? restaurantRepository.countByIsActiveTrue() : null)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public PagedResponse<RestaurantResponse> searchRestaurants(String query, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Restaurant> restaurants = restaurantRepository.searchRestaurants(query, pageable);
-        return buildPagedResponse(restaurants);
+        SearchResult result = searchBackend.searchRestaurants(query, pageable);
+
+        Map<Long, Restaurant> restaurantsById = new HashMap<>();
+        restaurantRepository.findAllById(result.ids())
+                .forEach(restaurant -> restaurantsById.put(restaurant.getId(), restaurant));
+
+        // Keep the relevance order
+        List<Restaurant> ranked = result.ids().stream()
+                .map(restaurantsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return buildPagedResponse(new PageImpl<>(ranked, pageable, result.total()));
     }
 
     @Transactional(readOnly = true)
@@ -63,6 +119,7 @@ public class RestaurantService {
         return buildPagedResponse(restaurants);
     }
 
+    @Cacheable(CacheConfig.TOP_RATED_RESTAURANTS)
     @Transactional(readOnly = true)
     public List<RestaurantResponse> getTopRatedRestaurants(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
@@ -71,6 +128,7 @@ public class RestaurantService {
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(CacheConfig.RESTAURANT)
     @Transactional(readOnly = true)
     public RestaurantResponse getRestaurantById(Long id) {
         Restaurant restaurant = restaurantRepository.findById(id)
@@ -80,6 +138,7 @@ public class RestaurantService {
 
     @Transactional
     public RestaurantResponse createRestaurant(RestaurantRequest request, Long ownerId) {
+        validateCoordinates(request);
         User owner = userRepository.findById(ownerId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", ownerId));
 
@@ -90,6 +149,8 @@ public class RestaurantService {
                 .imageUrl(request.getImageUrl())
                 .address(request.getAddress())
                 .city(request.getCity())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
                 .phone(request.getPhone())
                 .deliveryTime(request.getDeliveryTime())
                 .minOrder(request.getMinOrder() != null ? request.getMinOrder() : 0.0)
@@ -100,11 +161,14 @@ public class RestaurantService {
                 .build();
 
         restaurant = restaurantRepository.save(restaurant);
+        catalogCacheEvictor.evictRestaurant(restaurant.getId());
+        publishChange(restaurant);
         return mapToResponse(restaurant);
     }
 
     @Transactional
     public RestaurantResponse updateRestaurant(Long id, RestaurantRequest request) {
+        validateCoordinates(request);
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", id));
 
@@ -114,6 +178,8 @@ public class RestaurantService {
         restaurant.setImageUrl(request.getImageUrl());
         restaurant.setAddress(request.getAddress());
         restaurant.setCity(request.getCity());
+        restaurant.setLatitude(request.getLatitude());
+        restaurant.setLongitude(request.getLongitude());
         restaurant.setPhone(request.getPhone());
         restaurant.setDeliveryTime(request.getDeliveryTime());
         if (request.getMinOrder() != null)
@@ -122,6 +188,10 @@ public class RestaurantService {
             restaurant.setDeliveryFee(request.getDeliveryFee());
 
         restaurant = restaurantRepository.save(restaurant);
+        catalogCacheEvictor.evictRestaurant(id);
+        // Menu items embed the restaurant name
+        catalogCacheEvictor.evictMenus(id);
+        publishChange(restaurant);
         return mapToResponse(restaurant);
     }
 
@@ -131,6 +201,8 @@ public class RestaurantService {
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", id));
         restaurant.setIsOpen(isOpen);
         restaurantRepository.save(restaurant);
+        catalogCacheEvictor.evictRestaurant(id);
+        publishChange(restaurant);
     }
 
     @Transactional
@@ -139,9 +211,25 @@ public class RestaurantService {
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", id));
         restaurant.setIsActive(false);
         restaurantRepository.save(restaurant);
+        catalogCacheEvictor.evictRestaurant(id);
+        publishChange(restaurant);
+    }
+
+    private void validateCoordinates(RestaurantRequest request) {
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new BadRequestException("Latitude and longitude must be given together");
+        }
+    }
+
+    private void publishChange(Restaurant restaurant) {
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurant.getId(), restaurant.getName(),
+                restaurant.getCuisine(), restaurant.getDescription(), Boolean.TRUE.equals(restaurant.getIsActive())));
     }
 
-    private RestaurantResponse mapToResponse(Restaurant restaurant) {
+    /**
+     * Map to the response; the owner must be loaded or loadable.
+     */
+    public RestaurantResponse mapToResponse(Restaurant restaurant) {
         return RestaurantResponse.builder()
                 .id(restaurant.getId())
                 .name(restaurant.getName())
@@ -152,6 +240,8 @@ public class RestaurantService {
                 .imageUrl(restaurant.getImageUrl())
                 .address(restaurant.getAddress())
                 .city(restaurant.getCity())
+                .latitude(restaurant.getLatitude())
+                .longitude(restaurant.getLongitude())
                 .phone(restaurant.getPhone())
                 .isOpen(restaurant.getIsOpen())
                 .deliveryTime(restaurant.getDeliveryTime())
@@ -160,6 +250,7 @@ public class RestaurantService {
                 .ownerId(restaurant.getOwner() != null ? restaurant.getOwner().getId() : null)
                 .ownerName(restaurant.getOwner() != null ? restaurant.getOwner().getName() : null)
                 .createdAt(restaurant.getCreatedAt())
+                .updatedAt(restaurant.getUpdatedAt())
                 .build();
     }
 
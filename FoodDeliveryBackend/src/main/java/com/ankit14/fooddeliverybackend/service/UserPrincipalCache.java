@@ -0,0 +1,64 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Bounded cache of authenticated principals keyed by email, so a signed JWT
+ * can be turned into a {@link User} without a database query per request.
+ * <p>
+ * Entries expire after a short TTL and are evicted explicitly whenever a user
+ * row changes (see {@link UserPrincipalCacheListener}), so deactivation, role
+ * and password changes take effect immediately.
+ * <p>
+ * Misses are loaded asynchronously on virtual threads. A synchronous Caffeine
+ * loader runs inside the cache's map lock, which would pin the calling virtual
+ * thread to its carrier for the whole database query.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<String, User> cache;
+
+    public UserPrincipalCache(UserRepository userRepository,
+            @Value("${security.principal-cache.ttl:5m}") Duration ttl,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .executor(Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("principal-loader-", 0).factory()))
+                .buildAsync();
+    }
+
+    /**
+     * Get the user for the given email, loading it on a cache miss.
+     */
+    public User get(String email) {
+        User user = cache.get(email, key -> userRepository.findByEmail(key).orElse(null)).join();
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
+        return user;
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.synchronous().invalidate(email);
+        }
+    }
+
+    public void clear() {
+        cache.synchronous().invalidateAll();
+    }
+}
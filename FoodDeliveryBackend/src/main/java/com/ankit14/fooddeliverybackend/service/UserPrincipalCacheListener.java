@@ -0,0 +1,40 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that drops a user's cached principal whenever the user row is
+ * updated or deleted, covering deactivation, role and password changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserPrincipalCacheListener {
+
+    // Resolved lazily: the cache depends on UserRepository, which needs the EntityManagerFactory this listener is part of
+    private final ObjectProvider<UserPrincipalCache> principalCacheProvider;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        UserPrincipalCache principalCache = principalCacheProvider.getObject();
+        String email = user.getEmail();
+        principalCache.evict(email);
+
+        // Evict again once committed, in case a concurrent request re-cached the old row meanwhile
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.evict(email);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.ankit14.fooddeliverybackend.service.discovery;
+
+import com.ankit14.fooddeliverybackend.dto.restaurant.NearbyRestaurantResponse;
+import com.ankit14.fooddeliverybackend.dto.restaurant.RestaurantResponse;
+import com.ankit14.fooddeliverybackend.event.RestaurantChangedEvent;
+import com.ankit14.fooddeliverybackend.exception.BadRequestException;
+import com.ankit14.fooddeliverybackend.model.Restaurant;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.service.RestaurantService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * "Restaurants near me", answered from a {@link RestaurantLocationIndex}
+ * without touching the database.
+ * <p>
+ * The index holds every active restaurant with coordinates. It is built at
+ * startup, updated from committed {@link RestaurantChangedEvent}s and rebuilt
+ * every {@code nearby.rebuild-interval-ms}, which also picks up changes made
+ * through other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NearbyRestaurantService {
+
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantService restaurantService;
+
+    @Value("${nearby.cell-size-km:2.0}")
+    private double cellSizeKm;
+
+    @Value("${nearby.max-radius-km:20.0}")
+    private double maxRadiusKm;
+
+    @Value("${nearby.max-results:100}")
+    private int maxResults;
+
+    private volatile RestaurantLocationIndex index;
+
+    @PostConstruct
+    void init() {
+        index = new RestaurantLocationIndex(cellSizeKm);
+    }
+
+    /**
+     * Restaurants within {@code radiusKm}, nearest first.
+     *
+     * @param openOnly  leave out restaurants that are closed right now
+     * @param minRating optional lowest rating
+     * @param cuisine   optional text the cuisine must contain, ignoring case
+     */
+    public List<NearbyRestaurantResponse> findNearby(double latitude, double longitude, double radiusKm, int limit,
+            boolean openOnly, Double minRating, String cuisine) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm <= 0 || limit < 1) {
+            throw new BadRequestException("Radius and limit must be positive");
+        }
+
+        Predicate<RestaurantResponse> filter = restaurant -> !openOnly || Boolean.TRUE.equals(restaurant.getIsOpen());
+        if (minRating != null) {
+            filter = filter.and(restaurant -> restaurant.getRating() != null && restaurant.getRating() >= minRating);
+        }
+        if (cuisine != null && !cuisine.isBlank()) {
+            String wanted = cuisine.strip();
+            filter = filter.and(restaurant -> containsIgnoreCase(restaurant.getCuisine(), wanted));
+        }
+        return index.nearest(latitude, longitude, Math.min(limit, maxResults), Math.min(radiusKm, maxRadiusKm),
+                filter);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (!event.searchable()) {
+            index.remove(event.restaurantId());
+            return;
+        }
+        restaurantRepository.findWithOwnerById(event.restaurantId())
+                .filter(restaurant -> Boolean.TRUE.equals(restaurant.getIsActive()))
+                .map(restaurantService::mapToResponse)
+                .ifPresentOrElse(index::put, () -> index.remove(event.restaurantId()));
+    }
+
+    /**
+     * Index every active restaurant with coordinates and swap the new index
+     * in. Writes committed while this runs are picked up by the next rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${nearby.rebuild-interval-ms:300000}",
+            initialDelayString = "${nearby.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        RestaurantLocationIndex rebuilt = new RestaurantLocationIndex(cellSizeKm);
+        for (Restaurant restaurant : restaurantRepository.findLocatedWithOwner()) {
+            rebuilt.put(restaurantService.mapToResponse(restaurant));
+        }
+        index = rebuilt;
+        log.info("Indexed {} restaurant locations in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    private static boolean containsIgnoreCase(String text, String wanted) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0; i + wanted.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, wanted, 0, wanted.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
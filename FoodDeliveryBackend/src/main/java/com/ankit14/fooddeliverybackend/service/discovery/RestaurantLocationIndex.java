@@ -0,0 +1,56 @@
+package com.ankit14.fooddeliverybackend.service.discovery;
+
+import com.ankit14.fooddeliverybackend.dto.restaurant.NearbyRestaurantResponse;
+import com.ankit14.fooddeliverybackend.dto.restaurant.RestaurantResponse;
+import com.ankit14.fooddeliverybackend.service.geo.GeoGridIndex;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index of restaurant listings for "near me" queries.
+ * <p>
+ * Listings live in a {@link GeoGridIndex}, so a dense city centre answers from
+ * a few cells and a sparse suburb widens the search up to the radius. They are
+ * kept as ready-made {@link RestaurantResponse}s, so a query needs no database
+ * access.
+ */
+public final class RestaurantLocationIndex {
+
+    private final GeoGridIndex<RestaurantResponse> grid;
+
+    public RestaurantLocationIndex(double cellSizeKm) {
+        this.grid = new GeoGridIndex<>(cellSizeKm);
+    }
+
+    /**
+     * Add or replace a restaurant's listing. Restaurants without coordinates
+     * are removed instead.
+     */
+    public void put(RestaurantResponse restaurant) {
+        if (restaurant.getLatitude() == null || restaurant.getLongitude() == null) {
+            remove(restaurant.getId());
+            return;
+        }
+        grid.put(restaurant.getId(), restaurant.getLatitude(), restaurant.getLongitude(), restaurant);
+    }
+
+    public void remove(Long restaurantId) {
+        grid.remove(restaurantId);
+    }
+
+    public int size() {
+        return grid.size();
+    }
+
+    /**
+     * Up to {@code limit} restaurants within {@code maxKm} that pass the
+     * filter, nearest first.
+     */
+    public List<NearbyRestaurantResponse> nearest(double latitude, double longitude, int limit, double maxKm,
+            Predicate<RestaurantResponse> filter) {
+        return grid.nearest(latitude, longitude, limit, maxKm, filter).stream()
+                .map(nearby -> new NearbyRestaurantResponse(nearby.value(), nearby.distanceKm()))
+                .toList();
+    }
+}
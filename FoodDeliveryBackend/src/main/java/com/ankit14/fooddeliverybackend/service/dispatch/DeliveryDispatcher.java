@@ -0,0 +1,186 @@
+package com.ankit14.fooddeliverybackend.service.dispatch;
+
+import com.ankit14.fooddeliverybackend.event.DeliveryPartnerAssignedEvent;
+import com.ankit14.fooddeliverybackend.event.OrderStatusChangedEvent;
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.projection.PendingPickup;
+import com.ankit14.fooddeliverybackend.service.OrderService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns delivery partners to orders being prepared.
+ * <p>
+ * Partners report their location every few seconds; locations live only in a
+ * {@link PartnerLocationIndex}, never in the database. Every
+ * {@code dispatch.interval-ms} the oldest unassigned PREPARING orders are
+ * matched in one batch to the nearest free partners by {@link DispatchMatcher}
+ * and assigned with a compare-and-set, so a partner assigned by hand in the
+ * meantime is kept. Orders that found no partner sit out the next rounds for
+ * {@code dispatch.unmatched-backoff}, and the batch is filled by paging past
+ * them, so a backlog of orders nobody is near cannot keep newer orders from
+ * being looked at. A partner counts as busy from assignment until the order
+ * is delivered or cancelled; busy partners are reloaded from the database at
+ * startup. The pickup point is the restaurant, or the order's delivery
+ * address if the restaurant has no coordinates.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryDispatcher {
+
+    private static final Set<OrderStatus> ACTIVE_STATUSES = EnumSet.of(
+            OrderStatus.PLACED, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.OUT_FOR_DELIVERY);
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+
+    @Value("${dispatch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dispatch.cell-size-km:1.0}")
+    private double cellSizeKm;
+
+    @Value("${dispatch.location-ttl:2m}")
+    private Duration locationTtl;
+
+    @Value("${dispatch.batch-size:500}")
+    private int batchSize;
+
+    @Value("${dispatch.candidates:3}")
+    private int candidates;
+
+    @Value("${dispatch.max-radius-km:8.0}")
+    private double maxRadiusKm;
+
+    @Value("${dispatch.unmatched-backoff:30s}")
+    private Duration unmatchedBackoff;
+
+    @Value("${dispatch.max-scanned:5000}")
+    private int maxScanned;
+
+    private PartnerLocationIndex index;
+
+    // Orders that found no partner, and when they are next tried
+    private final Map<Long, Long> unmatchedUntil = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        index = new PartnerLocationIndex(cellSizeKm, locationTtl);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAssignments() {
+        orderRepository.findPartnerAssignments(ACTIVE_STATUSES)
+                .forEach(assignment -> index.markAssigned(assignment.getOrderId(),
+                        assignment.getDeliveryPartnerId()));
+    }
+
+    public void updateLocation(Long partnerId, double latitude, double longitude, boolean available) {
+        index.update(partnerId, latitude, longitude, available);
+    }
+
+    public void goOffline(Long partnerId) {
+        index.remove(partnerId);
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.interval-ms:3000}")
+    public void dispatch() {
+        if (!enabled || index.size() == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        unmatchedUntil.values().removeIf(until -> until <= now);
+        List<DispatchMatcher.Pickup> pickups = waitingPickups();
+        if (pickups.isEmpty()) {
+            return;
+        }
+
+        List<DispatchMatcher.Match> matches = DispatchMatcher.match(pickups, index, candidates, maxRadiusKm);
+        Set<Long> matched = new HashSet<>();
+        matches.forEach(match -> matched.add(match.orderId()));
+        for (DispatchMatcher.Pickup pickup : pickups) {
+            if (!matched.contains(pickup.orderId())) {
+                unmatchedUntil.put(pickup.orderId(), now + unmatchedBackoff.toMillis());
+            }
+        }
+
+        int assigned = 0;
+        for (DispatchMatcher.Match match : matches) {
+            try {
+                if (orderService.dispatchDeliveryPartner(match.orderId(), match.partnerId())) {
+                    assigned++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Assigning partner {} to order {} failed", match.partnerId(), match.orderId(), e);
+            }
+        }
+        log.debug("Dispatched {} of {} waiting orders", assigned, pickups.size());
+    }
+
+    /**
+     * Up to a batch of the oldest waiting orders, leaving out those backing
+     * off after finding no partner. Pages past them by keyset, scanning at
+     * most {@code dispatch.max-scanned} orders.
+     */
+    private List<DispatchMatcher.Pickup> waitingPickups() {
+        List<DispatchMatcher.Pickup> pickups = new ArrayList<>();
+        List<PendingPickup> page = orderRepository.findPendingPickups(OrderStatus.PREPARING, Limit.of(batchSize));
+        int scanned = 0;
+        while (true) {
+            for (PendingPickup pending : page) {
+                if (pickups.size() < batchSize && !unmatchedUntil.containsKey(pending.getOrderId())) {
+                    pickups.add(new DispatchMatcher.Pickup(pending.getOrderId(), pending.getLatitude(),
+                            pending.getLongitude()));
+                }
+            }
+            scanned += page.size();
+            if (pickups.size() == batchSize || page.size() < batchSize || scanned >= maxScanned) {
+                return pickups;
+            }
+            PendingPickup last = page.get(page.size() - 1);
+            page = orderRepository.findPendingPickupsAfter(OrderStatus.PREPARING, last.getCreatedAt(),
+                    last.getOrderId(), Limit.of(batchSize));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.eviction-interval-ms:60000}")
+    public void evictStaleLocations() {
+        int evicted = index.evictStale();
+        if (evicted > 0) {
+            log.debug("Dropped {} partners with no recent location", evicted);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryPartnerAssigned(DeliveryPartnerAssignedEvent event) {
+        index.markAssigned(event.orderId(), event.deliveryPartnerId());
+        unmatchedUntil.remove(event.orderId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.newStatus() == OrderStatus.DELIVERED || event.newStatus() == OrderStatus.CANCELLED) {
+            index.release(event.orderId());
+            unmatchedUntil.remove(event.orderId());
+        }
+    }
+}
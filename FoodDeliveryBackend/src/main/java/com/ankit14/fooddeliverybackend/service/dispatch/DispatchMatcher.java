@@ -0,0 +1,63 @@
+package com.ankit14.fooddeliverybackend.service.dispatch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matches a batch of waiting pickups to nearby partners.
+ * <p>
+ * Each pickup gets a few nearest candidates, then pairs are handed out
+ * shortest first: a partner close to two pickups goes to the closer one and
+ * the other pickup takes its next candidate, instead of whichever order
+ * happened to be looked at first. Pickups whose candidates all went elsewhere
+ * get one more search that leaves out the partners already taken.
+ */
+public final class DispatchMatcher {
+
+    private DispatchMatcher() {
+    }
+
+    public record Pickup(long orderId, double latitude, double longitude) {
+    }
+
+    public record Match(long orderId, long partnerId, double distanceKm) {
+    }
+
+    public static List<Match> match(List<Pickup> pickups, PartnerLocationIndex index, int candidates,
+            double maxKm) {
+        List<Match> pairs = new ArrayList<>(pickups.size() * candidates);
+        for (Pickup pickup : pickups) {
+            for (PartnerLocationIndex.NearbyPartner partner
+                    : index.nearestAvailable(pickup.latitude(), pickup.longitude(), candidates, maxKm)) {
+                pairs.add(new Match(pickup.orderId(), partner.partnerId(), partner.distanceKm()));
+            }
+        }
+        pairs.sort(Comparator.comparingDouble(Match::distanceKm));
+
+        List<Match> matches = new ArrayList<>();
+        Set<Long> matchedOrders = new HashSet<>();
+        Set<Long> takenPartners = new HashSet<>();
+        for (Match pair : pairs) {
+            if (!matchedOrders.contains(pair.orderId()) && takenPartners.add(pair.partnerId())) {
+                matchedOrders.add(pair.orderId());
+                matches.add(pair);
+            }
+        }
+
+        for (Pickup pickup : pickups) {
+            if (matchedOrders.contains(pickup.orderId())) {
+                continue;
+            }
+            List<PartnerLocationIndex.NearbyPartner> next = index.nearestAvailable(
+                    pickup.latitude(), pickup.longitude(), 1, maxKm, takenPartners);
+            if (!next.isEmpty()) {
+                takenPartners.add(next.get(0).partnerId());
+                matches.add(new Match(pickup.orderId(), next.get(0).partnerId(), next.get(0).distanceKm()));
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ankit14.fooddeliverybackend.service.dispatch;
+
+import com.ankit14.fooddeliverybackend.service.geo.GeoGridIndex;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory index of delivery partner locations for nearest-partner queries.
+ * <p>
+ * Partners live in a {@link GeoGridIndex} at their last pinged location, so a
+ * query's cost depends on the partners near the pickup rather than on the
+ * total, and a ping only touches the partner's old and new cell. Partners not
+ * heard from within the time-to-live are skipped, and dropped by
+ * {@link #evictStale()}.
+ */
+public final class PartnerLocationIndex {
+
+    private final GeoGridIndex<PartnerLocation> grid;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    // Partners on an active order are not offered again until it is delivered or cancelled
+    private final Map<Long, Long> orderByPartner = new ConcurrentHashMap<>();
+    private final Map<Long, Long> partnerByOrder = new ConcurrentHashMap<>();
+
+    public PartnerLocationIndex(double cellSizeKm, Duration ttl) {
+        this(cellSizeKm, ttl, System::currentTimeMillis);
+    }
+
+    public PartnerLocationIndex(double cellSizeKm, Duration ttl, LongSupplier clock) {
+        this.grid = new GeoGridIndex<>(cellSizeKm);
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    private record PartnerLocation(long partnerId, boolean available, long seenAt) {
+    }
+
+    /**
+     * A candidate partner and its straight-line distance from the query point.
+     */
+    public record NearbyPartner(long partnerId, double distanceKm) {
+    }
+
+    /**
+     * Record a location ping.
+     *
+     * @param available false while the partner is on a break or going offline
+     */
+    public void update(long partnerId, double latitude, double longitude, boolean available) {
+        grid.put(partnerId, latitude, longitude, new PartnerLocation(partnerId, available, clock.getAsLong()));
+    }
+
+    public void remove(long partnerId) {
+        grid.remove(partnerId);
+    }
+
+    /**
+     * Drop partners whose last ping is older than the time-to-live.
+     *
+     * @return partners dropped
+     */
+    public int evictStale() {
+        long cutoff = clock.getAsLong() - ttlMillis;
+        return grid.removeIf(location -> location.seenAt() < cutoff);
+    }
+
+    public void markAssigned(long orderId, long partnerId) {
+        Long previous = partnerByOrder.put(orderId, partnerId);
+        if (previous != null && previous != partnerId) {
+            orderByPartner.remove(previous, orderId);
+        }
+        orderByPartner.put(partnerId, orderId);
+    }
+
+    public void release(long orderId) {
+        Long partnerId = partnerByOrder.remove(orderId);
+        if (partnerId != null) {
+            orderByPartner.remove(partnerId, orderId);
+        }
+    }
+
+    public boolean isAssigned(long partnerId) {
+        return orderByPartner.containsKey(partnerId);
+    }
+
+    public int size() {
+        return grid.size();
+    }
+
+    public List<NearbyPartner> nearestAvailable(double latitude, double longitude, int limit, double maxKm) {
+        return nearestAvailable(latitude, longitude, limit, maxKm, Set.of());
+    }
+
+    /**
+     * Up to {@code limit} available, unassigned partners within {@code maxKm},
+     * nearest first.
+     *
+     * @param excluded partners to leave out, such as ones already matched in this round
+     */
+    public List<NearbyPartner> nearestAvailable(double latitude, double longitude, int limit, double maxKm,
+            Set<Long> excluded) {
+        long cutoff = clock.getAsLong() - ttlMillis;
+        return grid.nearest(latitude, longitude, limit, maxKm,
+                        location -> location.available() && location.seenAt() >= cutoff
+                                && !orderByPartner.containsKey(location.partnerId())
+                                && !excluded.contains(location.partnerId()))
+                .stream()
+                .map(nearby -> new NearbyPartner(nearby.value().partnerId(), nearby.distanceKm()))
+                .toList();
+    }
+}
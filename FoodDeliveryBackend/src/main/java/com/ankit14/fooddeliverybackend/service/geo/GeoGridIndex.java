@@ -0,0 +1,173 @@
+package com.ankit14.fooddeliverybackend.service.geo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory grid index of points for nearest-neighbour and radius queries.
+ * <p>
+ * The map is cut into cells spanning the same number of degrees of latitude
+ * and longitude, {@code cellSizeKm} from north to south, each holding the
+ * points inside it. A query scans rings of cells outwards from the query point
+ * and stops once no unscanned cell can hold anything closer than the
+ * {@code limit}-th match found so far, so its cost depends on the points near
+ * the query rather than on the total. Moving a point only touches its old and
+ * new cell. Distances are straight-line on a local flat projection, which is
+ * accurate to well under a percent at city scale.
+ *
+ * @param <T> what is stored at each point
+ */
+public final class GeoGridIndex<T> {
+
+    /** Kilometres per degree of latitude (mean Earth radius). */
+    public static final double KM_PER_DEGREE = 6371.0 * Math.PI / 180;
+
+    private final double cellDegrees;
+
+    private final Map<Long, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, Entry<T>>> cells = new ConcurrentHashMap<>();
+
+    public GeoGridIndex(double cellSizeKm) {
+        if (cellSizeKm <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellDegrees = cellSizeKm / KM_PER_DEGREE;
+    }
+
+    private record Entry<T>(long id, T value, double latitude, double longitude, long cell) {
+    }
+
+    /**
+     * A match and its straight-line distance from the query point.
+     */
+    public record Nearby<T>(T value, double distanceKm) {
+    }
+
+    /**
+     * Add the point with this id, or move and replace it.
+     */
+    public void put(long id, double latitude, double longitude, T value) {
+        long cell = cellOf(latitude, longitude);
+        Entry<T> entry = new Entry<>(id, value, latitude, longitude, cell);
+        // Serialised per id, so its old and new cell are updated together
+        entries.compute(id, (key, previous) -> {
+            if (previous != null && previous.cell() != cell) {
+                removeFromCell(previous);
+            }
+            cells.compute(cell, (cellKey, members) -> {
+                Map<Long, Entry<T>> updated = members != null ? members : new ConcurrentHashMap<>();
+                updated.put(key, entry);
+                return updated;
+            });
+            return entry;
+        });
+    }
+
+    public void remove(long id) {
+        entries.computeIfPresent(id, (key, previous) -> removeFromCell(previous));
+    }
+
+    /**
+     * Remove every point whose stored value matches, each checked and removed
+     * atomically against concurrent puts of the same id.
+     *
+     * @return points removed
+     */
+    public int removeIf(Predicate<? super T> condition) {
+        int removed = 0;
+        for (Entry<T> entry : entries.values()) {
+            if (condition.test(entry.value()) && entries.computeIfPresent(entry.id(),
+                    (key, current) -> condition.test(current.value()) ? removeFromCell(current) : current) == null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Up to {@code limit} points within {@code maxKm} that pass the filter,
+     * nearest first.
+     */
+    public List<Nearby<T>> nearest(double latitude, double longitude, int limit, double maxKm,
+            Predicate<? super T> filter) {
+        if (limit < 1) {
+            return List.of();
+        }
+        double cosLatitude = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        // Longitude cells are the narrower side; any cell r rings out is at least r - 1 of them away
+        double ringKm = cellDegrees * KM_PER_DEGREE * cosLatitude;
+        int maxRing = (int) Math.ceil(maxKm / ringKm) + 1;
+        long row0 = (long) Math.floor(latitude / cellDegrees);
+        long column0 = (long) Math.floor(longitude / cellDegrees);
+
+        @SuppressWarnings("unchecked")
+        Nearby<T>[] best = new Nearby[limit];
+        int found = 0;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            double nearestUnscannedKm = (ring - 1) * ringKm;
+            if (nearestUnscannedKm > maxKm || found == limit && best[limit - 1].distanceKm() <= nearestUnscannedKm) {
+                break;
+            }
+            for (long row = row0 - ring; row <= row0 + ring; row++) {
+                boolean edgeRow = row == row0 - ring || row == row0 + ring;
+                long step = edgeRow ? 1 : Math.max(2L * ring, 1);
+                for (long column = column0 - ring; column <= column0 + ring; column += step) {
+                    Map<Long, Entry<T>> members = cells.get(key(row, column));
+                    if (members == null) {
+                        continue;
+                    }
+                    for (Entry<T> entry : members.values()) {
+                        double northKm = (entry.latitude() - latitude) * KM_PER_DEGREE;
+                        double eastKm = (entry.longitude() - longitude) * KM_PER_DEGREE * cosLatitude;
+                        double distanceKm = Math.sqrt(northKm * northKm + eastKm * eastKm);
+                        if (distanceKm <= maxKm && filter.test(entry.value())) {
+                            found = insert(best, found, new Nearby<>(entry.value(), distanceKm));
+                        }
+                    }
+                }
+            }
+        }
+        return List.of(Arrays.copyOf(best, found));
+    }
+
+    /**
+     * Insert into the sorted candidates, dropping the farthest when full.
+     *
+     * @return the new number of candidates
+     */
+    private static <T> int insert(Nearby<T>[] best, int found, Nearby<T> candidate) {
+        if (found == best.length && candidate.distanceKm() >= best[found - 1].distanceKm()) {
+            return found;
+        }
+        int position = Math.min(found, best.length - 1);
+        while (position > 0 && best[position - 1].distanceKm() > candidate.distanceKm()) {
+            best[position] = best[position - 1];
+            position--;
+        }
+        best[position] = candidate;
+        return Math.min(found + 1, best.length);
+    }
+
+    private Entry<T> removeFromCell(Entry<T> entry) {
+        cells.computeIfPresent(entry.cell(), (key, members) -> {
+            members.remove(entry.id());
+            return members.isEmpty() ? null : members;
+        });
+        return null;
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return key((long) Math.floor(latitude / cellDegrees), (long) Math.floor(longitude / cellDegrees));
+    }
+
+    private static long key(long row, long column) {
+        return row << 32 | column & 0xFFFFFFFFL;
+    }
+}
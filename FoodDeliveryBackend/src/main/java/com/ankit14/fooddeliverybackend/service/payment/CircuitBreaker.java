@@ -0,0 +1,58 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consecutive-failure circuit breaker for gateway calls.
+ * <p>
+ * After {@code failureThreshold} failures in a row the circuit opens and calls
+ * are refused for {@code openDuration}. Then a single trial call is let
+ * through per interval; a success closes the circuit, another failure keeps it
+ * open. Lock-free, so callers on virtual threads never block on it.
+ */
+class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openUntil = new AtomicLong();
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Whether a call may go ahead now. While open, returns true once per open
+     * interval for the trial call.
+     */
+    boolean allowRequest() {
+        if (consecutiveFailures.get() < failureThreshold) {
+            return true;
+        }
+        long until = openUntil.get();
+        long now = System.nanoTime();
+        return now - until >= 0 && openUntil.compareAndSet(until, now + openNanos);
+    }
+
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * @return true if this failure opened the circuit
+     */
+    boolean recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (failures >= failureThreshold) {
+            openUntil.set(System.nanoTime() + openNanos);
+        }
+        return failures == failureThreshold;
+    }
+
+    boolean isOpen() {
+        return consecutiveFailures.get() >= failureThreshold;
+    }
+}
@@ -0,0 +1,10 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+/**
+ * What the gateway needs to open an order for a payment.
+ *
+ * @param amountPaise amount in the currency's smallest unit
+ * @param receipt     our reference shown on the gateway side (the order number)
+ */
+public record GatewayOrderRequest(Long orderId, long amountPaise, String currency, String receipt) {
+}
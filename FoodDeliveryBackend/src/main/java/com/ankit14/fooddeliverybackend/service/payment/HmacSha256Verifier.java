@@ -0,0 +1,170 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Checks hex-encoded HMAC-SHA256 signatures for one key without per-call
+ * allocation.
+ * <p>
+ * Initialized {@link Mac} instances are pooled with their output buffers and
+ * reused; a fresh one is cloned from the keyed prototype only when the pool is
+ * empty. A pool rather than a {@code ThreadLocal}, since with virtual threads
+ * every request runs on a new thread. The expected signature is never
+ * hex-encoded: the given hex is decoded through a lookup table and compared
+ * with the digest in constant time.
+ */
+public final class HmacSha256Verifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int DIGEST_LENGTH = 32;
+    private static final int INVALID = 0x100;
+    private static final int[] HEX_VALUES = new int[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, INVALID);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = 10 + i;
+            HEX_VALUES['A' + i] = 10 + i;
+        }
+    }
+
+    private final Mac prototype;
+    private final BlockingQueue<Session> pool;
+
+    public HmacSha256Verifier(byte[] key, int poolSize) {
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+        pool = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    /**
+     * Whether {@code signature} is the HMAC of {@code data}.
+     */
+    public boolean verify(byte[] data, String signature) {
+        if (!isWellFormed(signature)) {
+            return false;
+        }
+        Session session = borrow();
+        try {
+            session.mac.update(data);
+            return matches(session.finish(), signature);
+        } finally {
+            pool.offer(session);
+        }
+    }
+
+    /**
+     * Whether {@code signature} is the HMAC of {@code first + separator + second},
+     * all ASCII, as in Razorpay's payment signatures.
+     */
+    public boolean verify(String first, char separator, String second, String signature) {
+        if (!isWellFormed(signature) || first == null || second == null || separator > 0x7f) {
+            return false;
+        }
+        Session session = borrow();
+        try {
+            boolean ascii = session.updateAscii(first);
+            session.mac.update((byte) separator);
+            if (!ascii || !session.updateAscii(second)) {
+                session.mac.reset();
+                return false;
+            }
+            return matches(session.finish(), signature);
+        } finally {
+            pool.offer(session);
+        }
+    }
+
+    private static boolean isWellFormed(String signature) {
+        return signature != null && signature.length() == DIGEST_LENGTH * 2;
+    }
+
+    /**
+     * Constant-time comparison of a digest with a hex string of the right
+     * length: every character is decoded whatever the earlier differences,
+     * and a non-hex character sets a bit no digest byte has.
+     */
+    private static boolean matches(byte[] digest, String signature) {
+        int diff = 0;
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            int high = hexValue(signature.charAt(2 * i));
+            int low = hexValue(signature.charAt(2 * i + 1));
+            diff |= ((high << 4) | low) ^ (digest[i] & 0xff);
+        }
+        return diff == 0;
+    }
+
+    private static int hexValue(char c) {
+        return c < HEX_VALUES.length ? HEX_VALUES[c] : INVALID;
+    }
+
+    private Session borrow() {
+        Session session = pool.poll();
+        if (session != null) {
+            return session;
+        }
+        try {
+            return new Session((Mac) prototype.clone());
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 provider does not support cloning", e);
+        }
+    }
+
+    /**
+     * A keyed {@link Mac} with scratch buffers for input and output.
+     */
+    private static final class Session {
+
+        private final Mac mac;
+        private final byte[] digest = new byte[DIGEST_LENGTH];
+        private byte[] scratch = new byte[64];
+
+        private Session(Mac mac) {
+            this.mac = mac;
+        }
+
+        /**
+         * @return false, without updating, if the value is not ASCII
+         */
+        private boolean updateAscii(String value) {
+            int length = value.length();
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c > 0x7f) {
+                    return false;
+                }
+                scratch[i] = (byte) c;
+            }
+            mac.update(scratch, 0, length);
+            return true;
+        }
+
+        /**
+         * Completes the MAC into the session's buffer and resets it for reuse.
+         */
+        private byte[] finish() {
+            try {
+                mac.doFinal(digest, 0);
+                return digest;
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
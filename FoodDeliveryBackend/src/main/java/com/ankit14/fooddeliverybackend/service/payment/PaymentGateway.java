@@ -0,0 +1,28 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import java.util.Optional;
+
+/**
+ * Creates orders on the payment gateway. Calls block on a remote service, so
+ * they are made from {@link PaymentOutboxWorker} outside any transaction.
+ * <p>
+ * Selected with {@code payment.gateway}: {@code razorpay} (default) or
+ * {@code stub}, a local fake for tests and load tests.
+ */
+public interface PaymentGateway {
+
+    /**
+     * @return the gateway's order id
+     * @throws PaymentGatewayException if the gateway did not create the order
+     */
+    String createOrder(GatewayOrderRequest request);
+
+    /**
+     * Look up an order already created for the request's receipt, for retries
+     * after an attempt that may have created one without recording it.
+     *
+     * @return the gateway's order id, or empty if there is none
+     * @throws PaymentGatewayException if the gateway could not be asked
+     */
+    Optional<String> findOrder(GatewayOrderRequest request);
+}
@@ -0,0 +1,20 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+/**
+ * A failed gateway call. Retryable failures (timeouts, 5xx, connection errors)
+ * count towards the circuit breaker and are attempted again with backoff;
+ * rejected requests fail the payment straight away.
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public PaymentGatewayException(String message, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,181 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import com.ankit14.fooddeliverybackend.event.PaymentStatusChangedEvent;
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.OutboxStatus;
+import com.ankit14.fooddeliverybackend.model.Payment;
+import com.ankit14.fooddeliverybackend.model.PaymentOutbox;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+import com.ankit14.fooddeliverybackend.repository.PaymentOutboxRepository;
+import com.ankit14.fooddeliverybackend.service.OptimisticRetry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Short transactions around a gateway call: enqueueing a payment, claiming its
+ * outbox entry, and recording the outcome. The call itself happens between
+ * them with no connection held. Outcomes are retried if the payment was
+ * updated concurrently, so a created gateway order is not lost to a conflict.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PaymentOutboxRepository outboxRepository;
+    private final OptimisticRetry optimisticRetry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${payment.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${payment.outbox.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${payment.outbox.max-backoff:1m}")
+    private Duration maxBackoff;
+
+    @Value("${payment.outbox.lease:2m}")
+    private Duration lease;
+
+    /**
+     * A claimed entry.
+     *
+     * @param gatewayOrderId the order an earlier attempt created, or null
+     * @param attempt        1 for the first attempt
+     */
+    public record Claim(GatewayOrderRequest request, String gatewayOrderId, int attempt) {
+    }
+
+    /**
+     * Queue a gateway order for a payment; joins the caller's transaction.
+     */
+    @Transactional
+    public void enqueue(Payment payment) {
+        outboxRepository.save(PaymentOutbox.builder().payment(payment).build());
+    }
+
+    /**
+     * Claim a due entry for one attempt. An entry whose attempts ran out
+     * without an outcome being recorded, such as when its worker died, is
+     * failed here instead.
+     *
+     * @return the claim, or empty if another worker got there first or attempts ran out
+     */
+    @Transactional
+    public Optional<Claim> claim(Long outboxId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxRepository.claim(outboxId, OutboxStatus.PENDING, now, now.plus(lease)) == 0) {
+            return Optional.empty();
+        }
+        PaymentOutbox entry = outboxRepository.getReferenceById(outboxId);
+        if (entry.getAttempts() > maxAttempts) {
+            fail(entry, "Gave up after " + maxAttempts + " attempts: " + entry.getLastError());
+            return Optional.empty();
+        }
+        Payment payment = entry.getPayment();
+        Order order = payment.getOrder();
+        GatewayOrderRequest request = new GatewayOrderRequest(order.getId(),
+                payment.getAmount().movePointRight(2).longValue(), payment.getCurrency(), order.getOrderNumber());
+        return Optional.of(new Claim(request, entry.getGatewayOrderId(), entry.getAttempts()));
+    }
+
+    /**
+     * Keep a created gateway order on the entry, so it is reused if recording
+     * the outcome fails and the entry is retried.
+     */
+    @Transactional
+    public void recordGatewayOrder(Long outboxId, String gatewayOrderId) {
+        outboxRepository.findById(outboxId).ifPresent(entry -> entry.setGatewayOrderId(gatewayOrderId));
+    }
+
+    public void complete(Long outboxId, String gatewayOrderId) {
+        optimisticRetry.run(() -> doComplete(outboxId, gatewayOrderId));
+    }
+
+    private void doComplete(Long outboxId, String gatewayOrderId) {
+        PaymentOutbox entry = outboxRepository.findById(outboxId).orElse(null);
+        if (entry == null) {
+            return;
+        }
+        entry.setStatus(OutboxStatus.DONE);
+        entry.setLastError(null);
+
+        Payment payment = entry.getPayment();
+        if (payment.getStatus() != PaymentStatus.PENDING_GATEWAY) {
+            log.warn("Payment {} moved to {} while its gateway order was created; dropping {}",
+                    payment.getId(), payment.getStatus(), gatewayOrderId);
+            return;
+        }
+        payment.setRazorpayOrderId(gatewayOrderId);
+        updateStatus(payment, PaymentStatus.CREATED, null);
+    }
+
+    /**
+     * Record a failed attempt: schedule the next one with exponential backoff
+     * and jitter, or fail the payment once attempts run out or the gateway
+     * rejected the request.
+     */
+    public void recordFailure(Long outboxId, PaymentGatewayException failure) {
+        optimisticRetry.run(() -> doRecordFailure(outboxId, failure));
+    }
+
+    private void doRecordFailure(Long outboxId, PaymentGatewayException failure) {
+        PaymentOutbox entry = outboxRepository.findById(outboxId).orElse(null);
+        if (entry == null) {
+            return;
+        }
+        String error = truncate(failure.getMessage());
+        entry.setLastError(error);
+
+        if (failure.isRetryable() && entry.getAttempts() < maxAttempts) {
+            entry.setNextAttemptAt(LocalDateTime.now().plus(backoff(entry.getAttempts())));
+            return;
+        }
+        fail(entry, error);
+    }
+
+    private void fail(PaymentOutbox entry, String error) {
+        entry.setStatus(OutboxStatus.FAILED);
+        entry.setLastError(truncate(error));
+        Payment payment = entry.getPayment();
+        if (payment.getStatus() == PaymentStatus.PENDING_GATEWAY) {
+            updateStatus(payment, PaymentStatus.FAILED, truncate("Payment gateway unavailable: " + error));
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        // Full jitter over the upper half, so retries after an outage do not arrive together
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+
+    private void updateStatus(Payment payment, PaymentStatus status, String failureReason) {
+        PaymentStatus previousStatus = payment.getStatus();
+        payment.setStatus(status);
+        payment.setFailureReason(failureReason);
+        Order order = payment.getOrder();
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(
+                payment.getId(), order.getId(), order.getRestaurant().getId(),
+                previousStatus, status, order.getTotalAmount(), order.getCreatedAt()));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,150 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import com.ankit14.fooddeliverybackend.event.PaymentStatusChangedEvent;
+import com.ankit14.fooddeliverybackend.model.OutboxStatus;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+import com.ankit14.fooddeliverybackend.repository.PaymentOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Creates gateway orders for queued payments.
+ * <p>
+ * Due outbox entries are polled on a fixed delay, and straight away when a
+ * payment is queued. Each is claimed and sent on its own virtual thread, at
+ * most {@code payment.outbox.max-concurrency} at a time, so a slow gateway
+ * backs work up in the outbox rather than in request threads or the
+ * connection pool. While the circuit breaker is open nothing is claimed and
+ * entries wait in the outbox without using up attempts.
+ * <p>
+ * A created gateway order is saved on the entry before the payment is
+ * updated, and a retry of an attempt that may have created one without saving
+ * it looks it up by receipt first, so retries do not open duplicate orders.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentOutboxWorker {
+
+    private final PaymentOutboxRepository outboxRepository;
+    private final PaymentOutboxService outboxService;
+    private final PaymentGateway paymentGateway;
+
+    @Value("${payment.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${payment.outbox.max-concurrency:32}")
+    private int maxConcurrency;
+
+    @Value("${payment.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${payment.circuit-breaker.open-duration:30s}")
+    private Duration openDuration;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("payment-gateway-", 0).factory());
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private Semaphore permits;
+    private CircuitBreaker circuitBreaker;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrency);
+        circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        if (event.newStatus() == PaymentStatus.PENDING_GATEWAY) {
+            executor.execute(this::poll);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.outbox.poll-interval-ms:500}")
+    public void poll() {
+        // One poll at a time; a queued payment arriving mid-poll is picked up by the next one
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int free = permits.availablePermits();
+            if (free == 0 || circuitBreaker.isOpen() && !circuitBreaker.allowRequest()) {
+                return;
+            }
+            List<Long> due = outboxRepository.findDueIds(OutboxStatus.PENDING, LocalDateTime.now(),
+                    Limit.of(circuitBreaker.isOpen() ? 1 : Math.min(batchSize, free)));
+            for (Long outboxId : due) {
+                if (!permits.tryAcquire()) {
+                    break;
+                }
+                executor.execute(() -> {
+                    try {
+                        dispatch(outboxId);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    private void dispatch(Long outboxId) {
+        Optional<PaymentOutboxService.Claim> claim = outboxService.claim(outboxId);
+        if (claim.isEmpty()) {
+            return;
+        }
+        GatewayOrderRequest request = claim.get().request();
+        try {
+            String gatewayOrderId = claim.get().gatewayOrderId();
+            if (gatewayOrderId == null) {
+                gatewayOrderId = createOrder(request, claim.get().attempt());
+                outboxService.recordGatewayOrder(outboxId, gatewayOrderId);
+            }
+            outboxService.complete(outboxId, gatewayOrderId);
+        } catch (PaymentGatewayException e) {
+            log.warn("Gateway order for {} failed: {}", request.receipt(), e.getMessage());
+            if (e.isRetryable() && circuitBreaker.recordFailure()) {
+                log.error("Payment gateway circuit opened after {} consecutive failures; pausing for {}",
+                        failureThreshold, openDuration);
+            }
+            outboxService.recordFailure(outboxId, e);
+        } catch (RuntimeException e) {
+            // Retried with backoff like a gateway failure, and counted against the entry's attempts
+            log.error("Processing payment outbox entry {} failed", outboxId, e);
+            outboxService.recordFailure(outboxId,
+                    new PaymentGatewayException("Processing failed: " + e.getMessage(), true, e));
+        }
+    }
+
+    private String createOrder(GatewayOrderRequest request, int attempt) {
+        // An earlier attempt may have created the order and died before saving it
+        Optional<String> existing = attempt > 1 ? paymentGateway.findOrder(request) : Optional.empty();
+        String gatewayOrderId = existing.orElseGet(() -> paymentGateway.createOrder(request));
+        circuitBreaker.recordSuccess();
+        return gatewayOrderId;
+    }
+}
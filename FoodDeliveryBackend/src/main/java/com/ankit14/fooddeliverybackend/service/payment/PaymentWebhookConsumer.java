@@ -0,0 +1,124 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import com.ankit14.fooddeliverybackend.event.PaymentWebhookReceivedEvent;
+import com.ankit14.fooddeliverybackend.model.PaymentWebhookEvent;
+import com.ankit14.fooddeliverybackend.model.WebhookEventStatus;
+import com.ankit14.fooddeliverybackend.repository.PaymentWebhookEventRepository;
+import com.ankit14.fooddeliverybackend.service.PaymentService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies received webhook events to payments in batches.
+ * <p>
+ * Pending events are read oldest first and grouped by Razorpay order, so each
+ * payment is loaded once per batch and its events are applied in one
+ * transaction, in the order Razorpay raised them.
+ * <p>
+ * A group that fails is retried on a later poll after a backoff, and marked
+ * {@code FAILED} when its attempts run out (see
+ * {@link PaymentWebhookInbox#recordFailure}). A poll pages past it by id, so
+ * it does not hold up other payments; later events for the same order wait
+ * behind it, so they are never applied ahead of it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentWebhookConsumer {
+
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final PaymentWebhookInbox webhookInbox;
+    private final PaymentService paymentService;
+
+    @Value("${payment.webhook.batch-size:200}")
+    private int batchSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("payment-webhooks").factory());
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWebhookReceived(PaymentWebhookReceivedEvent event) {
+        executor.execute(this::poll);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.webhook.poll-interval-ms:1000}")
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Razorpay orders whose events wait for a retry, or failed in this poll
+            Set<String> held = new HashSet<>();
+            long afterId = 0;
+            List<PaymentWebhookEvent> batch;
+            do {
+                batch = webhookEventRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                        WebhookEventStatus.PENDING, afterId, Limit.of(batchSize));
+                if (!batch.isEmpty()) {
+                    applyBatch(batch, held);
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == batchSize);
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    private void applyBatch(List<PaymentWebhookEvent> batch, Set<String> held) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, List<Long>> eventIdsByOrder = new LinkedHashMap<>();
+        for (PaymentWebhookEvent event : batch) {
+            String key = Objects.requireNonNullElse(event.getRazorpayOrderId(), "");
+            if (event.getNextAttemptAt() != null && event.getNextAttemptAt().isAfter(now)) {
+                held.add(key);
+            }
+            eventIdsByOrder.computeIfAbsent(key, k -> new ArrayList<>()).add(event.getId());
+        }
+
+        for (Map.Entry<String, List<Long>> group : eventIdsByOrder.entrySet()) {
+            if (held.contains(group.getKey())) {
+                continue;
+            }
+            try {
+                paymentService.applyWebhookEvents(group.getKey().isEmpty() ? null : group.getKey(), group.getValue());
+            } catch (RuntimeException e) {
+                log.error("Applying webhook events {} for {} failed", group.getValue(), group.getKey(), e);
+                held.add(group.getKey());
+                recordFailure(group.getValue(), e);
+            }
+        }
+    }
+
+    private void recordFailure(List<Long> eventIds, RuntimeException failure) {
+        try {
+            webhookInbox.recordFailure(eventIds, failure);
+        } catch (RuntimeException e) {
+            // The events stay pending and are retried on the next poll, without using up an attempt
+            log.error("Recording failed webhook events {} failed", eventIds, e);
+        }
+    }
+}
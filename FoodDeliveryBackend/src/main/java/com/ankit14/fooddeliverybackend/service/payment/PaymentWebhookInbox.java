@@ -0,0 +1,132 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import com.ankit14.fooddeliverybackend.event.PaymentWebhookReceivedEvent;
+import com.ankit14.fooddeliverybackend.model.PaymentWebhookEvent;
+import com.ankit14.fooddeliverybackend.model.WebhookEventStatus;
+import com.ankit14.fooddeliverybackend.repository.PaymentWebhookEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Durable inbox for Razorpay webhooks. Receiving an event is one insert, so
+ * the webhook is acknowledged without touching the payment row;
+ * {@link PaymentWebhookConsumer} applies it afterwards and records here when
+ * it could not.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentWebhookInbox {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${payment.webhook.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${payment.webhook.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${payment.webhook.max-backoff:1m}")
+    private Duration maxBackoff;
+
+    /**
+     * Store a verified webhook event. A concurrent delivery of the same event
+     * can still pass the existence check, in which case the unique event id
+     * fails the commit with a {@code DataIntegrityViolationException}.
+     *
+     * @return false if the event was already received
+     * @throws IllegalArgumentException if the payload is not a webhook event
+     */
+    @Transactional
+    public boolean append(String eventId, byte[] payload) {
+        if (webhookEventRepository.existsByEventId(eventId)) {
+            return false;
+        }
+
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(payload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Webhook payload is not JSON", e);
+        }
+        if (!root.path("event").isTextual()) {
+            throw new IllegalArgumentException("Webhook payload has no event type");
+        }
+        JsonNode payment = root.path("payload").path("payment").path("entity");
+        String errorDescription = text(payment, "error_description");
+
+        PaymentWebhookEvent event = webhookEventRepository.save(PaymentWebhookEvent.builder()
+                .eventId(eventId)
+                .eventType(root.path("event").asText())
+                .razorpayOrderId(text(payment, "order_id"))
+                .razorpayPaymentId(text(payment, "id"))
+                .errorDescription(errorDescription == null ? null : truncate(errorDescription))
+                .eventCreatedAt(root.has("created_at")
+                        ? LocalDateTime.ofInstant(Instant.ofEpochSecond(root.path("created_at").asLong()),
+                                ZoneId.systemDefault())
+                        : null)
+                .payload(new String(payload, StandardCharsets.UTF_8))
+                .build());
+
+        eventPublisher.publishEvent(new PaymentWebhookReceivedEvent(event.getId(), event.getRazorpayOrderId()));
+        return true;
+    }
+
+    /**
+     * Record a failed attempt at applying events: retry them after an
+     * exponential backoff, or mark them {@code FAILED} once attempts run out so
+     * they stop being read.
+     */
+    @Transactional
+    public void recordFailure(List<Long> eventIds, RuntimeException failure) {
+        LocalDateTime now = LocalDateTime.now();
+        String error = truncate(String.valueOf(failure.getMessage()));
+        for (PaymentWebhookEvent event : webhookEventRepository.findAllById(eventIds)) {
+            if (event.getStatus() != WebhookEventStatus.PENDING) {
+                continue;
+            }
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(error);
+            if (event.getAttempts() < maxAttempts) {
+                event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+            } else {
+                event.setStatus(WebhookEventStatus.FAILED);
+                event.setProcessedAt(now);
+                log.error("Webhook event {} for {} failed {} times; marked FAILED",
+                        event.getEventId(), event.getRazorpayOrderId(), event.getAttempts());
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(base, maxBackoff.toMillis()));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.path(field);
+        return value.isTextual() ? value.asText() : null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import lombok.RequiredArgsConstructor;
+import org.json.JSONObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Payment gateway backed by the Razorpay Orders API.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.gateway", havingValue = "razorpay", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RazorpayPaymentGateway implements PaymentGateway {
+
+    // Razorpay's error code for a request it rejected; anything else may succeed on retry
+    private static final String BAD_REQUEST_ERROR = "BAD_REQUEST_ERROR";
+
+    private final RazorpayClient razorpayClient;
+
+    @Override
+    public String createOrder(GatewayOrderRequest request) {
+        JSONObject orderRequest = new JSONObject();
+        orderRequest.put("amount", request.amountPaise());
+        orderRequest.put("currency", request.currency());
+        orderRequest.put("receipt", request.receipt());
+        orderRequest.put("notes", new JSONObject().put("orderId", request.orderId().toString()));
+
+        try {
+            com.razorpay.Order razorpayOrder = razorpayClient.orders.create(orderRequest);
+            return razorpayOrder.get("id");
+        } catch (RazorpayException e) {
+            boolean rejected = e.getMessage() != null && e.getMessage().contains(BAD_REQUEST_ERROR);
+            throw new PaymentGatewayException("Razorpay order creation failed: " + e.getMessage(), !rejected, e);
+        }
+    }
+
+    @Override
+    public Optional<String> findOrder(GatewayOrderRequest request) {
+        try {
+            List<com.razorpay.Order> orders = razorpayClient.orders.fetchAll(
+                    new JSONObject().put("receipt", request.receipt()));
+            // Receipts are order numbers, so any match was opened for this order
+            return orders.stream().map(order -> (String) order.get("id")).findFirst();
+        } catch (RazorpayException e) {
+            throw new PaymentGatewayException("Razorpay order lookup failed: " + e.getMessage(), true, e);
+        }
+    }
+}
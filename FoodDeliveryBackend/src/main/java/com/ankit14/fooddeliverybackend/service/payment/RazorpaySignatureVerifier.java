@@ -0,0 +1,48 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import com.ankit14.fooddeliverybackend.config.RazorpayConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Verifies Razorpay checkout and webhook signatures (HMAC-SHA256, hex), keyed
+ * once at startup with the API key secret and the webhook secret.
+ */
+@Component
+@RequiredArgsConstructor
+public class RazorpaySignatureVerifier {
+
+    private final RazorpayConfig razorpayConfig;
+
+    @Value("${payment.signature.pool-size:64}")
+    private int poolSize;
+
+    private HmacSha256Verifier paymentSignatures;
+    private HmacSha256Verifier webhookSignatures;
+
+    @PostConstruct
+    void init() {
+        paymentSignatures = new HmacSha256Verifier(
+                razorpayConfig.getKeySecret().getBytes(StandardCharsets.UTF_8), poolSize);
+        webhookSignatures = new HmacSha256Verifier(
+                razorpayConfig.getWebhookSecret().getBytes(StandardCharsets.UTF_8), poolSize);
+    }
+
+    /**
+     * Signature returned by Razorpay checkout: HMAC of {@code orderId|paymentId}.
+     */
+    public boolean verifyPayment(String razorpayOrderId, String razorpayPaymentId, String signature) {
+        return paymentSignatures.verify(razorpayOrderId, '|', razorpayPaymentId, signature);
+    }
+
+    /**
+     * {@code X-Razorpay-Signature}: HMAC of the raw request body.
+     */
+    public boolean verifyWebhook(byte[] payload, String signature) {
+        return webhookSignatures.verify(payload, signature);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for Razorpay: answers after a fixed latency with a random
+ * {@code order_stub_} id, failing a configurable share of calls. Used by tests,
+ * benchmarks and load tests so they neither need credentials nor hit the real
+ * gateway.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.gateway", havingValue = "stub")
+@Slf4j
+public class StubPaymentGateway implements PaymentGateway {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Value("${payment.stub.latency:150ms}")
+    private Duration latency;
+
+    @Value("${payment.stub.failure-rate:0.0}")
+    private double failureRate;
+
+    private final Map<String, String> ordersByReceipt = new ConcurrentHashMap<>();
+
+    @Override
+    public String createOrder(GatewayOrderRequest request) {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted", true, e);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < failureRate) {
+            throw new PaymentGatewayException("Stub gateway failure", true, null);
+        }
+        // Random rather than sequential, so ids stay unique across restarts against the same database
+        byte[] id = new byte[7];
+        random.nextBytes(id);
+        String orderId = "order_stub_" + HEX.formatHex(id);
+        ordersByReceipt.put(request.receipt(), orderId);
+        log.debug("Stub gateway created order for {}", request.receipt());
+        return orderId;
+    }
+
+    @Override
+    public Optional<String> findOrder(GatewayOrderRequest request) {
+        return Optional.ofNullable(ordersByReceipt.get(request.receipt()));
+    }
+}
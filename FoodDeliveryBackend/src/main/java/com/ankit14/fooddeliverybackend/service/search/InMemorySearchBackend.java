@@ -0,0 +1,109 @@
+package com.ankit14.fooddeliverybackend.service.search;
+
+import com.ankit14.fooddeliverybackend.event.MenuItemChangedEvent;
+import com.ankit14.fooddeliverybackend.event.RestaurantChangedEvent;
+import com.ankit14.fooddeliverybackend.repository.MenuItemRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.projection.MenuItemSearchRow;
+import com.ankit14.fooddeliverybackend.repository.projection.RestaurantSearchRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Search backend holding inverted indexes of restaurants and menu items in memory.
+ * <p>
+ * Built from the database at startup, then kept current from committed
+ * {@link RestaurantChangedEvent}s and {@link MenuItemChangedEvent}s. Each
+ * instance indexes only its own writes, so run a single instance or the
+ * {@code postgres} backend when scaling out.
+ */
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InMemorySearchBackend implements SearchBackend {
+
+    // Field weights: a name match outranks a cuisine/category match, which outranks a description match
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float TAG_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+
+    private volatile InvertedIndex restaurants = new InvertedIndex();
+    private volatile InvertedIndex menuItems = new InvertedIndex();
+
+    @Override
+    public SearchResult searchRestaurants(String query, Pageable pageable) {
+        return restaurants.search(query, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public SearchResult searchMenuItems(String query, Pageable pageable) {
+        return menuItems.search(query, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.searchable()) {
+            putRestaurant(restaurants, event.restaurantId(), event.name(), event.cuisine(), event.description());
+        } else {
+            restaurants.remove(event.restaurantId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuItemChanged(MenuItemChangedEvent event) {
+        if (event.searchable()) {
+            putMenuItem(menuItems, event.menuItemId(), event.name(), event.categoryName(), event.description());
+        } else {
+            menuItems.remove(event.menuItemId());
+        }
+    }
+
+    /**
+     * Index every active restaurant and available menu item and swap the new
+     * indexes in. Writes committed while this runs may be missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        InvertedIndex rebuiltRestaurants = new InvertedIndex();
+        for (RestaurantSearchRow row : restaurantRepository.findSearchRows()) {
+            putRestaurant(rebuiltRestaurants, row.getId(), row.getName(), row.getCuisine(), row.getDescription());
+        }
+
+        InvertedIndex rebuiltMenuItems = new InvertedIndex();
+        for (MenuItemSearchRow row : menuItemRepository.findSearchRows()) {
+            putMenuItem(rebuiltMenuItems, row.getId(), row.getName(), row.getCategoryName(), row.getDescription());
+        }
+
+        restaurants = rebuiltRestaurants;
+        menuItems = rebuiltMenuItems;
+        log.info("Indexed {} restaurants and {} menu items for search in {} ms",
+                rebuiltRestaurants.size(), rebuiltMenuItems.size(), System.currentTimeMillis() - start);
+    }
+
+    private static void putRestaurant(InvertedIndex index, Long id, String name, String cuisine, String description) {
+        index.put(id,
+                new InvertedIndex.Field(name, NAME_WEIGHT),
+                new InvertedIndex.Field(cuisine, TAG_WEIGHT),
+                new InvertedIndex.Field(description, DESCRIPTION_WEIGHT));
+    }
+
+    private static void putMenuItem(InvertedIndex index, Long id, String name, String categoryName,
+            String description) {
+        index.put(id,
+                new InvertedIndex.Field(name, NAME_WEIGHT),
+                new InvertedIndex.Field(categoryName, TAG_WEIGHT),
+                new InvertedIndex.Field(description, DESCRIPTION_WEIGHT));
+    }
+}
@@ -0,0 +1,242 @@
+package com.ankit14.fooddeliverybackend.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe inverted index with prefix and single-typo term matching.
+ * <p>
+ * Terms live in a sorted dictionary so prefixes are a range lookup. Every term
+ * is also filed under each of its one-character deletions, so a query term one
+ * edit away (insert, delete, substitute or adjacent swap) is found by looking
+ * up the query's own deletions instead of scanning the dictionary.
+ * <p>
+ * A document scores, per query term, the best of its matching terms weighted by
+ * match kind, field weight and inverse document frequency; every query term
+ * must match.
+ */
+final class InvertedIndex {
+
+    static final float EXACT = 1.0f;
+    static final float PREFIX = 0.6f;
+    static final float FUZZY = 0.4f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final Comparator<Map.Entry<Long, Float>> BY_SCORE = (a, b) -> {
+        int byScore = Float.compare(b.getValue(), a.getValue());
+        return byScore != 0 ? byScore : Long.compare(a.getKey(), b.getKey());
+    };
+
+    // term -> (document id -> weight of the term in that document)
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    // document id -> its terms, so a document can be replaced or removed
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    // term or one of its one-character deletions -> terms
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Text indexed for a document, with the weight its terms contribute.
+     */
+    record Field(String text, float weight) {
+    }
+
+    /**
+     * Index a document, replacing any previous version of it.
+     */
+    void put(Long id, Field... fields) {
+        Map<String, Float> weights = new HashMap<>();
+        for (Field field : fields) {
+            for (String term : new HashSet<>(SearchTokenizer.tokenize(field.text()))) {
+                weights.merge(term, field.weight(), Float::sum);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            weights.forEach((term, weight) -> {
+                Map<Long, Float> documents = postings.get(term);
+                if (documents == null) {
+                    documents = new HashMap<>();
+                    postings.put(term, documents);
+                    for (String key : deletionKeys(term)) {
+                        deletions.computeIfAbsent(key, k -> new HashSet<>()).add(term);
+                    }
+                }
+                documents.put(id, weight);
+            });
+            if (!weights.isEmpty()) {
+                documentTerms.put(id, weights.keySet());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    SearchResult search(String query, long offset, int limit) {
+        List<String> tokens = SearchTokenizer.tokenize(query).stream().distinct().toList();
+        if (tokens.isEmpty()) {
+            return SearchResult.EMPTY;
+        }
+
+        List<Map.Entry<Long, Float>> ranked;
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return SearchResult.EMPTY;
+                }
+            }
+            ranked = new ArrayList<>(scores.entrySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        ranked.sort(BY_SCORE);
+        List<Long> ids = ranked.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new SearchResult(ids, ranked.size());
+    }
+
+    // Caller holds the read lock
+    private Map<Long, Float> scoreToken(String token) {
+        Map<String, Float> matches = new HashMap<>();
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (String term : postings.subMap(token, true, token + Character.MAX_VALUE, false).keySet()) {
+                matches.put(term, term.length() == token.length() ? EXACT : PREFIX);
+            }
+        } else if (postings.containsKey(token)) {
+            matches.put(token, EXACT);
+        }
+
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            for (String key : deletionKeys(token)) {
+                for (String term : deletions.getOrDefault(key, Set.of())) {
+                    if (!matches.containsKey(term) && withinOneEdit(token, term)) {
+                        matches.put(term, FUZZY);
+                    }
+                }
+            }
+        }
+
+        int documentCount = documentTerms.size();
+        Map<Long, Float> scores = new HashMap<>();
+        matches.forEach((term, quality) -> {
+            Map<Long, Float> documents = postings.get(term);
+            float idf = (float) Math.log(1 + (double) documentCount / documents.size());
+            documents.forEach((id, weight) -> scores.merge(id, quality * weight * idf, Math::max));
+        });
+        return scores;
+    }
+
+    // Caller holds the write lock
+    private void removeLocked(Long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> documents = postings.get(term);
+            documents.remove(id);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+                for (String key : deletionKeys(term)) {
+                    Set<String> variants = deletions.get(key);
+                    if (variants != null && variants.remove(term) && variants.isEmpty()) {
+                        deletions.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The term itself plus every string left by deleting one of its characters.
+     * Terms too short to be within one edit of a fuzzy query term have none.
+     */
+    private static Set<String> deletionKeys(String term) {
+        if (term.length() < MIN_FUZZY_LENGTH - 1) {
+            return Set.of();
+        }
+        Set<String> keys = new HashSet<>();
+        keys.add(term);
+        for (int i = 0; i < term.length(); i++) {
+            keys.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Whether the strings differ by at most one insert, delete, substitution or
+     * swap of adjacent characters.
+     */
+    static boolean withinOneEdit(String a, String b) {
+        int lengthA = a.length();
+        int lengthB = b.length();
+        if (Math.abs(lengthA - lengthB) > 1) {
+            return false;
+        }
+
+        int i = 0;
+        while (i < Math.min(lengthA, lengthB) && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (i == lengthA && i == lengthB) {
+            return true;
+        }
+
+        if (lengthA == lengthB) {
+            if (a.regionMatches(i + 1, b, i + 1, lengthA - i - 1)) {
+                return true;
+            }
+            return i + 1 < lengthA
+                    && a.charAt(i) == b.charAt(i + 1)
+                    && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, lengthA - i - 2);
+        }
+        return lengthA > lengthB
+                ? a.regionMatches(i + 1, b, i, lengthB - i)
+                : a.regionMatches(i, b, i + 1, lengthA - i);
+    }
+}
@@ -0,0 +1,174 @@
+package com.ankit14.fooddeliverybackend.service.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Search backend using PostgreSQL full-text search with a trigram fallback.
+ * <p>
+ * Every query term is matched as a prefix against a weighted {@code tsvector}
+ * backed by a GIN index: name A, cuisine or category B, description C. Names
+ * that are only similar to the whole query ({@code pg_trgm}) also match, which
+ * covers typos. Indexed text goes through {@code unaccent}, so accents are
+ * folded as in the query terms and the in-memory backend.
+ * <p>
+ * A menu item's vector includes its category's name, so one query can match
+ * terms across the two ("spicy pizza" finds spicy items under Pizza). A
+ * joined table cannot be part of an expression index, so the vector is kept
+ * in a column, filled by a trigger on the item and refreshed by one on
+ * categories when a category is renamed.
+ * <p>
+ * The extensions, functions, triggers and indexes are created at startup if
+ * missing. Creating an extension needs privileges the application's role may
+ * lack; if setup fails it is logged and startup carries on, and searches fail
+ * until the extensions are installed and the application restarted.
+ */
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "postgres")
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresSearchBackend implements SearchBackend {
+
+    // Indexed expression; column qualifiers do not matter when the planner matches it to a query
+    private static final String RESTAURANT_VECTOR = "("
+            + "setweight(to_tsvector('simple', search_unaccent(coalesce(%1$sname, ''))), 'A') || "
+            + "setweight(to_tsvector('simple', search_unaccent(coalesce(%1$scuisine, ''))), 'B') || "
+            + "setweight(to_tsvector('simple', search_unaccent(coalesce(%1$sdescription, ''))), 'C'))";
+
+    private static final String R_VECTOR = RESTAURANT_VECTOR.formatted("r.");
+
+    private static final String RESTAURANT_MATCH = "r.is_active = true AND ("
+            + R_VECTOR + " @@ to_tsquery('simple', :tsquery) "
+            + "OR search_unaccent(r.name) % :query OR search_unaccent(r.cuisine) % :query)";
+    private static final String MENU_ITEM_MATCH = "m.is_available = true AND ("
+            + "m.search_vector @@ to_tsquery('simple', :tsquery) OR search_unaccent(m.name) % :query)";
+
+    private static final List<String> SETUP_DDL = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE EXTENSION IF NOT EXISTS unaccent",
+            // unaccent() is only STABLE, as its dictionary could change; naming the dictionary makes it indexable
+            "CREATE OR REPLACE FUNCTION search_unaccent(text) RETURNS text "
+                    + "LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT "
+                    + "AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$",
+            "CREATE OR REPLACE FUNCTION menu_item_search_vector(item text, description text, category text) "
+                    + "RETURNS tsvector LANGUAGE sql IMMUTABLE PARALLEL SAFE "
+                    + "AS $$ SELECT setweight(to_tsvector('simple', search_unaccent(coalesce(item, ''))), 'A') || "
+                    + "setweight(to_tsvector('simple', search_unaccent(coalesce(category, ''))), 'B') || "
+                    + "setweight(to_tsvector('simple', search_unaccent(coalesce(description, ''))), 'C') $$",
+            "ALTER TABLE menu_items ADD COLUMN IF NOT EXISTS search_vector tsvector",
+            "CREATE OR REPLACE FUNCTION menu_items_search_vector() RETURNS trigger LANGUAGE plpgsql "
+                    + "AS $$ BEGIN NEW.search_vector := menu_item_search_vector(NEW.name, NEW.description, "
+                    + "(SELECT c.name FROM categories c WHERE c.id = NEW.category_id)); RETURN NEW; END $$",
+            "DROP TRIGGER IF EXISTS menu_items_search_vector ON menu_items",
+            "CREATE TRIGGER menu_items_search_vector BEFORE INSERT OR UPDATE OF name, description, category_id "
+                    + "ON menu_items FOR EACH ROW EXECUTE FUNCTION menu_items_search_vector()",
+            "CREATE OR REPLACE FUNCTION categories_search_vector() RETURNS trigger LANGUAGE plpgsql "
+                    + "AS $$ BEGIN UPDATE menu_items SET search_vector = "
+                    + "menu_item_search_vector(name, description, NEW.name) WHERE category_id = NEW.id; "
+                    + "RETURN NULL; END $$",
+            "DROP TRIGGER IF EXISTS categories_search_vector ON categories",
+            "CREATE TRIGGER categories_search_vector AFTER UPDATE OF name ON categories FOR EACH ROW "
+                    + "WHEN (OLD.name IS DISTINCT FROM NEW.name) EXECUTE FUNCTION categories_search_vector()",
+            // Items written before the triggers existed
+            "UPDATE menu_items m SET search_vector = menu_item_search_vector(m.name, m.description, "
+                    + "(SELECT c.name FROM categories c WHERE c.id = m.category_id)) WHERE m.search_vector IS NULL",
+            "CREATE INDEX IF NOT EXISTS idx_restaurants_search ON restaurants USING GIN ("
+                    + RESTAURANT_VECTOR.formatted("") + ")",
+            "CREATE INDEX IF NOT EXISTS idx_restaurants_name_trgm ON restaurants "
+                    + "USING GIN (search_unaccent(name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_restaurants_cuisine_trgm ON restaurants "
+                    + "USING GIN (search_unaccent(cuisine) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_menu_items_search ON menu_items USING GIN (search_vector)",
+            "CREATE INDEX IF NOT EXISTS idx_menu_items_name_trgm ON menu_items "
+                    + "USING GIN (search_unaccent(name) gin_trgm_ops)",
+            // For the category trigger's update
+            "CREATE INDEX IF NOT EXISTS idx_menu_items_category ON menu_items (category_id)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        try {
+            SETUP_DDL.forEach(jdbcTemplate::execute);
+            log.info("PostgreSQL search indexes are in place");
+        } catch (DataAccessException e) {
+            log.error("Setting up PostgreSQL search failed; searches will fail until the pg_trgm and unaccent "
+                    + "extensions are installed and the application is restarted: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public SearchResult searchRestaurants(String query, Pageable pageable) {
+        MapSqlParameterSource params = params(query, pageable);
+        if (params == null) {
+            return SearchResult.EMPTY;
+        }
+
+        Long total = namedJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM restaurants r WHERE " + RESTAURANT_MATCH, params, Long.class);
+        if (total == null || total == 0) {
+            return SearchResult.EMPTY;
+        }
+        List<Long> ids = namedJdbcTemplate.queryForList(
+                "SELECT r.id FROM restaurants r WHERE " + RESTAURANT_MATCH
+                        + " ORDER BY ts_rank(" + R_VECTOR + ", to_tsquery('simple', :tsquery))"
+                        + " + similarity(search_unaccent(r.name), :query) DESC, r.id"
+                        + " LIMIT :limit OFFSET :offset",
+                params, Long.class);
+        return new SearchResult(ids, total);
+    }
+
+    @Override
+    public SearchResult searchMenuItems(String query, Pageable pageable) {
+        MapSqlParameterSource params = params(query, pageable);
+        if (params == null) {
+            return SearchResult.EMPTY;
+        }
+
+        Long total = namedJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM menu_items m WHERE " + MENU_ITEM_MATCH, params, Long.class);
+        if (total == null || total == 0) {
+            return SearchResult.EMPTY;
+        }
+        List<Long> ids = namedJdbcTemplate.queryForList(
+                "SELECT m.id FROM menu_items m WHERE " + MENU_ITEM_MATCH
+                        + " ORDER BY ts_rank(m.search_vector, to_tsquery('simple', :tsquery))"
+                        + " + similarity(search_unaccent(m.name), :query) DESC, m.id"
+                        + " LIMIT :limit OFFSET :offset",
+                params, Long.class);
+        return new SearchResult(ids, total);
+    }
+
+    /**
+     * Query parameters, or null if the query has no searchable terms. Terms come
+     * from the tokenizer, so they are plain alphanumerics and safe in a tsquery.
+     */
+    private static MapSqlParameterSource params(String query, Pageable pageable) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        String tsquery = tokens.stream()
+                .distinct()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        return new MapSqlParameterSource()
+                .addValue("query", String.join(" ", tokens))
+                .addValue("tsquery", tsquery)
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+    }
+}
@@ -0,0 +1,22 @@
+package com.ankit14.fooddeliverybackend.service.search;
+
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Full-text search over active restaurants and available menu items.
+ * <p>
+ * Selected with {@code search.backend}: {@code memory} (default) keeps an
+ * in-process inverted index, {@code postgres} queries tsvector/trigram indexes.
+ */
+public interface SearchBackend {
+
+    /**
+     * Ids of matching active restaurants, best match first.
+     */
+    SearchResult searchRestaurants(String query, Pageable pageable);
+
+    /**
+     * Ids of matching available menu items, best match first.
+     */
+    SearchResult searchMenuItems(String query, Pageable pageable);
+}
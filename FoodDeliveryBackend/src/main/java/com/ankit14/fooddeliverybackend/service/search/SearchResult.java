@@ -0,0 +1,11 @@
+package com.ankit14.fooddeliverybackend.service.search;
+
+import java.util.List;
+
+/**
+ * One page of ranked document ids and the total number of matches.
+ */
+public record SearchResult(List<Long> ids, long total) {
+
+    public static final SearchResult EMPTY = new SearchResult(List.of(), 0);
+}
@@ -0,0 +1,281 @@
+package com.ankit14.fooddeliverybackend.service.tracking;
+
+import com.ankit14.fooddeliverybackend.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of server-sent events to subscribers grouped by topic.
+ * <p>
+ * An idle subscriber is an open async request and a few small objects, with
+ * no thread and no preallocated buffer. Publishing builds the event once and
+ * queues it per subscriber without blocking; a small sender pool writes the
+ * queues out, one drain per subscriber at a time so events stay in order. A
+ * subscriber that falls {@code tracking.max-pending-events} behind is
+ * disconnected, and reconnects to a fresh snapshot, instead of buffering
+ * without bound. Heartbeat comments keep proxies from closing idle streams
+ * and weed out dead connections.
+ * <p>
+ * Senders are platform threads: {@link SseEmitter} writes inside a
+ * synchronized method, which would pin a virtual thread's carrier whenever a
+ * slow client blocks the write. A write to a client that stopped reading only
+ * returns when the container's socket timeout fires, so a write still going
+ * after {@code tracking.write-timeout} disconnects its subscriber, and the
+ * pool gets a thread in place of the stuck one until it returns, up to
+ * {@code tracking.max-sender-threads}. Stalled clients therefore cannot hold
+ * up the other streams.
+ */
+@Component
+@Slf4j
+public class OrderTrackingHub {
+
+    // Subscriber.sendStartedAt outside a write, and once the hub gave up on the write in progress
+    private static final long IDLE = 0;
+    private static final long STALLED = Long.MIN_VALUE;
+
+    @Value("${tracking.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${tracking.max-pending-events:32}")
+    private int maxPendingEvents;
+
+    @Value("${tracking.connection-timeout:30m}")
+    private Duration connectionTimeout;
+
+    @Value("${tracking.sender-threads:8}")
+    private int senderThreads;
+
+    @Value("${tracking.max-sender-threads:64}")
+    private int maxSenderThreads;
+
+    @Value("${tracking.write-timeout:10s}")
+    private Duration writeTimeout;
+
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+    // Subscribers with a write in progress, at most one per sender thread
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger stalledSends = new AtomicInteger();
+    private ThreadPoolExecutor senders;
+
+    @PostConstruct
+    void init() {
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), Thread.ofPlatform().name("tracking-sender-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+        topics.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+    }
+
+    /**
+     * Open a stream on a topic; {@code initial} events are queued ahead of
+     * anything published afterwards.
+     *
+     * @throws ServiceUnavailableException if the subscriber limit is reached
+     */
+    @SafeVarargs
+    public final SseEmitter subscribe(String topic, Set<DataWithMediaType>... initial) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many tracking connections, retry later");
+        }
+
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(topic, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        for (Set<DataWithMediaType> event : initial) {
+            subscriber.offer(event);
+        }
+        topics.compute(topic, (key, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        return emitter;
+    }
+
+    /**
+     * Queue an event for every subscriber of a topic.
+     */
+    public void publish(String topic, Set<DataWithMediaType> event) {
+        Set<Subscriber> subscribers = topics.get(topic);
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${tracking.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(heartbeat)));
+    }
+
+    /**
+     * Disconnect subscribers whose write has been blocked longer than the
+     * write timeout, and stand in for their sender threads meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${tracking.write-check-interval-ms:1000}")
+    public void checkStalledSends() {
+        long cutoff = System.nanoTime() - writeTimeout.toNanos();
+        for (Subscriber subscriber : sending) {
+            long startedAt = subscriber.sendStartedAt.get();
+            if (startedAt == IDLE || startedAt == STALLED || startedAt - cutoff >= 0) {
+                continue;
+            }
+            // Counted first, so the send returning right after cannot take the count below zero
+            stalledSends.incrementAndGet();
+            if (!subscriber.sendStartedAt.compareAndSet(startedAt, STALLED)) {
+                stalledSends.decrementAndGet();
+                continue;
+            }
+            log.debug("Disconnecting tracking subscriber on {}: write blocked for over {}",
+                    subscriber.topic, writeTimeout);
+            resizeSenders();
+            subscriber.disconnect();
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(connectionTimeout.toMillis());
+    }
+
+    private synchronized void resizeSenders() {
+        int size = Math.min(senderThreads + stalledSends.get(), Math.max(senderThreads, maxSenderThreads));
+        // The core size may never exceed the maximum, so the order depends on the direction
+        if (size > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        topics.computeIfPresent(subscriber.topic, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final String topic;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Set when the hub, rather than the client, ends the stream; the drain then completes the emitter
+        private final AtomicBoolean disconnected = new AtomicBoolean();
+        // System.nanoTime() when the write in progress started, or IDLE or STALLED
+        private final AtomicLong sendStartedAt = new AtomicLong(IDLE);
+
+        private Subscriber(String topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                log.debug("Disconnecting slow tracking subscriber on {}", topic);
+                disconnect();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        /**
+         * Stop taking events and complete the stream. Completing waits for a
+         * write that may be stuck on this client, so it is left to the drain:
+         * the running one once its write returns, or a new one.
+         */
+        void disconnect() {
+            disconnected.set(true);
+            close();
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<DataWithMediaType> event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    send(event);
+                }
+                if (closed.get()) {
+                    // Draining stays set, so nothing is sent after this
+                    pending.clear();
+                    if (disconnected.get()) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void send(Set<DataWithMediaType> event) {
+            // Odd, so it is never IDLE or STALLED
+            sendStartedAt.set(System.nanoTime() | 1);
+            sending.add(this);
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container reports it through onError/onCompletion too
+                close();
+            } finally {
+                sending.remove(this);
+                if (sendStartedAt.getAndSet(IDLE) == STALLED) {
+                    stalledSends.decrementAndGet();
+                    resizeSenders();
+                }
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscriberCount.decrementAndGet();
+                remove(this);
+            }
+        }
+    }
+}
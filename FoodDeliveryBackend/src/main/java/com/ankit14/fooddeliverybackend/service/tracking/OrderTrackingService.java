@@ -0,0 +1,179 @@
+package com.ankit14.fooddeliverybackend.service.tracking;
+
+import com.ankit14.fooddeliverybackend.dto.order.OrderTrackingEvent;
+import com.ankit14.fooddeliverybackend.event.DeliveryPartnerAssignedEvent;
+import com.ankit14.fooddeliverybackend.event.OrderCreatedEvent;
+import com.ankit14.fooddeliverybackend.event.OrderStatusChangedEvent;
+import com.ankit14.fooddeliverybackend.event.PaymentStatusChangedEvent;
+import com.ankit14.fooddeliverybackend.exception.ResourceNotFoundException;
+import com.ankit14.fooddeliverybackend.model.Role;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.projection.OrderParticipants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Live order tracking over server-sent events, replacing polling of the order
+ * endpoints.
+ * <p>
+ * Committed order, payment and delivery assignment events are pushed to
+ * subscribers of the order, its restaurant and its delivery partner. A new
+ * order subscription starts with a snapshot of the order's status, so clients
+ * need no separate read after (re)connecting. Topics are in-process: with
+ * several instances, each pushes only the changes it committed itself.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderTrackingService {
+
+    private static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+    private final OrderTrackingHub hub;
+    private final OrderRepository orderRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Follow one order: its customer, restaurant owner, delivery partner or an admin.
+     */
+    public SseEmitter subscribeToOrder(Long orderId) {
+        OrderParticipants order = orderRepository.findParticipantsById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        User user = getCurrentUser();
+        boolean participant = user.getRole() == Role.ADMIN
+                || Objects.equals(user.getId(), order.getCustomerId())
+                || Objects.equals(user.getId(), order.getRestaurantOwnerId())
+                || Objects.equals(user.getId(), order.getDeliveryPartnerId());
+        if (!participant) {
+            throw new AccessDeniedException("Not a participant of order " + orderId);
+        }
+
+        return hub.subscribe(orderTopic(orderId), toSse(OrderTrackingEvent.builder()
+                .type(OrderTrackingEvent.SNAPSHOT)
+                .orderId(orderId)
+                .restaurantId(order.getRestaurantId())
+                .orderStatus(order.getStatus())
+                .deliveryPartnerId(order.getDeliveryPartnerId())
+                .occurredAt(LocalDateTime.now())
+                .build()));
+    }
+
+    /**
+     * Follow every order of a restaurant: its owner or an admin.
+     */
+    public SseEmitter subscribeToRestaurant(Long restaurantId) {
+        User user = getCurrentUser();
+        if (user.getRole() != Role.ADMIN && !restaurantRepository.existsByIdAndOwnerId(restaurantId, user.getId())) {
+            throw new AccessDeniedException("Not the owner of restaurant " + restaurantId);
+        }
+        return hub.subscribe(restaurantTopic(restaurantId));
+    }
+
+    /**
+     * Follow the orders assigned to the current delivery partner.
+     */
+    public SseEmitter subscribeAsDeliveryPartner() {
+        return hub.subscribe(deliveryPartnerTopic(getCurrentUser().getId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        hub.publish(restaurantTopic(event.restaurantId()), toSse(OrderTrackingEvent.builder()
+                .type(OrderTrackingEvent.ORDER_CREATED)
+                .orderId(event.orderId())
+                .restaurantId(event.restaurantId())
+                .orderStatus(event.status())
+                .occurredAt(event.createdAt())
+                .build()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Set<DataWithMediaType> sse = toSse(OrderTrackingEvent.builder()
+                .type(OrderTrackingEvent.STATUS_CHANGED)
+                .orderId(event.orderId())
+                .restaurantId(event.restaurantId())
+                .orderStatus(event.newStatus())
+                .previousOrderStatus(event.previousStatus())
+                .deliveryPartnerId(event.deliveryPartnerId())
+                .occurredAt(LocalDateTime.now())
+                .build());
+        hub.publish(orderTopic(event.orderId()), sse);
+        hub.publish(restaurantTopic(event.restaurantId()), sse);
+        if (event.deliveryPartnerId() != null) {
+            hub.publish(deliveryPartnerTopic(event.deliveryPartnerId()), sse);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        Set<DataWithMediaType> sse = toSse(OrderTrackingEvent.builder()
+                .type(OrderTrackingEvent.PAYMENT_STATUS_CHANGED)
+                .orderId(event.orderId())
+                .restaurantId(event.restaurantId())
+                .paymentStatus(event.newStatus())
+                .occurredAt(LocalDateTime.now())
+                .build());
+        hub.publish(orderTopic(event.orderId()), sse);
+        hub.publish(restaurantTopic(event.restaurantId()), sse);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryPartnerAssigned(DeliveryPartnerAssignedEvent event) {
+        Set<DataWithMediaType> sse = toSse(OrderTrackingEvent.builder()
+                .type(OrderTrackingEvent.DELIVERY_PARTNER_ASSIGNED)
+                .orderId(event.orderId())
+                .restaurantId(event.restaurantId())
+                .orderStatus(event.orderStatus())
+                .deliveryPartnerId(event.deliveryPartnerId())
+                .occurredAt(LocalDateTime.now())
+                .build());
+        hub.publish(orderTopic(event.orderId()), sse);
+        hub.publish(restaurantTopic(event.restaurantId()), sse);
+        hub.publish(deliveryPartnerTopic(event.deliveryPartnerId()), sse);
+    }
+
+    /**
+     * Serialized once here, however many subscribers receive it.
+     */
+    private Set<DataWithMediaType> toSse(OrderTrackingEvent event) {
+        try {
+            return SseEmitter.event()
+                    .name(event.getType())
+                    .data(objectMapper.writeValueAsString(event), JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize tracking event", e);
+        }
+    }
+
+    private static String orderTopic(Long orderId) {
+        return "order:" + orderId;
+    }
+
+    private static String restaurantTopic(Long restaurantId) {
+        return "restaurant:" + restaurantId;
+    }
+
+    private static String deliveryPartnerTopic(Long deliveryPartnerId) {
+        return "delivery-partner:" + deliveryPartnerId;
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+}
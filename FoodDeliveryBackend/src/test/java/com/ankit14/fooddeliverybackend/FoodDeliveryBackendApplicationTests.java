@@ -3,7 +3,7 @@ package com.ankit14.fooddeliverybackend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "payment.gateway=stub")
 class FoodDeliveryBackendApplicationTests {
 
     @Test
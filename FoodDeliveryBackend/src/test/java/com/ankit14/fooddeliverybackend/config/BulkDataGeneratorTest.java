@@ -0,0 +1,87 @@
+package com.ankit14.fooddeliverybackend.config;
+
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.Restaurant;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import com.ankit14.fooddeliverybackend.service.OrderNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Id ranges reserved for bulk rows are never handed out again, by a later
+ * reservation or by Hibernate's pooled sequence blocks.
+ */
+@SpringBootTest(properties = {
+        "payment.gateway=stub",
+        "spring.jpa.show-sql=false",
+        // A database of its own, as the bulk rows would skew counts in other cached test contexts
+        "spring.datasource.url=jdbc:h2:mem:bulk-data-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "bulk-data.restaurants=3",
+        "bulk-data.menu-items-per-restaurant=4",
+        "bulk-data.customers=5",
+        "bulk-data.orders=20"
+})
+@ActiveProfiles("bulk-data")
+class BulkDataGeneratorTest {
+
+    // More than two of Hibernate's 50-id blocks
+    private static final int SAVED_ORDERS = 120;
+
+    @Autowired
+    private BulkDataGenerator bulkDataGenerator;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Test
+    void consecutiveReservationsDoNotOverlap() {
+        long first = bulkDataGenerator.reserveIds("orders_seq", 1000);
+        long second = bulkDataGenerator.reserveIds("orders_seq", 10);
+
+        assertEquals(first + 1000, second);
+    }
+
+    @Test
+    void entitiesSavedAfterAReservationGetIdsOutsideIt() {
+        User customer = userRepository.findByEmail("customer@test.com").orElseThrow();
+        Restaurant restaurant = restaurantRepository.findAll().get(0);
+        // Hibernate holds a block from the seed data; the reservation starts past it
+        orderRepository.save(order(customer, restaurant));
+
+        long base = bulkDataGenerator.reserveIds("orders_seq", 200);
+
+        for (int i = 0; i < SAVED_ORDERS; i++) {
+            long id = orderRepository.save(order(customer, restaurant)).getId();
+            assertFalse(id >= base && id < base + 200, "Order id " + id + " is in the reserved range");
+        }
+    }
+
+    private Order order(User customer, Restaurant restaurant) {
+        return Order.builder()
+                .orderNumber(orderNumberGenerator.next())
+                .customer(customer)
+                .restaurant(restaurant)
+                .subtotal(new BigDecimal("200.00"))
+                .totalAmount(new BigDecimal("240.00"))
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.ankit14.fooddeliverybackend.config;
+
+import com.ankit14.fooddeliverybackend.service.OrderNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderNumberConfigTest {
+
+    private static final String POSTGRES_URL = "jdbc:postgresql://db:5432/zwiggy";
+
+    @Test
+    void sharedDatabaseRequiresANodeId() {
+        OrderNumberConfig config = config("", false, POSTGRES_URL);
+
+        assertThrows(IllegalStateException.class, config::orderNumberGenerator);
+    }
+
+    @Test
+    void configuredNodeIdIsUsed() {
+        OrderNumberGenerator generator = config(" 12 ", false, POSTGRES_URL).orderNumberGenerator();
+
+        assertNotNull(generator.next());
+    }
+
+    @Test
+    void singleInstanceMayDeriveItsNodeId() {
+        assertNotNull(config("", true, POSTGRES_URL).orderNumberGenerator());
+        assertNotNull(config("", false, "jdbc:h2:mem:zwiggydb;DB_CLOSE_DELAY=-1").orderNumberGenerator());
+    }
+
+    private static OrderNumberConfig config(String nodeId, boolean singleInstance, String datasourceUrl) {
+        OrderNumberConfig config = new OrderNumberConfig();
+        ReflectionTestUtils.setField(config, "nodeId", nodeId);
+        ReflectionTestUtils.setField(config, "singleInstance", singleInstance);
+        ReflectionTestUtils.setField(config, "datasourceUrl", datasourceUrl);
+        return config;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ankit14.fooddeliverybackend.controller;
+
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Menu snapshots are sent gzip-compressed to clients that accept it, under an
+ * ETag of their own, and as plain JSON to the rest.
+ */
+@SpringBootTest(properties = {
+        "payment.gateway=stub",
+        "spring.jpa.show-sql=false",
+        // Every seeded menu is small; compress them all
+        "server.compression.min-response-size=1B"
+})
+@AutoConfigureMockMvc
+class MenuControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    private String menuPath;
+
+    @BeforeEach
+    void setUp() {
+        menuPath = "/api/menu/restaurant/" + restaurantRepository.findAll().get(0).getId();
+    }
+
+    @Test
+    void gzipCopyIsServedToClientsThatAcceptIt() throws Exception {
+        MvcResult plain = mockMvc.perform(get(menuPath)).andExpect(status().isOk()).andReturn();
+        MvcResult gzipped = mockMvc.perform(get(menuPath).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk()).andReturn();
+
+        assertNull(plain.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", gzipped.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(plain.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        assertTrue(gzipped.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        assertArrayEquals(plain.getResponse().getContentAsByteArray(),
+                gunzip(gzipped.getResponse().getContentAsByteArray()));
+        assertNotEquals(plain.getResponse().getHeader(HttpHeaders.ETAG),
+                gzipped.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void refusedGzipIsNotServed() throws Exception {
+        MvcResult result = mockMvc.perform(get(menuPath).header(HttpHeaders.ACCEPT_ENCODING, "*, gzip;q=0"))
+                .andExpect(status().isOk()).andReturn();
+
+        assertNull(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void eachEncodingRevalidatesAgainstItsOwnTag() throws Exception {
+        String gzipTag = mockMvc.perform(get(menuPath).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(menuPath).header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(menuPath).header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+                .andExpect(status().isOk());
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.event.OrderCreatedEvent;
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.projection.OrderStatusAggregate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalyticsAggregateStoreTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final AnalyticsAggregateStore store = new AnalyticsAggregateStore(orderRepository, transactionManager);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        store.init();
+    }
+
+    @Test
+    void eventsArrivingDuringRebuildAreKeptAfterTheSwap() {
+        // Ten placed orders in the database; one more is committed while the rebuild is reading
+        OrderStatusAggregate placed = statusRow(OrderStatus.PLACED, 10, "1000.00");
+        when(orderRepository.aggregateByStatus()).thenAnswer(invocation -> {
+            store.onOrderCreated(new OrderCreatedEvent(11L, 1L, OrderStatus.PLACED, new BigDecimal("100.00"),
+                    LocalDateTime.now()));
+            return List.of(placed);
+        });
+
+        store.rebuild();
+
+        AnalyticsAggregateStore.Snapshot snapshot = store.snapshot();
+        assertEquals(11, snapshot.totalOrders());
+        assertEquals(11, snapshot.ordersWithStatus(OrderStatus.PLACED));
+        assertEquals(new BigDecimal("1100.00"), snapshot.totalAmount());
+        assertEquals(1, snapshot.restaurant(1L).orders());
+    }
+
+    @Test
+    void laterRebuildsDoNotReplayEarlierEvents() {
+        OrderStatusAggregate placed = statusRow(OrderStatus.PLACED, 10, "1000.00");
+        when(orderRepository.aggregateByStatus()).thenReturn(List.of(placed));
+        store.rebuild();
+
+        store.onOrderCreated(new OrderCreatedEvent(11L, 1L, OrderStatus.PLACED, new BigDecimal("100.00"),
+                LocalDateTime.now()));
+        store.rebuild();
+
+        assertEquals(10, store.snapshot().totalOrders());
+    }
+
+    @Test
+    void rebuildReadsFromOneReadOnlyRepeatableReadTransaction() {
+        when(orderRepository.aggregateByStatus()).thenReturn(List.of());
+
+        store.rebuild();
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.isReadOnly()
+                        && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+    }
+
+    private static OrderStatusAggregate statusRow(OrderStatus status, long count, String amount) {
+        OrderStatusAggregate row = mock(OrderStatusAggregate.class);
+        when(row.getStatus()).thenReturn(status);
+        when(row.getOrderCount()).thenReturn(count);
+        when(row.getTotalAmount()).thenReturn(new BigDecimal(amount));
+        return row;
+    }
+}
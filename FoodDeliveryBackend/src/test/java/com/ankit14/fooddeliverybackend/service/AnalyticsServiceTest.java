@@ -0,0 +1,39 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.exception.BadRequestException;
+import com.ankit14.fooddeliverybackend.repository.MenuItemRepository;
+import com.ankit14.fooddeliverybackend.repository.OrderItemRepository;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalyticsServiceTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final AnalyticsAggregateStore aggregateStore = mock(AnalyticsAggregateStore.class);
+    private final AnalyticsService analyticsService = new AnalyticsService(orderRepository,
+            mock(UserRepository.class), mock(RestaurantRepository.class), mock(MenuItemRepository.class),
+            mock(OrderItemRepository.class), aggregateStore);
+
+    @Test
+    void revenueRangeMustBeBetweenOneDayAndAYear() {
+        when(aggregateStore.snapshot()).thenReturn(new AnalyticsAggregateStore.Snapshot(0, null, null,
+                Map.of(), Map.of(), Map.of(), Map.of()));
+        when(orderRepository.aggregatePaidByDaySince(any())).thenReturn(List.of());
+
+        assertThrows(BadRequestException.class, () -> analyticsService.getRevenueStats(0));
+        assertThrows(BadRequestException.class, () -> analyticsService.getRevenueStats(367));
+        assertThrows(BadRequestException.class, () -> analyticsService.getRevenueStats(Integer.MAX_VALUE));
+        assertEquals(366, analyticsService.getRevenueStats(366).getDailyRevenues().size());
+    }
+}
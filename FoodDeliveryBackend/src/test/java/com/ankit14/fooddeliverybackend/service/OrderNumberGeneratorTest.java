@@ -0,0 +1,112 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderNumberGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500_000;
+
+    @Test
+    void concurrentIdsAreUniqueAndIncreasingPerThread() throws Exception {
+        OrderNumberGenerator generator = new OrderNumberGenerator(7);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    long[] ids = new long[IDS_PER_THREAD];
+                    start.await();
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> result : results) {
+                long[] ids = result.get();
+                for (int i = 1; i < ids.length; i++) {
+                    assertTrue(ids[i] > ids[i - 1], "ids went backwards within a thread");
+                }
+                System.arraycopy(ids, 0, all, offset, ids.length);
+                offset += ids.length;
+            }
+
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertTrue(all[i] != all[i - 1], "duplicate id " + all[i]);
+            }
+        }
+    }
+
+    @Test
+    void nodesNeverCollideAtTheSameInstant() {
+        long[] ids = new long[2 * 10_000];
+        OrderNumberGenerator first = new OrderNumberGenerator(1, () -> OrderNumberGenerator.EPOCH_MILLIS);
+        OrderNumberGenerator second = new OrderNumberGenerator(2, () -> OrderNumberGenerator.EPOCH_MILLIS);
+        for (int i = 0; i < ids.length; i += 2) {
+            ids[i] = first.nextId();
+            ids[i + 1] = second.nextId();
+        }
+        assertEquals(ids.length, Arrays.stream(ids).distinct().count());
+    }
+
+    @Test
+    void staysMonotonicWhenTheClockStepsBackOrTheSequenceRunsOut() {
+        AtomicLong clock = new AtomicLong(OrderNumberGenerator.EPOCH_MILLIS + 1_000);
+        OrderNumberGenerator generator = new OrderNumberGenerator(0, clock::get);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            // More ids than one millisecond holds, then a clock step back
+            if (i == 5_000) {
+                clock.addAndGet(-500);
+            }
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void textFormSortsLikeTheIds() {
+        OrderNumberGenerator generator = new OrderNumberGenerator(3);
+        String[] numbers = new String[10_000];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = generator.next();
+            assertEquals(17, numbers[i].length());
+            assertTrue(numbers[i].startsWith(OrderNumberGenerator.PREFIX));
+        }
+        String[] sorted = numbers.clone();
+        Arrays.sort(sorted);
+        assertTrue(Arrays.equals(numbers, sorted));
+
+        assertEquals("ORD-0000000000000", OrderNumberGenerator.format(0));
+        assertEquals("ORD-7ZZZZZZZZZZZZ", OrderNumberGenerator.format(Long.MAX_VALUE));
+    }
+
+    @Test
+    void rejectsNodeIdsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrderNumberGenerator(OrderNumberGenerator.MAX_NODE_ID + 1));
+    }
+}
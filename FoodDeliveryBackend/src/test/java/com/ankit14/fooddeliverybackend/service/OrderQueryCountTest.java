@@ -0,0 +1,262 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.dto.common.CursorResponse;
+import com.ankit14.fooddeliverybackend.dto.common.PagedResponse;
+import com.ankit14.fooddeliverybackend.dto.order.OrderResponse;
+import com.ankit14.fooddeliverybackend.model.Address;
+import com.ankit14.fooddeliverybackend.model.MenuItem;
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.OrderItem;
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.Payment;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+import com.ankit14.fooddeliverybackend.model.Restaurant;
+import com.ankit14.fooddeliverybackend.model.Role;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.AddressRepository;
+import com.ankit14.fooddeliverybackend.repository.MenuItemRepository;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.PaymentRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * SQL statements per order read: a page costs the same few statements
+ * however many orders, items and payments it holds, so lazy loading per
+ * order (N+1) shows up as a changed count.
+ */
+@SpringBootTest(properties = {
+        "payment.gateway=stub",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Statistics are global: no pollers running statements alongside the test
+        "scheduling.enabled=false"
+})
+class OrderQueryCountTest {
+
+    private static final int PAGE_SIZE = 20;
+    // More than a page, so paged reads also run their count query
+    private static final int ORDERS = PAGE_SIZE + 5;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Restaurant restaurant;
+    private List<Long> orderIds;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // A customer and restaurant of their own, so orders placed by other tests do not change the pages
+        long suffix = System.nanoTime();
+        User owner = userRepository.save(user("Count Owner", "count-owner-" + suffix, Role.RESTAURANT));
+        User customer = userRepository.save(user("Count Customer", "count-customer-" + suffix, Role.CUSTOMER));
+        User partner = userRepository.save(user("Count Partner", "count-partner-" + suffix, Role.DELIVERY_PARTNER));
+        restaurant = restaurantRepository.save(Restaurant.builder()
+                .name("Count Kitchen " + suffix)
+                .cuisine("Indian")
+                .address("1 Count Street")
+                .city("Bangalore")
+                .owner(owner)
+                .build());
+        Address address = addressRepository.save(Address.builder()
+                .street("2 Count Street")
+                .city("Bangalore")
+                .state("Karnataka")
+                .pincode("560001")
+                .user(customer)
+                .build());
+        List<MenuItem> menu = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            menu.add(MenuItem.builder()
+                    .name("Dish " + i)
+                    .price(new BigDecimal("100.00"))
+                    .restaurant(restaurant)
+                    .build());
+        }
+        menu = menuItemRepository.saveAll(menu);
+
+        orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = Order.builder()
+                    .orderNumber(orderNumberGenerator.next())
+                    .customer(customer)
+                    .restaurant(restaurant)
+                    .deliveryAddress(address)
+                    .deliveryPartner(partner)
+                    .status(OrderStatus.OUT_FOR_DELIVERY)
+                    .subtotal(new BigDecimal("300.00"))
+                    .totalAmount(new BigDecimal("345.00"))
+                    .build();
+            for (MenuItem item : menu) {
+                order.getItems().add(OrderItem.builder()
+                        .order(order)
+                        .menuItem(item)
+                        .quantity(1)
+                        .unitPrice(item.getPrice())
+                        .totalPrice(item.getPrice())
+                        .build());
+            }
+            order = orderRepository.save(order);
+            paymentRepository.save(Payment.builder()
+                    .order(order)
+                    .amount(order.getTotalAmount())
+                    .status(PaymentStatus.SUCCESS)
+                    .build());
+            orderIds.add(order.getId());
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(customer, null, customer.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void customerOrderPageTakesIdsCountAndOneGraphFetch() {
+        statistics.clear();
+        PagedResponse<OrderResponse> page = orderService.getCustomerOrders(0, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertFullyLoaded(page.getContent());
+        assertEquals(ORDERS, page.getTotalElements());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void restaurantOrderPageTakesIdsCountAndOneGraphFetch() {
+        statistics.clear();
+        PagedResponse<OrderResponse> page = orderService.getRestaurantOrders(restaurant.getId(), 0, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertFullyLoaded(page.getContent());
+        assertEquals(ORDERS, page.getTotalElements());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void customerCursorPagesTakeIdsAndOneGraphFetch() {
+        statistics.clear();
+        CursorResponse<OrderResponse> first = orderService.getCustomerOrders(null, PAGE_SIZE, false);
+        assertEquals(PAGE_SIZE, first.getContent().size());
+        assertFullyLoaded(first.getContent());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        CursorResponse<OrderResponse> next = orderService.getCustomerOrders(first.getNextCursor(), PAGE_SIZE, false);
+        assertFullyLoaded(next.getContent());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertFollows(first, next);
+    }
+
+    @Test
+    void restaurantCursorPagesTakeIdsAndOneGraphFetch() {
+        statistics.clear();
+        CursorResponse<OrderResponse> first = orderService.getRestaurantOrders(
+                restaurant.getId(), null, PAGE_SIZE, false);
+        assertEquals(PAGE_SIZE, first.getContent().size());
+        assertFullyLoaded(first.getContent());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        CursorResponse<OrderResponse> next = orderService.getRestaurantOrders(
+                restaurant.getId(), first.getNextCursor(), PAGE_SIZE, false);
+        assertFullyLoaded(next.getContent());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertFollows(first, next);
+    }
+
+    @Test
+    void orderDetailTakesOneStatement() {
+        statistics.clear();
+        OrderResponse order = orderService.getOrderById(orderIds.get(0));
+
+        assertFullyLoaded(List.of(order));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // The second page holds the remaining orders, none of them repeated from the first
+    private static void assertFollows(CursorResponse<OrderResponse> first, CursorResponse<OrderResponse> next) {
+        assertEquals(ORDERS - PAGE_SIZE, next.getContent().size());
+        Set<Long> ids = new HashSet<>();
+        first.getContent().forEach(order -> ids.add(order.getId()));
+        next.getContent().forEach(order -> ids.add(order.getId()));
+        assertEquals(ORDERS, ids.size());
+        assertNull(next.getNextCursor());
+    }
+
+    // Touching everything the mapper reads is already done by mapToResponse; this checks it was there to read
+    private static void assertFullyLoaded(List<OrderResponse> orders) {
+        for (OrderResponse order : orders) {
+            assertEquals(ITEMS_PER_ORDER, order.getItems().size());
+            assertNotNull(order.getItems().get(0).getMenuItemName());
+            assertNotNull(order.getPayment());
+            assertNotNull(order.getCustomerName());
+            assertNotNull(order.getRestaurantName());
+            assertNotNull(order.getDeliveryAddress());
+            assertNotNull(order.getDeliveryPartnerName());
+        }
+    }
+
+    private static User user(String name, String emailPrefix, Role role) {
+        return User.builder()
+                .name(name)
+                .email(emailPrefix + "@test.com")
+                .password("unused")
+                .phone(String.format("95%08d", USERS.incrementAndGet()))
+                .role(role)
+                .build();
+    }
+}
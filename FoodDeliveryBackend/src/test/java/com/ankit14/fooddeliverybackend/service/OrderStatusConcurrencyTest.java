@@ -0,0 +1,209 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.exception.BadRequestException;
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.Restaurant;
+import com.ankit14.fooddeliverybackend.model.Role;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Concurrent status changes on the same orders: every change that reports
+ * success must be reflected in the final row, and none may take a row lock
+ * with {@code SELECT ... FOR UPDATE}.
+ */
+@SpringBootTest(properties = {
+        "payment.gateway=stub",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.ankit14.fooddeliverybackend.service.OrderStatusConcurrencyTest$LockingStatements"
+})
+class OrderStatusConcurrencyTest {
+
+    private static final int ORDERS = 100;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    private User customer;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+        customer = userRepository.findByEmail("customer@test.com").orElseThrow();
+        restaurant = restaurantRepository.findAll().get(0);
+        LockingStatements.COUNT.set(0);
+    }
+
+    @Test
+    void confirmCancelAndAssignRacesLoseNoUpdates() throws Exception {
+        User partner = userRepository.save(User.builder()
+                .name("Race Partner")
+                .email("race-partner-" + System.nanoTime() + "@test.com")
+                .password("unused")
+                .phone("9666666666")
+                .role(Role.DELIVERY_PARTNER)
+                .build());
+        List<Long> orderIds = placeOrders(ORDERS);
+
+        // Restaurant confirms, customer cancels and an admin assigns a partner, all at once
+        List<Callable<Long>> actions = new ArrayList<>();
+        for (Long id : orderIds) {
+            actions.add(() -> succeeded(() -> orderService.updateOrderStatus(id, OrderStatus.CONFIRMED), id));
+            actions.add(() -> succeeded(() -> orderService.cancelOrder(id), id));
+            actions.add(() -> succeeded(() -> orderService.assignDeliveryPartner(id, partner.getId()), id));
+        }
+        int[] successes = new int[ORDERS];
+        for (Long id : runConcurrently(actions)) {
+            if (id != null) {
+                successes[orderIds.indexOf(id)]++;
+            }
+        }
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = orderRepository.findById(orderIds.get(i)).orElseThrow();
+            // Cancelling is valid from both PLACED and CONFIRMED, so it always applies in the end
+            assertEquals(OrderStatus.CANCELLED, order.getStatus());
+            // Each reported success bumped the version exactly once
+            assertEquals(successes[i], order.getVersion().longValue());
+        }
+        assertEquals(0, LockingStatements.COUNT.get());
+    }
+
+    @Test
+    void contendedLifecycleAppliesEachTransitionOnce() throws Exception {
+        Long id = placeOrders(1).get(0);
+        AtomicInteger applied = new AtomicInteger();
+
+        // Every thread tries to move the order one step further until it is delivered
+        List<Callable<Long>> actions = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            actions.add(() -> {
+                OrderStatus status;
+                while ((status = orderRepository.findStatusById(id).orElseThrow()) != OrderStatus.DELIVERED) {
+                    OrderStatus target = next(status);
+                    if (succeeded(() -> orderService.updateOrderStatus(id, target), id) != null) {
+                        applied.incrementAndGet();
+                    }
+                }
+                return id;
+            });
+        }
+        runConcurrently(actions);
+
+        Order order = orderRepository.findById(id).orElseThrow();
+        assertEquals(OrderStatus.DELIVERED, order.getStatus());
+        assertNotNull(order.getActualDeliveryTime());
+        assertEquals(4, applied.get());
+        assertEquals(4, order.getVersion().longValue());
+        assertEquals(0, LockingStatements.COUNT.get());
+    }
+
+    private List<Long> placeOrders(int count) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            orders.add(Order.builder()
+                    .orderNumber(orderNumberGenerator.next())
+                    .customer(customer)
+                    .restaurant(restaurant)
+                    .status(OrderStatus.PLACED)
+                    .subtotal(new BigDecimal("300.00"))
+                    .totalAmount(new BigDecimal("345.00"))
+                    .build());
+        }
+        return orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+    }
+
+    /**
+     * @return the order id if the call succeeded, null if it was rejected as
+     * invalid for the status it found or kept losing to other writers
+     */
+    private static Long succeeded(Runnable call, Long id) {
+        try {
+            call.run();
+            return id;
+        } catch (BadRequestException | ConcurrencyFailureException e) {
+            return null;
+        }
+    }
+
+    private static List<Long> runConcurrently(List<Callable<Long>> actions) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (Callable<Long> action : actions) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return action.call();
+                }));
+            }
+            start.countDown();
+            List<Long> results = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    private static OrderStatus next(OrderStatus status) {
+        return switch (status) {
+            case PLACED -> OrderStatus.CONFIRMED;
+            case CONFIRMED -> OrderStatus.PREPARING;
+            case PREPARING -> OrderStatus.OUT_FOR_DELIVERY;
+            default -> OrderStatus.DELIVERED;
+        };
+    }
+
+    /**
+     * Counts statements that lock rows for reading.
+     */
+    public static class LockingStatements implements StatementInspector {
+
+        static final AtomicInteger COUNT = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.toLowerCase(Locale.ROOT).contains(" for update")) {
+                COUNT.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ankit14.fooddeliverybackend.service;
+
+import com.ankit14.fooddeliverybackend.dto.payment.PaymentResponse;
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.PaymentRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent first payment requests for an order share one payment.
+ */
+@SpringBootTest(properties = {
+        "payment.gateway=stub",
+        "spring.jpa.show-sql=false"
+})
+class PaymentServiceTest {
+
+    private static final int ORDERS = 20;
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Test
+    void concurrentFirstCallsReturnTheSamePayment() throws Exception {
+        User customer = userRepository.findByEmail("customer@test.com").orElseThrow();
+        for (int i = 0; i < ORDERS; i++) {
+            Long orderId = orderRepository.save(Order.builder()
+                    .orderNumber(orderNumberGenerator.next())
+                    .customer(customer)
+                    .restaurant(restaurantRepository.findAll().get(0))
+                    .subtotal(new BigDecimal("200.00"))
+                    .totalAmount(new BigDecimal("240.00"))
+                    .build()).getId();
+
+            List<PaymentResponse> responses = createConcurrently(orderId);
+
+            Long paymentId = paymentRepository.findByOrderId(orderId).orElseThrow().getId();
+            for (PaymentResponse response : responses) {
+                assertEquals(paymentId, response.getId());
+                assertTrue(response.getStatus() == PaymentStatus.PENDING_GATEWAY
+                        || response.getStatus() == PaymentStatus.CREATED);
+            }
+        }
+    }
+
+    private List<PaymentResponse> createConcurrently(Long orderId) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<PaymentResponse>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return paymentService.createPaymentOrder(orderId);
+                }));
+            }
+            start.countDown();
+            List<PaymentResponse> responses = new ArrayList<>();
+            for (Future<PaymentResponse> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ankit14.fooddeliverybackend.service.dispatch;
+
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.Restaurant;
+import com.ankit14.fooddeliverybackend.model.Role;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import com.ankit14.fooddeliverybackend.repository.projection.OrderParticipants;
+import com.ankit14.fooddeliverybackend.service.OrderNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Dispatch rounds against the database: orders nobody is near must not keep
+ * newer orders out of the batch.
+ */
+@SpringBootTest(properties = {
+        "payment.gateway=stub",
+        "spring.jpa.show-sql=false",
+        // A database of its own, so the waiting orders are exactly the ones created here
+        "spring.datasource.url=jdbc:h2:mem:dispatch-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "scheduling.enabled=false",
+        "dispatch.batch-size=2",
+        "dispatch.max-radius-km=1.0",
+        "dispatch.unmatched-backoff=1h"
+})
+class DeliveryDispatcherTest {
+
+    @Autowired
+    private DeliveryDispatcher dispatcher;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Test
+    void ordersWithNoPartnerInRangeDoNotStarveNewerOrders() {
+        // Seeded restaurants about 5 km apart
+        Restaurant unserved = restaurant("Pizza Palace");
+        Restaurant served = restaurant("Burger Barn");
+        User partner = userRepository.save(User.builder()
+                .name("Dispatch Partner")
+                .email("dispatch-partner@test.com")
+                .password("unused")
+                .phone("9555555555")
+                .role(Role.DELIVERY_PARTNER)
+                .build());
+        dispatcher.updateLocation(partner.getId(), served.getLatitude(), served.getLongitude(), true);
+
+        // The two oldest fill a whole batch, and no partner is within range of them
+        Order first = preparingOrder(unserved);
+        Order second = preparingOrder(unserved);
+        Order newer = preparingOrder(served);
+
+        dispatcher.dispatch();
+        assertNull(participants(newer).getDeliveryPartnerId());
+
+        // The next round pages past the two that found no partner
+        dispatcher.dispatch();
+        assertEquals(partner.getId(), participants(newer).getDeliveryPartnerId());
+        assertNull(participants(first).getDeliveryPartnerId());
+        assertNull(participants(second).getDeliveryPartnerId());
+    }
+
+    private Restaurant restaurant(String name) {
+        return restaurantRepository.findAll().stream()
+                .filter(restaurant -> restaurant.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Order preparingOrder(Restaurant restaurant) {
+        return orderRepository.save(Order.builder()
+                .orderNumber(orderNumberGenerator.next())
+                .customer(userRepository.findByEmail("customer@test.com").orElseThrow())
+                .restaurant(restaurant)
+                .subtotal(new BigDecimal("200.00"))
+                .totalAmount(new BigDecimal("240.00"))
+                .status(OrderStatus.PREPARING)
+                .build());
+    }
+
+    private OrderParticipants participants(Order order) {
+        return orderRepository.findParticipantsById(order.getId()).orElseThrow();
+    }
+}
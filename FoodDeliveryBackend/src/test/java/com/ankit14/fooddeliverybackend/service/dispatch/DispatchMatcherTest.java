@@ -0,0 +1,72 @@
+package com.ankit14.fooddeliverybackend.service.dispatch;
+
+import com.ankit14.fooddeliverybackend.service.dispatch.DispatchMatcher.Match;
+import com.ankit14.fooddeliverybackend.service.dispatch.DispatchMatcher.Pickup;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.ankit14.fooddeliverybackend.service.geo.GeoGridIndex.KM_PER_DEGREE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DispatchMatcherTest {
+
+    private static final double LATITUDE = 19.0760;
+    private static final double LONGITUDE = 72.8777;
+
+    private final PartnerLocationIndex index = new PartnerLocationIndex(1.0, Duration.ofMinutes(2));
+
+    @Test
+    void sharedNearestPartnerGoesToTheCloserPickup() {
+        // Partner 1 is nearest to both pickups; order 11 is closer to it, so order 10 takes partner 2
+        index.update(1, north(1.0), LONGITUDE, true);
+        index.update(2, north(-1.5), LONGITUDE, true);
+        List<Pickup> pickups = List.of(new Pickup(10, LATITUDE, LONGITUDE), new Pickup(11, north(1.2), LONGITUDE));
+
+        List<Match> matches = DispatchMatcher.match(pickups, index, 3, 8);
+
+        assertEquals(List.of(new Match(11, 1, 0.2), new Match(10, 2, 1.5)), rounded(matches));
+    }
+
+    @Test
+    void everyPartnerIsMatchedAtMostOnce() {
+        index.update(1, north(0.1), LONGITUDE, true);
+        List<Pickup> pickups = List.of(new Pickup(10, LATITUDE, LONGITUDE), new Pickup(11, north(0.3), LONGITUDE));
+
+        List<Match> matches = DispatchMatcher.match(pickups, index, 3, 8);
+
+        assertEquals(List.of(new Match(10, 1, 0.1)), rounded(matches));
+    }
+
+    @Test
+    void pickupWhoseCandidatesAllWentElsewhereSearchesAgain() {
+        // With one candidate each, both pickups want partner 1; the loser then finds partner 2 farther out
+        index.update(1, north(0.5), LONGITUDE, true);
+        index.update(2, north(-4), LONGITUDE, true);
+        List<Pickup> pickups = List.of(new Pickup(10, LATITUDE, LONGITUDE), new Pickup(11, north(0.6), LONGITUDE));
+
+        List<Match> matches = DispatchMatcher.match(pickups, index, 1, 8);
+
+        assertEquals(List.of(new Match(11, 1, 0.1), new Match(10, 2, 4.0)), rounded(matches));
+    }
+
+    @Test
+    void pickupsWithNoPartnerInRangeStayUnmatched() {
+        index.update(1, north(10), LONGITUDE, true);
+        index.update(2, north(0.5), LONGITUDE, false);
+
+        assertEquals(List.of(), DispatchMatcher.match(List.of(new Pickup(10, LATITUDE, LONGITUDE)), index, 3, 8));
+    }
+
+    private static double north(double km) {
+        return LATITUDE + km / KM_PER_DEGREE;
+    }
+
+    private static List<Match> rounded(List<Match> matches) {
+        return matches.stream()
+                .map(match -> new Match(match.orderId(), match.partnerId(),
+                        Math.round(match.distanceKm() * 1000) / 1000.0))
+                .toList();
+    }
+}
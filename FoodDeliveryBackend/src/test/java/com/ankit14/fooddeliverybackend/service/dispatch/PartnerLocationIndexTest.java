@@ -0,0 +1,96 @@
+package com.ankit14.fooddeliverybackend.service.dispatch;
+
+import com.ankit14.fooddeliverybackend.service.dispatch.PartnerLocationIndex.NearbyPartner;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.ankit14.fooddeliverybackend.service.geo.GeoGridIndex.KM_PER_DEGREE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartnerLocationIndexTest {
+
+    private static final double LATITUDE = 19.0760;
+    private static final double LONGITUDE = 72.8777;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final PartnerLocationIndex index = new PartnerLocationIndex(1.0, Duration.ofMinutes(2), now::get);
+
+    @Test
+    void returnsNearestPartnersFirstWithinRadius() {
+        index.update(1, north(3), LONGITUDE, true);
+        index.update(2, north(1), LONGITUDE, true);
+        index.update(3, north(2), LONGITUDE, true);
+        index.update(4, north(9), LONGITUDE, true);
+
+        List<NearbyPartner> nearest = index.nearestAvailable(LATITUDE, LONGITUDE, 10, 8);
+
+        assertEquals(List.of(2L, 3L, 1L), partnerIds(nearest));
+        assertEquals(1.0, nearest.get(0).distanceKm(), 1e-9);
+        assertEquals(List.of(2L, 3L), partnerIds(index.nearestAvailable(LATITUDE, LONGITUDE, 2, 8)));
+    }
+
+    @Test
+    void skipsUnavailableAssignedAndExcludedPartners() {
+        index.update(1, north(1), LONGITUDE, false);
+        index.update(2, north(2), LONGITUDE, true);
+        index.update(3, north(3), LONGITUDE, true);
+        index.update(4, north(4), LONGITUDE, true);
+        index.markAssigned(100, 2);
+
+        assertTrue(index.isAssigned(2));
+        assertEquals(List.of(4L), partnerIds(index.nearestAvailable(LATITUDE, LONGITUDE, 1, 8, Set.of(3L))));
+    }
+
+    @Test
+    void releasedPartnersAreOfferedAgain() {
+        index.update(1, LATITUDE, LONGITUDE, true);
+        index.markAssigned(100, 1);
+        // Reassigned by hand: the first partner is free, the second is not
+        index.markAssigned(100, 2);
+
+        assertFalse(index.isAssigned(1));
+        assertTrue(index.isAssigned(2));
+        assertEquals(List.of(1L), partnerIds(index.nearestAvailable(LATITUDE, LONGITUDE, 1, 8)));
+
+        index.markAssigned(101, 1);
+        index.release(101);
+        assertEquals(List.of(1L), partnerIds(index.nearestAvailable(LATITUDE, LONGITUDE, 1, 8)));
+    }
+
+    @Test
+    void latestPingMovesThePartner() {
+        index.update(1, north(6), LONGITUDE, true);
+        index.update(1, north(0.5), LONGITUDE, true);
+
+        List<NearbyPartner> nearest = index.nearestAvailable(LATITUDE, LONGITUDE, 5, 8);
+
+        assertEquals(List.of(1L), partnerIds(nearest));
+        assertEquals(0.5, nearest.get(0).distanceKm(), 1e-9);
+    }
+
+    @Test
+    void stalePartnersAreSkippedThenEvicted() {
+        index.update(1, LATITUDE, LONGITUDE, true);
+        now.addAndGet(Duration.ofMinutes(1).toMillis());
+        index.update(2, north(1), LONGITUDE, true);
+        now.addAndGet(Duration.ofSeconds(90).toMillis());
+
+        assertEquals(List.of(2L), partnerIds(index.nearestAvailable(LATITUDE, LONGITUDE, 5, 8)));
+        assertEquals(1, index.evictStale());
+        assertEquals(1, index.size());
+    }
+
+    private static double north(double km) {
+        return LATITUDE + km / KM_PER_DEGREE;
+    }
+
+    private static List<Long> partnerIds(List<NearbyPartner> nearby) {
+        return nearby.stream().map(NearbyPartner::partnerId).toList();
+    }
+}
@@ -0,0 +1,172 @@
+package com.ankit14.fooddeliverybackend.service.geo;
+
+import com.ankit14.fooddeliverybackend.service.geo.GeoGridIndex.Nearby;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static com.ankit14.fooddeliverybackend.service.geo.GeoGridIndex.KM_PER_DEGREE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeoGridIndexTest {
+
+    private static final double CELL_KM = 1.0;
+    private static final double CELL_DEGREES = CELL_KM / KM_PER_DEGREE;
+
+    // Bengaluru, snapped to a cell corner so offsets below land on known sides of cell edges
+    private static final double LATITUDE = Math.floor(12.97 / CELL_DEGREES) * CELL_DEGREES;
+    private static final double LONGITUDE = Math.floor(77.59 / CELL_DEGREES) * CELL_DEGREES;
+
+    private final GeoGridIndex<String> index = new GeoGridIndex<>(CELL_KM);
+
+    @Test
+    void nearerPointAcrossCellEdgeBeatsFartherPointInSameCell() {
+        // Query just inside the east edge of its cell
+        double latitude = LATITUDE + CELL_DEGREES / 2;
+        double longitude = LONGITUDE + CELL_DEGREES * 0.99;
+        index.put(1, latitude, longitude - CELL_DEGREES * 0.9, "same cell");
+        index.put(2, latitude, LONGITUDE + CELL_DEGREES * 1.01, "next cell");
+
+        assertEquals(List.of("next cell"), values(index.nearest(latitude, longitude, 1, 10, value -> true)));
+    }
+
+    @Test
+    void nearerPointInOuterRingBeatsPointFoundInInnerRing() {
+        // Query at a cell corner: the match found in ring 1 is farther than one diagonally across in ring 2
+        double latitude = LATITUDE + CELL_DEGREES * 0.001;
+        double longitude = LONGITUDE + CELL_DEGREES * 0.001;
+        index.put(1, latitude + CELL_DEGREES * 1.9, longitude, "ring 1");
+        index.put(2, latitude - CELL_DEGREES * 1.1, longitude - CELL_DEGREES * 1.1, "ring 2");
+
+        List<Nearby<String>> nearest = index.nearest(latitude, longitude, 1, 10, value -> true);
+
+        assertEquals(List.of("ring 2"), values(nearest));
+    }
+
+    @Test
+    void pointsOnCellEdgesAreFound() {
+        index.put(1, LATITUDE, LONGITUDE, "corner");
+        index.put(2, LATITUDE + CELL_DEGREES, LONGITUDE, "north edge");
+
+        List<Nearby<String>> nearest = index.nearest(LATITUDE, LONGITUDE, 5, 10, value -> true);
+
+        assertEquals(List.of("corner", "north edge"), values(nearest));
+        assertEquals(0.0, nearest.get(0).distanceKm(), 1e-9);
+        assertEquals(CELL_KM, nearest.get(1).distanceKm(), 1e-9);
+    }
+
+    @Test
+    void radiusIncludesPointsJustInsideAndExcludesJustOutside() {
+        // Several rings out, with both points in the same cell
+        double radiusKm = 4.5;
+        index.put(1, LATITUDE + 4.49 / KM_PER_DEGREE, LONGITUDE, "inside");
+        index.put(2, LATITUDE + 4.51 / KM_PER_DEGREE, LONGITUDE, "outside");
+
+        assertEquals(List.of("inside"), values(index.nearest(LATITUDE, LONGITUDE, 10, radiusKm, value -> true)));
+    }
+
+    @Test
+    void radiusSearchReachesPastEmptyRings() {
+        index.put(1, LATITUDE, LONGITUDE + 7.9 / (KM_PER_DEGREE * Math.cos(Math.toRadians(LATITUDE))), "far");
+
+        assertEquals(List.of("far"), values(index.nearest(LATITUDE, LONGITUDE, 1, 8, value -> true)));
+        assertEquals(List.of(), values(index.nearest(LATITUDE, LONGITUDE, 1, 7.8, value -> true)));
+    }
+
+    @Test
+    void cellsAcrossTheEquatorAndPrimeMeridianAreScanned() {
+        GeoGridIndex<String> grid = new GeoGridIndex<>(CELL_KM);
+        grid.put(1, -0.001, -0.001, "south west");
+        grid.put(2, 0.003, 0.003, "north east");
+
+        assertEquals(List.of("south west", "north east"), values(grid.nearest(0.0005, 0.0005, 2, 5, value -> true)));
+    }
+
+    @Test
+    void filteredOutPointsDoNotCountTowardsTheLimit() {
+        index.put(1, LATITUDE, LONGITUDE, "skip");
+        index.put(2, LATITUDE + CELL_DEGREES * 3, LONGITUDE, "keep");
+
+        assertEquals(List.of("keep"),
+                values(index.nearest(LATITUDE, LONGITUDE, 1, 10, value -> !value.equals("skip"))));
+    }
+
+    @Test
+    void kNearestMatchesBruteForce() {
+        Random random = new Random(42);
+        // Includes a high latitude, where longitude cells are much narrower than latitude ones
+        for (double originLatitude : new double[] { LATITUDE, 60.0 }) {
+            GeoGridIndex<String> grid = new GeoGridIndex<>(CELL_KM);
+            List<double[]> points = new ArrayList<>();
+            for (int id = 0; id < 2_000; id++) {
+                double[] point = {
+                        originLatitude + random.nextDouble(-0.1, 0.1), 77.59 + random.nextDouble(-0.1, 0.1) };
+                points.add(point);
+                grid.put(id, point[0], point[1], String.valueOf(id));
+            }
+            for (int query = 0; query < 50; query++) {
+                double latitude = originLatitude + random.nextDouble(-0.12, 0.12);
+                double longitude = 77.59 + random.nextDouble(-0.12, 0.12);
+                if (query % 5 == 0) {
+                    // On a cell corner
+                    latitude = Math.floor(latitude / CELL_DEGREES) * CELL_DEGREES;
+                    longitude = Math.floor(longitude / CELL_DEGREES) * CELL_DEGREES;
+                }
+                int limit = 1 + random.nextInt(20);
+                double maxKm = 0.5 + random.nextDouble(6);
+
+                List<Nearby<String>> expected = bruteForce(points, latitude, longitude, limit, maxKm);
+                List<Nearby<String>> actual = grid.nearest(latitude, longitude, limit, maxKm, value -> true);
+
+                assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).distanceKm(), actual.get(i).distanceKm(), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    void movingAPointUpdatesItsCell() {
+        index.put(1, LATITUDE, LONGITUDE, "moved");
+        index.put(1, LATITUDE + CELL_DEGREES * 5, LONGITUDE, "moved");
+
+        assertEquals(List.of(), values(index.nearest(LATITUDE, LONGITUDE, 1, 2, value -> true)));
+        assertEquals(List.of("moved"),
+                values(index.nearest(LATITUDE + CELL_DEGREES * 5, LONGITUDE, 1, 2, value -> true)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void removeIfDropsOnlyMatchingPoints() {
+        index.put(1, LATITUDE, LONGITUDE, "stale");
+        index.put(2, LATITUDE, LONGITUDE, "fresh");
+
+        assertEquals(1, index.removeIf(value -> value.equals("stale")));
+        assertEquals(List.of("fresh"), values(index.nearest(LATITUDE, LONGITUDE, 5, 1, value -> true)));
+        assertEquals(1, index.size());
+    }
+
+    private static List<Nearby<String>> bruteForce(List<double[]> points, double latitude, double longitude,
+            int limit, double maxKm) {
+        double cosLatitude = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        List<Nearby<String>> within = new ArrayList<>();
+        for (int id = 0; id < points.size(); id++) {
+            double northKm = (points.get(id)[0] - latitude) * KM_PER_DEGREE;
+            double eastKm = (points.get(id)[1] - longitude) * KM_PER_DEGREE * cosLatitude;
+            double distanceKm = Math.sqrt(northKm * northKm + eastKm * eastKm);
+            if (distanceKm <= maxKm) {
+                within.add(new Nearby<>(String.valueOf(id), distanceKm));
+            }
+        }
+        within.sort(Comparator.comparingDouble(Nearby::distanceKm));
+        return within.subList(0, Math.min(limit, within.size()));
+    }
+
+    private static List<String> values(List<Nearby<String>> nearby) {
+        return nearby.stream().map(Nearby::value).toList();
+    }
+}
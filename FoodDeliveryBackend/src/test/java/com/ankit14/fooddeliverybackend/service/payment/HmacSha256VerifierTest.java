@@ -0,0 +1,52 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HmacSha256VerifierTest {
+
+    // RFC 4231 test case 2
+    private static final byte[] KEY = "Jefe".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATA = "what do ya want for nothing?".getBytes(StandardCharsets.UTF_8);
+    private static final String SIGNATURE = "5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843";
+
+    private final HmacSha256Verifier verifier = new HmacSha256Verifier(KEY, 2);
+
+    @Test
+    void acceptsMatchingSignatureInEitherCase() {
+        assertTrue(verifier.verify(DATA, SIGNATURE));
+        assertTrue(verifier.verify(DATA, SIGNATURE.toUpperCase()));
+    }
+
+    @Test
+    void acceptsJoinedAsciiParts() {
+        assertTrue(verifier.verify("what do ya", ' ', "want for nothing?", SIGNATURE));
+    }
+
+    @Test
+    void rejectsTamperedOrMalformedSignatures() {
+        assertFalse(verifier.verify(DATA, SIGNATURE.replace('5', '6')));
+        assertFalse(verifier.verify(DATA, SIGNATURE.substring(2)));
+        assertFalse(verifier.verify(DATA, SIGNATURE.substring(0, 62) + "4g"));
+        assertFalse(verifier.verify(DATA, null));
+        assertFalse(verifier.verify("what do ya", '|', "want for nothing?", SIGNATURE));
+    }
+
+    @Test
+    void rejectsNonAsciiPartsAndStaysUsable() {
+        assertFalse(verifier.verify("what do ya\u00e9", ' ', "want for nothing?", SIGNATURE));
+        assertTrue(verifier.verify("what do ya", ' ', "want for nothing?", SIGNATURE));
+    }
+
+    @Test
+    void reusesPooledMacsAcrossCalls() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(verifier.verify(DATA, SIGNATURE));
+            assertFalse(verifier.verify(DATA, SIGNATURE.replace('b', 'c')));
+        }
+    }
+}
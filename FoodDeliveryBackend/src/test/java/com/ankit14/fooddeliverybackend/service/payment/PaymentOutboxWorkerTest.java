@@ -0,0 +1,175 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.OutboxStatus;
+import com.ankit14.fooddeliverybackend.model.Payment;
+import com.ankit14.fooddeliverybackend.model.PaymentOutbox;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.PaymentOutboxRepository;
+import com.ankit14.fooddeliverybackend.repository.PaymentRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import com.ankit14.fooddeliverybackend.service.OrderNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.math.BigDecimal;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Outbox retries: attempts are capped even when no outcome was recorded, and
+ * a retry reuses a gateway order an earlier attempt created instead of
+ * opening another.
+ */
+@SpringBootTest(properties = {
+        "payment.gateway=stub",
+        "payment.stub.latency=0ms",
+        "spring.jpa.show-sql=false",
+        // A database of its own: pollers in other cached test contexts would claim these entries too
+        "spring.datasource.url=jdbc:h2:mem:outbox-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "scheduling.enabled=false",
+        "payment.outbox.max-attempts=2",
+        "payment.outbox.initial-backoff=0s",
+        "payment.outbox.lease=0s"
+})
+class PaymentOutboxWorkerTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @SpyBean
+    private PaymentGateway paymentGateway;
+
+    @SpyBean
+    private PaymentOutboxService outboxService;
+
+    @Autowired
+    private PaymentOutboxWorker worker;
+
+    @Autowired
+    private PaymentOutboxRepository outboxRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Test
+    void failureAfterTheGatewayCallReusesTheCreatedOrder() {
+        PaymentOutbox entry = queuedEntry(0);
+        doThrow(new IllegalStateException("Database unavailable"))
+                .doCallRealMethod()
+                .when(outboxService).complete(eq(entry.getId()), any());
+
+        worker.poll();
+        PaymentOutbox retried = await(entry, e -> e.getLastError() != null);
+        assertEquals(OutboxStatus.PENDING, retried.getStatus());
+        assertNotNull(retried.getGatewayOrderId());
+
+        worker.poll();
+        PaymentOutbox done = await(entry, e -> e.getStatus() == OutboxStatus.DONE);
+
+        Payment payment = paymentRepository.findById(entry.getPayment().getId()).orElseThrow();
+        assertEquals(PaymentStatus.CREATED, payment.getStatus());
+        assertEquals(retried.getGatewayOrderId(), payment.getRazorpayOrderId());
+        assertEquals(2, done.getAttempts());
+        verify(paymentGateway, times(1)).createOrder(argThat(request -> request.receipt().equals(receipt(entry))));
+    }
+
+    @Test
+    void retryFindsAnOrderCreatedByAnAttemptThatDied() {
+        PaymentOutbox entry = queuedEntry(1);
+        // The first attempt got the order created, then its worker died before saving it
+        String created = paymentGateway.createOrder(new GatewayOrderRequest(
+                entry.getPayment().getOrder().getId(), 24000, "INR", receipt(entry)));
+
+        worker.poll();
+        await(entry, e -> e.getStatus() == OutboxStatus.DONE);
+
+        assertEquals(created, paymentRepository.findById(entry.getPayment().getId()).orElseThrow()
+                .getRazorpayOrderId());
+        verify(paymentGateway, times(1)).createOrder(argThat(request -> request.receipt().equals(receipt(entry))));
+    }
+
+    @Test
+    void attemptsRunOutAtClaimWhenNoOutcomeWasRecorded() {
+        // Both attempts were claimed, and neither worker recorded how it went
+        PaymentOutbox entry = queuedEntry(2);
+
+        worker.poll();
+        PaymentOutbox failed = await(entry, e -> e.getStatus() == OutboxStatus.FAILED);
+
+        assertEquals(3, failed.getAttempts());
+        assertTrue(failed.getLastError().startsWith("Gave up after 2 attempts"));
+        assertEquals(PaymentStatus.FAILED,
+                paymentRepository.findById(entry.getPayment().getId()).orElseThrow().getStatus());
+        verify(paymentGateway, never()).createOrder(argThat(request -> request.receipt().equals(receipt(entry))));
+    }
+
+    private PaymentOutbox queuedEntry(int attempts) {
+        User customer = userRepository.findByEmail("customer@test.com").orElseThrow();
+        Order order = orderRepository.save(Order.builder()
+                .orderNumber(orderNumberGenerator.next())
+                .customer(customer)
+                .restaurant(restaurantRepository.findAll().get(0))
+                .subtotal(new BigDecimal("200.00"))
+                .totalAmount(new BigDecimal("240.00"))
+                .build());
+        Payment payment = paymentRepository.save(Payment.builder()
+                .order(order)
+                .amount(order.getTotalAmount())
+                .status(PaymentStatus.PENDING_GATEWAY)
+                .build());
+        return outboxRepository.save(PaymentOutbox.builder()
+                .payment(payment)
+                .attempts(attempts)
+                .build());
+    }
+
+    private String receipt(PaymentOutbox entry) {
+        return entry.getPayment().getOrder().getOrderNumber();
+    }
+
+    // Entries are sent on the worker's own threads, so wait for the outcome to be written
+    private PaymentOutbox await(PaymentOutbox entry, Predicate<PaymentOutbox> done) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            PaymentOutbox current = outboxRepository.findById(entry.getId()).orElseThrow();
+            if (done.test(current)) {
+                return current;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return fail("Outbox entry " + entry.getId() + " did not reach the expected state");
+    }
+}
@@ -0,0 +1,226 @@
+package com.ankit14.fooddeliverybackend.service.payment;
+
+import com.ankit14.fooddeliverybackend.model.Order;
+import com.ankit14.fooddeliverybackend.model.OrderStatus;
+import com.ankit14.fooddeliverybackend.model.Payment;
+import com.ankit14.fooddeliverybackend.model.PaymentStatus;
+import com.ankit14.fooddeliverybackend.model.PaymentWebhookEvent;
+import com.ankit14.fooddeliverybackend.model.User;
+import com.ankit14.fooddeliverybackend.model.WebhookEventStatus;
+import com.ankit14.fooddeliverybackend.repository.OrderRepository;
+import com.ankit14.fooddeliverybackend.repository.PaymentRepository;
+import com.ankit14.fooddeliverybackend.repository.PaymentWebhookEventRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.UserRepository;
+import com.ankit14.fooddeliverybackend.service.OrderNumberGenerator;
+import com.ankit14.fooddeliverybackend.service.PaymentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Applying webhook events to payments: redeliveries and stale events change
+ * nothing, a capture wins over any failure, and a payment whose events keep
+ * failing is retried, then marked FAILED, without holding up the others.
+ */
+@SpringBootTest(properties = {
+        "payment.gateway=stub",
+        "spring.jpa.show-sql=false",
+        // A database of its own: pollers in other cached test contexts would apply these events too
+        "spring.datasource.url=jdbc:h2:mem:webhook-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "scheduling.enabled=false",
+        "payment.webhook.batch-size=2",
+        "payment.webhook.max-attempts=3",
+        "payment.webhook.initial-backoff=0s"
+})
+class PaymentWebhookConsumerTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final LocalDateTime RAISED = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @SpyBean
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentWebhookConsumer consumer;
+
+    @Autowired
+    private PaymentWebhookEventRepository webhookEventRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Test
+    void capturesOnceAndIgnoresRedeliveries() {
+        Payment payment = createdPayment();
+        PaymentWebhookEvent captured = event(payment, "payment.captured", 0);
+        PaymentWebhookEvent redelivered = event(payment, "payment.captured", 1);
+
+        paymentService.applyWebhookEvents(payment.getRazorpayOrderId(), List.of(captured.getId(), redelivered.getId()));
+        // An overlapping poll applying the same events again
+        paymentService.applyWebhookEvents(payment.getRazorpayOrderId(), List.of(captured.getId()));
+
+        Payment applied = paymentRepository.findById(payment.getId()).orElseThrow();
+        assertEquals(PaymentStatus.SUCCESS, applied.getStatus());
+        assertEquals("pay_" + captured.getEventId(), applied.getRazorpayPaymentId());
+        assertEquals(WebhookEventStatus.APPLIED, status(captured));
+        assertEquals(WebhookEventStatus.IGNORED, status(redelivered));
+        assertEquals(OrderStatus.CONFIRMED, orderRepository.findStatusById(payment.getOrder().getId()).orElseThrow());
+    }
+
+    @Test
+    void captureRaisedAfterFailureWinsWhateverTheArrivalOrder() {
+        Payment payment = createdPayment();
+        // Received capture first, but Razorpay raised the failed attempt before it
+        PaymentWebhookEvent captured = event(payment, "payment.captured", 10);
+        PaymentWebhookEvent failed = event(payment, "payment.failed", 0);
+
+        paymentService.applyWebhookEvents(payment.getRazorpayOrderId(), List.of(captured.getId(), failed.getId()));
+
+        Payment applied = paymentRepository.findById(payment.getId()).orElseThrow();
+        assertEquals(PaymentStatus.SUCCESS, applied.getStatus());
+        assertNull(applied.getFailureReason());
+        assertEquals(WebhookEventStatus.APPLIED, status(failed));
+        assertEquals(WebhookEventStatus.APPLIED, status(captured));
+    }
+
+    @Test
+    void failureArrivingAfterCaptureIsStale() {
+        Payment payment = createdPayment();
+        PaymentWebhookEvent captured = event(payment, "payment.captured", 0);
+        paymentService.applyWebhookEvents(payment.getRazorpayOrderId(), List.of(captured.getId()));
+
+        PaymentWebhookEvent failed = event(payment, "payment.failed", 10);
+        paymentService.applyWebhookEvents(payment.getRazorpayOrderId(), List.of(failed.getId()));
+
+        assertEquals(PaymentStatus.SUCCESS, paymentRepository.findById(payment.getId()).orElseThrow().getStatus());
+        assertEquals(WebhookEventStatus.IGNORED, status(failed));
+    }
+
+    @Test
+    void failureAppliesOnlyToCreatedPayments() {
+        Payment payment = createdPayment();
+        PaymentWebhookEvent failed = event(payment, "payment.failed", 0);
+        paymentService.applyWebhookEvents(payment.getRazorpayOrderId(), List.of(failed.getId()));
+
+        Payment applied = paymentRepository.findById(payment.getId()).orElseThrow();
+        assertEquals(PaymentStatus.FAILED, applied.getStatus());
+        assertEquals("Card declined", applied.getFailureReason());
+
+        // A retry that fails again finds the payment no longer CREATED
+        PaymentWebhookEvent failedAgain = event(payment, "payment.failed", 10);
+        paymentService.applyWebhookEvents(payment.getRazorpayOrderId(), List.of(failedAgain.getId()));
+        assertEquals(WebhookEventStatus.IGNORED, status(failedAgain));
+    }
+
+    @Test
+    void eventsForUnknownPaymentsAreIgnored() {
+        PaymentWebhookEvent orphan = webhookEventRepository.save(PaymentWebhookEvent.builder()
+                .eventId("evt_orphan_" + SEQUENCE.incrementAndGet())
+                .eventType("payment.captured")
+                .razorpayOrderId("order_elsewhere")
+                .payload("{}")
+                .build());
+
+        paymentService.applyWebhookEvents("order_elsewhere", List.of(orphan.getId()));
+
+        assertEquals(WebhookEventStatus.IGNORED, status(orphan));
+    }
+
+    @Test
+    void poisonGroupIsRetriedThenFailedWithoutBlockingOtherPayments() {
+        consumer.poll(); // Whatever earlier tests left pending, so the pages below are as laid out
+        Payment poisoned = createdPayment();
+        Payment healthy = createdPayment();
+        doThrow(new IllegalStateException("Poisoned"))
+                .when(paymentService).applyWebhookEvents(eq(poisoned.getRazorpayOrderId()), anyList());
+
+        // The poisoned payment fills the first page, so its later event and the healthy one are on the next
+        PaymentWebhookEvent first = event(poisoned, "payment.failed", 0);
+        PaymentWebhookEvent second = event(poisoned, "payment.failed", 1);
+        PaymentWebhookEvent later = event(poisoned, "payment.captured", 2);
+        PaymentWebhookEvent other = event(healthy, "payment.captured", 0);
+
+        consumer.poll();
+
+        assertEquals(PaymentStatus.SUCCESS, paymentRepository.findById(healthy.getId()).orElseThrow().getStatus());
+        assertEquals(WebhookEventStatus.APPLIED, status(other));
+        PaymentWebhookEvent retried = webhookEventRepository.findById(first.getId()).orElseThrow();
+        assertEquals(WebhookEventStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertEquals("Poisoned", retried.getLastError());
+        assertNotNull(retried.getNextAttemptAt());
+        // Waits behind the failed group rather than being applied ahead of it
+        assertEquals(0, webhookEventRepository.findById(later.getId()).orElseThrow().getAttempts());
+
+        consumer.poll();
+        consumer.poll();
+
+        for (PaymentWebhookEvent event : List.of(first, second)) {
+            PaymentWebhookEvent failed = webhookEventRepository.findById(event.getId()).orElseThrow();
+            assertEquals(WebhookEventStatus.FAILED, failed.getStatus());
+            assertEquals(3, failed.getAttempts());
+        }
+        assertEquals(WebhookEventStatus.PENDING, status(later));
+        assertEquals(PaymentStatus.CREATED, paymentRepository.findById(poisoned.getId()).orElseThrow().getStatus());
+    }
+
+    private Payment createdPayment() {
+        User customer = userRepository.findByEmail("customer@test.com").orElseThrow();
+        Order order = orderRepository.save(Order.builder()
+                .orderNumber(orderNumberGenerator.next())
+                .customer(customer)
+                .restaurant(restaurantRepository.findAll().get(0))
+                .subtotal(new BigDecimal("200.00"))
+                .totalAmount(new BigDecimal("240.00"))
+                .build());
+        return paymentRepository.save(Payment.builder()
+                .order(order)
+                .razorpayOrderId("order_test_" + SEQUENCE.incrementAndGet())
+                .amount(order.getTotalAmount())
+                .status(PaymentStatus.CREATED)
+                .build());
+    }
+
+    private PaymentWebhookEvent event(Payment payment, String type, int secondsAfter) {
+        String eventId = "evt_" + SEQUENCE.incrementAndGet();
+        return webhookEventRepository.save(PaymentWebhookEvent.builder()
+                .eventId(eventId)
+                .eventType(type)
+                .razorpayOrderId(payment.getRazorpayOrderId())
+                .razorpayPaymentId("pay_" + eventId)
+                .errorDescription(type.equals("payment.failed") ? "Card declined" : null)
+                .eventCreatedAt(RAISED.plusSeconds(secondsAfter))
+                .payload("{}")
+                .build());
+    }
+
+    private WebhookEventStatus status(PaymentWebhookEvent event) {
+        return webhookEventRepository.findById(event.getId()).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,91 @@
+package com.ankit14.fooddeliverybackend.service.search;
+
+import com.ankit14.fooddeliverybackend.event.MenuItemChangedEvent;
+import com.ankit14.fooddeliverybackend.event.RestaurantChangedEvent;
+import com.ankit14.fooddeliverybackend.repository.MenuItemRepository;
+import com.ankit14.fooddeliverybackend.repository.RestaurantRepository;
+import com.ankit14.fooddeliverybackend.repository.projection.MenuItemSearchRow;
+import com.ankit14.fooddeliverybackend.repository.projection.RestaurantSearchRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemorySearchBackendTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    private final RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+    private final MenuItemRepository menuItemRepository = mock(MenuItemRepository.class);
+    private final InMemorySearchBackend backend = new InMemorySearchBackend(restaurantRepository, menuItemRepository);
+
+    @Test
+    void restaurantEventsAddReplaceAndRemoveEntries() {
+        backend.onRestaurantChanged(new RestaurantChangedEvent(1L, "Pizza Palace", "Italian", "Wood-fired", true));
+        assertEquals(List.of(1L), restaurantIds("pizza"));
+
+        // An edit replaces the old text rather than adding to it
+        backend.onRestaurantChanged(new RestaurantChangedEvent(1L, "Burger Barn", "American", "Grill", true));
+        assertEquals(List.of(), restaurantIds("pizza"));
+        assertEquals(List.of(1L), restaurantIds("burger"));
+
+        backend.onRestaurantChanged(new RestaurantChangedEvent(1L, "Burger Barn", "American", "Grill", false));
+        assertEquals(SearchResult.EMPTY, backend.searchRestaurants("burger", PAGE));
+    }
+
+    @Test
+    void menuItemEventsAddReplaceAndRemoveEntries() {
+        backend.onMenuItemChanged(new MenuItemChangedEvent(7L, "Paneer Tikka", "Starters", "Grilled", true));
+        assertEquals(List.of(7L), menuItemIds("paneer"));
+
+        backend.onMenuItemChanged(new MenuItemChangedEvent(7L, "Paneer Tikka", "Tandoor", "Grilled", true));
+        assertEquals(List.of(), menuItemIds("starters"));
+        assertEquals(List.of(7L), menuItemIds("tandoor"));
+
+        // Made unavailable
+        backend.onMenuItemChanged(new MenuItemChangedEvent(7L, "Paneer Tikka", "Tandoor", "Grilled", false));
+        assertEquals(SearchResult.EMPTY, backend.searchMenuItems("paneer", PAGE));
+    }
+
+    @Test
+    void queryTermsMatchAcrossItemAndCategory() {
+        backend.onMenuItemChanged(new MenuItemChangedEvent(1L, "Spicy Margherita", "Pizza", null, true));
+        backend.onMenuItemChanged(new MenuItemChangedEvent(2L, "Spicy Wings", "Starters", null, true));
+
+        assertEquals(List.of(1L), menuItemIds("spicy pizza"));
+    }
+
+    @Test
+    void rebuildReplacesEverythingIndexedSoFar() {
+        backend.onRestaurantChanged(new RestaurantChangedEvent(1L, "Pizza Palace", "Italian", null, true));
+        RestaurantSearchRow restaurant = mock(RestaurantSearchRow.class);
+        when(restaurant.getId()).thenReturn(2L);
+        when(restaurant.getName()).thenReturn("Biryani House");
+        when(restaurant.getCuisine()).thenReturn("Indian");
+        MenuItemSearchRow item = mock(MenuItemSearchRow.class);
+        when(item.getId()).thenReturn(3L);
+        when(item.getName()).thenReturn("Chicken Biryani");
+        when(item.getCategoryName()).thenReturn("Mains");
+        when(restaurantRepository.findSearchRows()).thenReturn(List.of(restaurant));
+        when(menuItemRepository.findSearchRows()).thenReturn(List.of(item));
+
+        backend.rebuild();
+
+        assertEquals(List.of(), restaurantIds("pizza"));
+        assertEquals(List.of(2L), restaurantIds("biryani"));
+        assertEquals(List.of(3L), menuItemIds("biryani"));
+    }
+
+    private List<Long> restaurantIds(String query) {
+        return backend.searchRestaurants(query, PAGE).ids();
+    }
+
+    private List<Long> menuItemIds(String query) {
+        return backend.searchMenuItems(query, PAGE).ids();
+    }
+}
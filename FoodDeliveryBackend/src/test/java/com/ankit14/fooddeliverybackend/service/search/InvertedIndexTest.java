@@ -0,0 +1,122 @@
+package com.ankit14.fooddeliverybackend.service.search;
+
+import com.ankit14.fooddeliverybackend.service.search.InvertedIndex.Field;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void matchesTermPrefixes() {
+        index.put(1L, new Field("Paneer Tikka", 3));
+        index.put(2L, new Field("Pani Puri", 3));
+
+        assertEquals(List.of(1L, 2L), index.search("pan", 0, 10).ids());
+        assertEquals(List.of(1L), index.search("panee", 0, 10).ids());
+        assertEquals(List.of(1L), index.search("tik", 0, 10).ids());
+    }
+
+    @Test
+    void singleCharacterTermsMatchOnlyExactly() {
+        index.put(1L, new Field("Paneer", 3));
+        index.put(2L, new Field("p", 3));
+
+        assertEquals(List.of(2L), index.search("p", 0, 10).ids());
+    }
+
+    @Test
+    void everyQueryTermMustMatch() {
+        index.put(1L, new Field("Chicken Biryani", 3));
+        index.put(2L, new Field("Veg Biryani", 3));
+
+        assertEquals(List.of(2L), index.search("veg biryani", 0, 10).ids());
+        assertEquals(SearchResult.EMPTY, index.search("veg tikka", 0, 10));
+    }
+
+    @Test
+    void toleratesOneTypoInLongerTerms() {
+        index.put(1L, new Field("Biryani", 3));
+
+        assertEquals(List.of(1L), index.search("biriyani", 0, 10).ids());   // insert
+        assertEquals(List.of(1L), index.search("biryni", 0, 10).ids());     // delete
+        assertEquals(List.of(1L), index.search("biryeni", 0, 10).ids());    // substitute
+        assertEquals(List.of(1L), index.search("biryain", 0, 10).ids());    // adjacent swap
+        assertEquals(SearchResult.EMPTY, index.search("biryeen", 0, 10));   // two edits
+    }
+
+    @Test
+    void shortTermsAreNotMatchedFuzzily() {
+        index.put(1L, new Field("Dal", 3));
+
+        assertEquals(SearchResult.EMPTY, index.search("dol", 0, 10));
+    }
+
+    @Test
+    void withinOneEditCoversEachEditKind() {
+        assertTrue(InvertedIndex.withinOneEdit("dosa", "dosa"));
+        assertTrue(InvertedIndex.withinOneEdit("dosa", "dossa"));
+        assertTrue(InvertedIndex.withinOneEdit("dosa", "dsa"));
+        assertTrue(InvertedIndex.withinOneEdit("dosa", "dota"));
+        assertTrue(InvertedIndex.withinOneEdit("dosa", "odsa"));
+        assertFalse(InvertedIndex.withinOneEdit("dosa", "odas"));
+        assertFalse(InvertedIndex.withinOneEdit("dosa", "do"));
+    }
+
+    @Test
+    void ranksExactOverPrefixOverTypo() {
+        index.put(1L, new Field("Rolls", 3));
+        index.put(2L, new Field("Rool", 3));
+        index.put(3L, new Field("Roll", 3));
+
+        assertEquals(List.of(3L, 1L, 2L), index.search("roll", 0, 10).ids());
+    }
+
+    @Test
+    void ranksHeavierFieldsFirst() {
+        index.put(1L, new Field("Masala Dosa", 1), new Field("South Indian", 3));
+        index.put(2L, new Field("Ghee Roast", 1), new Field("Masala", 3));
+
+        assertEquals(List.of(2L, 1L), index.search("masala", 0, 10).ids());
+    }
+
+    @Test
+    void ranksRarerTermsHigher() {
+        index.put(1L, new Field("Chicken Tikka", 3));
+        index.put(2L, new Field("Chicken Curry", 3));
+        index.put(3L, new Field("Chaat", 3));
+
+        // Both terms match the prefix equally well, but "chaat" is in fewer documents
+        assertEquals(List.of(3L, 1L, 2L), index.search("ch", 0, 10).ids());
+    }
+
+    @Test
+    void pagesRankedResultsAndReportsTotal() {
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, new Field("Thali " + id, 3));
+        }
+
+        SearchResult page = index.search("thali", 2, 2);
+        assertEquals(List.of(3L, 4L), page.ids());
+        assertEquals(5, page.total());
+    }
+
+    @Test
+    void replacingOrRemovingDocumentsUpdatesMatches() {
+        index.put(1L, new Field("Idli", 3));
+        index.put(1L, new Field("Vada", 3));
+
+        assertEquals(SearchResult.EMPTY, index.search("idli", 0, 10));
+        assertEquals(List.of(1L), index.search("vada", 0, 10).ids());
+
+        index.remove(1L);
+        assertEquals(SearchResult.EMPTY, index.search("vada", 0, 10));
+        assertEquals(0, index.size());
+    }
+}
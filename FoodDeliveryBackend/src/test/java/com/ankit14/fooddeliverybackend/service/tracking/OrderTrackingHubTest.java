@@ -0,0 +1,202 @@
+package com.ankit14.fooddeliverybackend.service.tracking;
+
+import com.ankit14.fooddeliverybackend.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Event order per subscriber, disconnecting slow and stalled clients, and the
+ * subscriber limit, against emitters that record or block their writes.
+ */
+class OrderTrackingHubTest {
+
+    private static final String TOPIC = "order-1";
+
+    private final Deque<TestEmitter> emitters = new ArrayDeque<>();
+    private final List<TestEmitter> created = new ArrayList<>();
+    private OrderTrackingHub hub;
+
+    @AfterEach
+    void tearDown() {
+        created.forEach(TestEmitter::release);
+        hub.shutdown();
+    }
+
+    @Test
+    void eventsArriveInPublishOrderAfterTheInitialOnes() throws Exception {
+        hub = hub(100, 32, 2, Duration.ofSeconds(10));
+        TestEmitter emitter = nextEmitter(false, false);
+        Set<DataWithMediaType> snapshot = event("snapshot");
+        List<Set<DataWithMediaType>> expected = new ArrayList<>(List.of(snapshot));
+
+        hub.subscribe(TOPIC, snapshot);
+        for (int i = 0; i < 20; i++) {
+            Set<DataWithMediaType> event = event("status-" + i);
+            expected.add(event);
+            hub.publish(TOPIC, event);
+        }
+
+        await(() -> emitter.sent.size() == expected.size());
+        assertEquals(expected, emitter.sent);
+    }
+
+    @Test
+    void stalledClientIsDisconnectedWithoutHoldingUpOthers() throws Exception {
+        hub = hub(100, 32, 1, Duration.ofMillis(50));
+        TestEmitter stalled = nextEmitter(true, false);
+        TestEmitter healthy = nextEmitter(false, false);
+
+        hub.subscribe("order-stalled", event("snapshot"));
+        assertTrue(stalled.writing.await(5, TimeUnit.SECONDS));
+        hub.subscribe(TOPIC);
+        hub.publish(TOPIC, event("status"));
+        Thread.sleep(100);
+        // The only sender thread is stuck on the stalled client
+        assertEquals(List.of(), healthy.sent);
+
+        hub.checkStalledSends();
+
+        await(() -> healthy.sent.size() == 1);
+        assertEquals(1, hub.getSubscriberCount());
+        stalled.release();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        ThreadPoolExecutor senders = (ThreadPoolExecutor) ReflectionTestUtils.getField(hub, "senders");
+        await(() -> senders.getCorePoolSize() == 1);
+    }
+
+    @Test
+    void clientTooFarBehindIsDisconnected() throws Exception {
+        hub = hub(100, 2, 1, Duration.ofSeconds(10));
+        TestEmitter emitter = nextEmitter(true, false);
+        Set<DataWithMediaType> first = event("status-0");
+
+        hub.subscribe(TOPIC);
+        hub.publish(TOPIC, first);
+        assertTrue(emitter.writing.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 3; i++) {
+            hub.publish(TOPIC, event("status-" + i));
+        }
+
+        assertEquals(0, hub.getSubscriberCount());
+        emitter.release();
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        // Events queued before the disconnect are dropped, not sent
+        assertEquals(List.of(first), emitter.sent);
+    }
+
+    @Test
+    void subscriberLimitRejectsUntilAClientGoesAway() throws Exception {
+        hub = hub(1, 32, 1, Duration.ofSeconds(10));
+        nextEmitter(false, true);
+        nextEmitter(false, false);
+
+        hub.subscribe(TOPIC);
+        assertThrows(ServiceUnavailableException.class, () -> hub.subscribe(TOPIC));
+
+        // The first client's write fails, as when it has gone away
+        hub.publish(TOPIC, event("status"));
+        await(() -> hub.getSubscriberCount() == 0);
+        hub.subscribe(TOPIC);
+        assertEquals(1, hub.getSubscriberCount());
+    }
+
+    private OrderTrackingHub hub(int maxSubscribers, int maxPendingEvents, int senderThreads, Duration writeTimeout) {
+        OrderTrackingHub hub = new OrderTrackingHub() {
+            @Override
+            SseEmitter newEmitter() {
+                return emitters.remove();
+            }
+        };
+        ReflectionTestUtils.setField(hub, "maxSubscribers", maxSubscribers);
+        ReflectionTestUtils.setField(hub, "maxPendingEvents", maxPendingEvents);
+        ReflectionTestUtils.setField(hub, "connectionTimeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(hub, "senderThreads", senderThreads);
+        ReflectionTestUtils.setField(hub, "maxSenderThreads", 4);
+        ReflectionTestUtils.setField(hub, "writeTimeout", writeTimeout);
+        hub.init();
+        return hub;
+    }
+
+    private TestEmitter nextEmitter(boolean blocking, boolean failing) {
+        TestEmitter emitter = new TestEmitter(blocking, failing);
+        emitters.add(emitter);
+        created.add(emitter);
+        return emitter;
+    }
+
+    private static Set<DataWithMediaType> event(String data) {
+        return SseEmitter.event().name("status").data(data).build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the condition");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Records writes instead of sending them. A blocking emitter holds its
+     * writes, as against a client that stopped reading, until released.
+     */
+    private static final class TestEmitter extends SseEmitter {
+
+        private final List<Set<DataWithMediaType>> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final boolean blocking;
+        private final boolean failing;
+
+        private TestEmitter(boolean blocking, boolean failing) {
+            this.blocking = blocking;
+            this.failing = failing;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            writing.countDown();
+            if (blocking) {
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(items);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        void release() {
+            released.countDown();
+        }
+    }
+}
@@ -99,7 +99,7 @@ export default function Checkout() {
             const order = orderResponse.data;
 
             const paymentResponse = await paymentService.createPaymentOrder(order.id);
-            const payment = paymentResponse.data;
+            const payment = await paymentService.waitForGatewayOrder(paymentResponse.data);
 
             const options = {
                 key: payment.razorpayKeyId,
@@ -138,7 +138,7 @@ export default function Checkout() {
             const razorpay = new window.Razorpay(options);
             razorpay.open();
         } catch (err) {
-            error(err.response?.data?.message || 'Failed to place order');
+            error(err.response?.data?.message || err.message || 'Failed to place order');
         } finally {
             setLoading(false);
         }
@@ -49,6 +49,11 @@ export const restaurantService = {
         return response.data;
     },
 
+    async getNearby(latitude, longitude, radiusKm = 5, limit = 20) {
+        const response = await api.get(`/restaurants/nearby?latitude=${latitude}&longitude=${longitude}&radiusKm=${radiusKm}&limit=${limit}`);
+        return response.data;
+    },
+
     async getTopRated(limit = 10) {
         const response = await api.get(`/restaurants/top-rated?limit=${limit}`);
         return response.data;
@@ -116,6 +121,27 @@ export const paymentService = {
         const response = await api.post('/payments/verify', paymentData);
         return response.data;
     },
+
+    async getByOrderId(orderId) {
+        const response = await api.get(`/payments/order/${orderId}`);
+        return response.data;
+    },
+
+    // The Razorpay order is created in the background; poll until it exists or fails
+    async waitForGatewayOrder(payment, { interval = 500, timeout = 20000 } = {}) {
+        const deadline = Date.now() + timeout;
+        while (payment.status === 'PENDING_GATEWAY') {
+            if (Date.now() > deadline) {
+                throw new Error('Payment gateway is taking too long, please try again');
+            }
+            await new Promise((resolve) => setTimeout(resolve, interval));
+            payment = (await this.getByOrderId(payment.orderId)).data;
+        }
+        if (payment.status !== 'CREATED') {
+            throw new Error(payment.failureReason || 'Could not start payment, please try again');
+        }
+        return payment;
+    },
 };
 
 export const addressService = {
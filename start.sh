@@ -80,7 +80,7 @@ check_dependencies() {
     
     # Check Java
     if ! command -v java &> /dev/null; then
-        echo -e "${RED}✗ Java is not installed. Please install Java 17+ first.${NC}"
+        echo -e "${RED}✗ Java is not installed. Please install Java 21+ first.${NC}"
         exit 1
     fi
     echo -e "${GREEN}✓ Java $(java --version 2>&1 | head -n 1)${NC}"